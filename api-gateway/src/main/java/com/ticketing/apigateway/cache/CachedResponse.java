@@ -0,0 +1,65 @@
+package com.ticketing.apigateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A cached upstream response. The body lives in a read-only direct buffer outside the Java heap,
+ * so large cached payloads add no GC pressure; callers must read it through {@link #body()}.
+ */
+public final class CachedResponse {
+
+    // Hop-by-hop and per-response headers that must not be replayed
+    private static final List<String> EXCLUDED_HEADERS = List.of(
+            HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.SET_COOKIE, HttpHeaders.DATE);
+
+    private final HttpStatusCode status;
+    private final HttpHeaders headers;
+    private final ByteBuffer body;
+    private final Duration ttl;
+
+    CachedResponse(HttpStatusCode status, HttpHeaders headers, ByteBuffer body, Duration ttl) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+        this.ttl = ttl;
+    }
+
+    public static CachedResponse of(HttpStatusCode status, HttpHeaders upstreamHeaders, ByteBuffer body, Duration ttl) {
+        HttpHeaders headers = new HttpHeaders();
+        upstreamHeaders.forEach((name, values) -> {
+            if (EXCLUDED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.put(name, List.copyOf(values));
+            }
+        });
+        return new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), body.asReadOnlyBuffer(), ttl);
+    }
+
+    public HttpStatusCode status() {
+        return status;
+    }
+
+    public HttpHeaders headers() {
+        return headers;
+    }
+
+    /**
+     * @return an independent view of the body, positioned at its start
+     */
+    public ByteBuffer body() {
+        return body.duplicate();
+    }
+
+    public int size() {
+        return body.capacity();
+    }
+
+    public Duration ttl() {
+        return ttl;
+    }
+}
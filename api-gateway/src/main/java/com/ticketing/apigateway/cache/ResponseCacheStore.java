@@ -0,0 +1,84 @@
+package com.ticketing.apigateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Size-bounded store of cached responses for the {@code ResponseCache} route filter. Entries are
+ * keyed by route ID and request path, weighed by body size and expire after their route's TTL.
+ */
+@Component
+public class ResponseCacheStore {
+
+    private final Cache<String, CachedResponse> entries;
+    private final long maxEntryBytes;
+
+    public ResponseCacheStore(@Value("${gateway.response-cache.max-size:64MB}") DataSize maxSize,
+                              @Value("${gateway.response-cache.max-entry-size:1MB}") DataSize maxEntrySize) {
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.size())
+                .expireAfter(new TtlExpiry())
+                .build();
+    }
+
+    public static String key(String routeId, String pathAndQuery) {
+        return routeId + " " + pathAndQuery;
+    }
+
+    public CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    public void put(String key, CachedResponse response) {
+        entries.put(key, response);
+    }
+
+    public boolean fits(long bytes) {
+        return bytes <= maxEntryBytes;
+    }
+
+    /**
+     * Drops the cached responses of a route whose path starts with {@code pathPrefix}, or all of
+     * the route's responses when the prefix is empty.
+     *
+     * @return the number of entries removed
+     */
+    public int invalidate(String routeId, String pathPrefix) {
+        String prefix = key(routeId, pathPrefix);
+        int removed = 0;
+        for (String key : entries.asMap().keySet()) {
+            if (key.startsWith(prefix) && entries.asMap().remove(key) != null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    private static class TtlExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+            return response.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return response.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.ticketing.apigateway.controller;
+
+import com.ticketing.apigateway.cache.ResponseCacheStore;
+import com.ticketing.apigateway.utils.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Invalidation hook for the gateway response cache. This endpoint is served by the gateway itself
+ * rather than routed, so it checks for an ADMIN token on its own.
+ *
+ * <p>Each gateway replica has its own cache and the load balancer sends the call to one of them, so
+ * the others keep serving their entries until the route's TTL expires.
+ */
+@RestController
+@RequestMapping("/gateway/cache")
+@RequiredArgsConstructor
+@Slf4j
+public class ResponseCacheController {
+
+    private final ResponseCacheStore store;
+    private final JwtUtil jwtUtil;
+
+    @DeleteMapping("/{routeId}")
+    public ResponseEntity<Map<String, Integer>> invalidate(@PathVariable String routeId,
+                                                           @RequestParam(defaultValue = "") String pathPrefix,
+                                                           @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        if (!jwtUtil.isAdmin(authHeader)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        int removed = store.invalidate(routeId, pathPrefix);
+        log.info("Invalidated {} cached responses for route {} under '{}'", removed, routeId, pathPrefix);
+        return ResponseEntity.ok(Map.of("removed", removed));
+    }
+}
@@ -0,0 +1,110 @@
+package com.ticketing.apigateway.controller;
+
+import com.ticketing.apigateway.filter.WaitingRoomFilter;
+import com.ticketing.apigateway.utils.JwtClaims;
+import com.ticketing.apigateway.utils.JwtUtil;
+import com.ticketing.apigateway.waitingroom.QueueStatus;
+import com.ticketing.apigateway.waitingroom.WaitingRoom;
+import com.ticketing.apigateway.waitingroom.WaitingRoomRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+/**
+ * Waiting rooms for on-sales (see {@link WaitingRoomRegistry}). Admins open and close rooms;
+ * buyers join a room, poll their place in line with the returned token, and once admitted send
+ * the token with their reservation in {@value WaitingRoomFilter#QUEUE_TOKEN_HEADER}. Served by
+ * the gateway itself rather than routed, so tokens are checked here.
+ */
+@RestController
+@RequestMapping("/gateway/waiting-room")
+@RequiredArgsConstructor
+@Slf4j
+public class WaitingRoomController {
+
+    private final WaitingRoomRegistry registry;
+    private final JwtUtil jwtUtil;
+
+    @PutMapping("/{eventId}")
+    public ResponseEntity<RoomStatus> open(@PathVariable Long eventId,
+                                           @RequestParam double admitRate,
+                                           @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        if (!jwtUtil.isAdmin(authHeader)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (admitRate <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(RoomStatus.of(registry.open(eventId, admitRate)));
+    }
+
+    @DeleteMapping("/{eventId}")
+    public ResponseEntity<Void> close(@PathVariable Long eventId,
+                                      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        if (!jwtUtil.isAdmin(authHeader)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return registry.close(eventId) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/{eventId}")
+    public ResponseEntity<RoomStatus> room(@PathVariable Long eventId) {
+        return registry.room(eventId)
+                .map(room -> ResponseEntity.ok(RoomStatus.of(room)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{eventId}/join")
+    public ResponseEntity<QueueStatus> join(@PathVariable Long eventId,
+                                            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        Optional<JwtClaims> claims = jwtUtil.bearerClaims(authHeader);
+        if (claims.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            return withRetryAfter(registry.join(eventId, claims.get().userId()));
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected waiting room join: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/{eventId}/status")
+    public ResponseEntity<QueueStatus> status(@PathVariable Long eventId,
+                                              @RequestHeader(WaitingRoomFilter.QUEUE_TOKEN_HEADER) String token) {
+        return registry.status(token)
+                .filter(status -> status.eventId().equals(eventId))
+                .map(WaitingRoomController::withRetryAfter)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<QueueStatus> withRetryAfter(QueueStatus status) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (QueueStatus.WAITING.equals(status.status())) {
+            // Tells clients when polling again is worthwhile
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, status.etaSeconds())));
+        }
+        return response.body(status);
+    }
+
+    public record RoomStatus(Long eventId, double admitRate, long waiting, long issued, long admitted) {
+
+        static RoomStatus of(WaitingRoom room) {
+            return new RoomStatus(room.eventId(), room.admitRate(), room.waiting(), room.lastIssued(),
+                    room.admittedThrough());
+        }
+    }
+}
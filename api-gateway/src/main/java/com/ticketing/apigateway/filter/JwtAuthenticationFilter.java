@@ -1,11 +1,16 @@
 package com.ticketing.apigateway.filter;
 
+import com.ticketing.apigateway.utils.IdentityHeaderSigner;
+import com.ticketing.apigateway.utils.JwtClaims;
 import com.ticketing.apigateway.utils.JwtUtil;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
@@ -17,7 +22,14 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
+    // Verified JwtClaims of the request, for filters that run after this one
+    public static final String CLAIMS_ATTR = JwtAuthenticationFilter.class.getName() + ".claims";
+
     private final JwtUtil jwtUtil;
+    private final IdentityHeaderSigner identityHeaderSigner;
+
+    @Value("${gateway.identity-header.forward-authorization:true}")
+    private boolean forwardAuthorization;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
@@ -39,32 +51,29 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         try {
             String token = authHeader.substring(7);
 
-            // Validate token locally
-            if (!jwtUtil.validateToken(token) || jwtUtil.isTokenExpired(token)) {
-                log.warn("Invalid or expired JWT token for path: {}", path);
-                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-                return exchange.getResponse().setComplete();
-            }
-
-            // Extract user info from token
-            Long userId = jwtUtil.getUserIdFromToken(token);
-            String username = jwtUtil.getUsernameFromToken(token);
-            String email = jwtUtil.getEmailFromToken(token);
-            String fullName = jwtUtil.getFullNameFromToken(token);
-            String role = jwtUtil.getRoleFromToken(token);
+            // Validate token locally; signature and expiry are checked in a single parse
+            JwtClaims claims = jwtUtil.parseToken(token);
 
+            // One signed header, cached per token, replaces any identity header the client sent.
+            // The services verify a forwarded bearer token rather than the header
             ServerHttpRequest modifiedRequest = request.mutate()
-                    .header("X-User-Id", String.valueOf(userId))
-                    .header("X-User-Username", username)
-                    .header("X-User-Email", email)
-                    .header("X-User-FullName", fullName)
-                    .header("X-User-Role", role)
+                    .header(IdentityHeaderSigner.HEADER, identityHeaderSigner.sign(claims))
+                    .headers(headers -> {
+                        if (!forwardAuthorization) {
+                            headers.remove(HttpHeaders.AUTHORIZATION);
+                        }
+                    })
                     .build();
 
-            log.info("JWT validation successful for user: {} accessing: {}", username, path);
+            log.debug("JWT validation successful for user: {} accessing: {}", claims.username(), path);
+            exchange.getAttributes().put(CLAIMS_ATTR, claims);
 
             return chain.filter(exchange.mutate().request(modifiedRequest).build());
 
+        } catch (JwtException e) {
+            log.warn("Invalid or expired JWT token for path: {}", path);
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
         } catch (Exception e) {
             log.error("Error validating JWT token for path: {}", path, e);
             exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
@@ -0,0 +1,131 @@
+package com.ticketing.apigateway.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketing.apigateway.ratelimit.ClientAddresses;
+import com.ticketing.apigateway.ratelimit.RateLimit;
+import com.ticketing.apigateway.ratelimit.RateLimiter;
+import com.ticketing.apigateway.utils.JwtClaims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-client token buckets (see {@link RateLimiter}), so one client hammering the gateway runs out
+ * of tokens long before the backends run out of capacity for everyone else. Each authenticated
+ * user has a bucket for all their requests and a smaller one per event or ticket they target
+ * (including the ticket of a reservation, and event search); requests without a user, i.e. the
+ * auth routes, are limited per client address (see {@link ClientAddresses}). Over the limit the
+ * client gets 429 with Retry-After.
+ *
+ * <p>Runs right after {@link JwtAuthenticationFilter}, before anything that calls a backend.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gateway.rate-limit.enabled", matchIfMissing = true)
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    // /api/events/{id}/**, /api/tickets/{id}/** and /api/tickets/event/{eventId}
+    private static final Pattern TARGET_PATH = Pattern.compile("^/api/(events|tickets)/(event/)?(\\d+)(/.*)?$");
+    private static final String SEARCH_PATH = "/api/events/search";
+
+    private final RateLimiter rateLimiter;
+    private final ClientAddresses clientAddresses;
+    private final ObjectMapper objectMapper;
+    private final RateLimit userLimit;
+    private final RateLimit targetLimit;
+    private final RateLimit anonymousLimit;
+
+    public RateLimitFilter(RateLimiter rateLimiter,
+                           ClientAddresses clientAddresses,
+                           ObjectMapper objectMapper,
+                           @Value("${gateway.rate-limit.user.capacity:40}") int userCapacity,
+                           @Value("${gateway.rate-limit.user.refill-per-second:20}") double userRefill,
+                           @Value("${gateway.rate-limit.target.capacity:10}") int targetCapacity,
+                           @Value("${gateway.rate-limit.target.refill-per-second:2}") double targetRefill,
+                           @Value("${gateway.rate-limit.anonymous.capacity:20}") int anonymousCapacity,
+                           @Value("${gateway.rate-limit.anonymous.refill-per-second:5}") double anonymousRefill) {
+        this.rateLimiter = rateLimiter;
+        this.clientAddresses = clientAddresses;
+        this.objectMapper = objectMapper;
+        this.userLimit = new RateLimit(userCapacity, userRefill);
+        this.targetLimit = new RateLimit(targetCapacity, targetRefill);
+        this.anonymousLimit = new RateLimit(anonymousCapacity, anonymousRefill);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        JwtClaims claims = exchange.getAttribute(JwtAuthenticationFilter.CLAIMS_ATTR);
+        if (claims == null) {
+            return limit(exchange, chain, "ip:" + clientAddresses.resolve(exchange.getRequest()), anonymousLimit);
+        }
+
+        String userKey = "user:" + claims.userId();
+        long wait = rateLimiter.tryAcquire(userKey, userLimit);
+        if (wait > 0) {
+            return reject(exchange, userKey, wait);
+        }
+
+        if (ReservationRequests.isReservation(exchange)) {
+            return ReservationRequests.withTicketId(exchange, objectMapper, (replayable, ticketId) ->
+                    ticketId != null ? limit(replayable, chain, userKey + ":ticket:" + ticketId, targetLimit)
+                            : chain.filter(replayable));
+        }
+        String target = target(exchange.getRequest().getPath().value());
+        return target != null ? limit(exchange, chain, userKey + ":" + target, targetLimit) : chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    private Mono<Void> limit(ServerWebExchange exchange, GatewayFilterChain chain, String key, RateLimit limit) {
+        long wait = rateLimiter.tryAcquire(key, limit);
+        return wait > 0 ? reject(exchange, key, wait) : chain.filter(exchange);
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String key, long waitNanos) {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        log.debug("Rate limit exceeded for {} on {}, retry in {}s", key, exchange.getRequest().getPath(), retryAfter);
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(Map.of("message", "Too many requests, retry in "
+                    + retryAfter + "s", "retryAfter", retryAfter));
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+
+    private static String target(String path) {
+        if (SEARCH_PATH.equals(path)) {
+            return "search";
+        }
+        Matcher matcher = TARGET_PATH.matcher(path);
+        if (!matcher.matches()) {
+            return null;
+        }
+        boolean event = "events".equals(matcher.group(1)) || matcher.group(2) != null;
+        return (event ? "event:" : "ticket:") + matcher.group(3);
+    }
+}
@@ -0,0 +1,63 @@
+package com.ticketing.apigateway.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Reads the ticket of a {@code POST /api/bookings/reserve} once per request for the filters that
+ * need it. The body is cached so it is still forwarded, and the ticket ID is kept in the exchange.
+ */
+final class ReservationRequests {
+
+    private static final String RESERVE_PATH = "/api/bookings/reserve";
+    private static final String TICKET_ID_ATTR = ReservationRequests.class.getName() + ".ticketId";
+
+    private ReservationRequests() {
+    }
+
+    static boolean isReservation(ServerWebExchange exchange) {
+        return HttpMethod.POST.equals(exchange.getRequest().getMethod())
+                && RESERVE_PATH.equals(exchange.getRequest().getPath().value());
+    }
+
+    /**
+     * Calls {@code action} with an exchange whose body can still be forwarded and the reservation's
+     * ticket ID, or null if the body names none (booking-service rejects those).
+     */
+    static Mono<Void> withTicketId(ServerWebExchange exchange, ObjectMapper objectMapper,
+                                   BiFunction<ServerWebExchange, Long, Mono<Void>> action) {
+        Optional<Long> read = exchange.getAttribute(TICKET_ID_ATTR);
+        if (read != null) {
+            return action.apply(exchange, read.orElse(null));
+        }
+        return ServerWebExchangeUtils.cacheRequestBodyAndRequest(exchange, request -> {
+            ServerWebExchange replayable = exchange.mutate().request(request).build();
+            Long ticketId = ticketId(objectMapper, exchange.getAttribute(ServerWebExchangeUtils.CACHED_REQUEST_BODY_ATTR));
+            replayable.getAttributes().put(TICKET_ID_ATTR, Optional.ofNullable(ticketId));
+            return action.apply(replayable, ticketId);
+        });
+    }
+
+    private static Long ticketId(ObjectMapper objectMapper, DataBuffer body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            JsonNode ticketId = objectMapper.readTree(body.toString(body.readPosition(), body.readableByteCount(),
+                    StandardCharsets.UTF_8)).get("ticketId");
+            return ticketId != null && ticketId.canConvertToLong() ? ticketId.asLong() : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.ticketing.apigateway.filter;
+
+import com.ticketing.apigateway.cache.CachedResponse;
+import com.ticketing.apigateway.cache.ResponseCacheStore;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches GET responses of a route for a fixed TTL, e.g. {@code - ResponseCache=30s}. Concurrent
+ * misses for the same path are collapsed into one upstream request whose response is shared by all
+ * waiting callers. A successful non-GET request through the route invalidates the route's entries;
+ * other services can invalidate explicitly through {@code DELETE /gateway/cache/{routeId}}.
+ *
+ * <p>Only 200 JSON responses without {@code no-store}/{@code private} directives are cached.
+ * Authentication still runs first, since {@link JwtAuthenticationFilter} is ordered before route filters.
+ */
+@Slf4j
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private final ResponseCacheStore store;
+    private final Duration collapseTimeout;
+    private final Map<String, Mono<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public ResponseCacheGatewayFilterFactory(ResponseCacheStore store,
+                                             @Value("${gateway.response-cache.collapse-timeout:5s}") Duration collapseTimeout) {
+        super(Config.class);
+        this.store = store;
+        this.collapseTimeout = collapseTimeout;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "";
+            ServerHttpRequest request = exchange.getRequest();
+
+            if (!HttpMethod.GET.equals(request.getMethod())) {
+                return isSafe(request.getMethod())
+                        ? chain.filter(exchange)
+                        : chain.filter(exchange).doOnSuccess(done -> invalidateAfterWrite(exchange, routeId));
+            }
+            if (!acceptsJson(request)) {
+                return chain.filter(exchange);
+            }
+
+            String key = ResponseCacheStore.key(routeId, pathAndQuery(request));
+            CachedResponse cached = store.get(key);
+            if (cached != null) {
+                return write(exchange, cached, "HIT");
+            }
+
+            Sinks.One<CachedResponse> sink = Sinks.one();
+            Mono<CachedResponse> pending = inFlight.putIfAbsent(key, sink.asMono());
+            if (pending != null) {
+                // Another request is already fetching this path; share its response. If it turns out
+                // not to be cacheable (or takes too long), go upstream ourselves
+                return pending
+                        .timeout(collapseTimeout, Mono.empty())
+                        .flatMap(response -> write(exchange, response, "HIT").thenReturn(response))
+                        .switchIfEmpty(Mono.defer(() -> chain.filter(exchange)).then(Mono.empty()))
+                        .then();
+            }
+
+            ServerHttpResponse capturing = new CapturingResponse(exchange.getResponse(), key, config.getTtl(), sink);
+            return chain.filter(exchange.mutate().response(capturing).build())
+                    .doFinally(signal -> {
+                        inFlight.remove(key);
+                        sink.tryEmitEmpty();
+                    });
+        };
+    }
+
+    private void invalidateAfterWrite(ServerWebExchange exchange, String routeId) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status != null && status.is2xxSuccessful()) {
+            int removed = store.invalidate(routeId, "");
+            log.debug("Invalidated {} cached responses of route {} after {}", removed, routeId,
+                    exchange.getRequest().getMethod());
+        }
+    }
+
+    private static Mono<Void> write(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        String etag = cached.headers().getETag();
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+        if (etag != null && ifNoneMatch.contains(etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().setETag(etag);
+            response.getHeaders().setCacheControl(cached.headers().getCacheControl());
+            return response.setComplete();
+        }
+
+        response.setStatusCode(cached.status());
+        response.getHeaders().putAll(cached.headers());
+        response.getHeaders().setContentLength(cached.size());
+        response.getHeaders().set(CACHE_STATUS_HEADER, cacheStatus);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean isSafe(HttpMethod method) {
+        return HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method);
+    }
+
+    private static boolean acceptsJson(ServerHttpRequest request) {
+        List<MediaType> accept = request.getHeaders().getAccept();
+        return accept.isEmpty() || accept.stream().anyMatch(type -> type.isCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    private static String pathAndQuery(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        return request.getURI().getRawPath() + (query != null ? "?" + query : "");
+    }
+
+    /**
+     * Buffers a cacheable upstream body into the store (and hands it to collapsed waiters) before
+     * writing it to the client; anything else is passed through untouched. A body without a
+     * Content-Length is counted as it streams in: once it outgrows what the store takes, the part
+     * read so far is written out and the rest passes through, so it is never held whole.
+     */
+    private class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final Duration ttl;
+        private final Sinks.One<CachedResponse> sink;
+
+        // The body read so far, or null once it is passed through
+        private List<DataBuffer> captured = new ArrayList<>();
+        private long capturedSize;
+
+        CapturingResponse(ServerHttpResponse delegate, String key, Duration ttl, Sinks.One<CachedResponse> sink) {
+            super(delegate);
+            this.key = key;
+            this.ttl = ttl;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isCacheable()) {
+                return super.writeWith(body);
+            }
+
+            return super.writeWith(Flux.from(body)
+                    .concatMapIterable(this::capture)
+                    .concatWith(Mono.defer(this::cacheCaptured))
+                    .doOnCancel(this::discard)
+                    .doOnError(e -> discard()));
+        }
+
+        /**
+         * @return the buffers to write now: none while the body still fits the store
+         */
+        private List<DataBuffer> capture(DataBuffer buffer) {
+            if (captured == null) {
+                return List.of(buffer);
+            }
+            captured.add(buffer);
+            capturedSize += buffer.readableByteCount();
+            if (store.fits(capturedSize)) {
+                return List.of();
+            }
+            List<DataBuffer> read = captured;
+            captured = null;
+            return read;
+        }
+
+        private Mono<DataBuffer> cacheCaptured() {
+            if (captured == null) {
+                return Mono.empty();
+            }
+            ByteBuffer copy = ByteBuffer.allocateDirect((int) capturedSize);
+            for (DataBuffer buffer : captured) {
+                try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                    iterator.forEachRemaining(copy::put);
+                }
+                DataBufferUtils.release(buffer);
+            }
+            captured = null;
+            copy.flip();
+
+            CachedResponse cached = CachedResponse.of(getStatusCode(), getHeaders(), copy, ttl);
+            store.put(key, cached);
+            sink.tryEmitValue(cached);
+
+            getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+            return Mono.just(bufferFactory().wrap(cached.body()));
+        }
+
+        private void discard() {
+            if (captured != null) {
+                captured.forEach(DataBufferUtils::release);
+                captured = null;
+            }
+        }
+
+        private boolean isCacheable() {
+            HttpStatusCode status = getStatusCode();
+            if (status == null || status.value() != HttpStatus.OK.value() || getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+                return false;
+            }
+            MediaType contentType = getHeaders().getContentType();
+            if (contentType == null || !contentType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+            String cacheControl = getHeaders().getCacheControl();
+            if (cacheControl != null && (cacheControl.contains("no-store") || cacheControl.contains("private"))) {
+                return false;
+            }
+            long contentLength = getHeaders().getContentLength();
+            return contentLength < 0 || store.fits(contentLength);
+        }
+    }
+
+    @Data
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(10);
+    }
+}
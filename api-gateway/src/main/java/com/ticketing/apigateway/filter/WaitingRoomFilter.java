@@ -0,0 +1,101 @@
+package com.ticketing.apigateway.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketing.apigateway.utils.JwtClaims;
+import com.ticketing.apigateway.waitingroom.QueueStatus;
+import com.ticketing.apigateway.waitingroom.TicketEventResolver;
+import com.ticketing.apigateway.waitingroom.WaitingRoomRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Holds back reservations for events with an open waiting room (see {@link WaitingRoomRegistry})
+ * unless they carry an admitted queue token of the same user in {@value #QUEUE_TOKEN_HEADER}.
+ * Held back requests get 429 with the client's place in line and a Retry-After of its ETA.
+ *
+ * <p>Runs after {@link RateLimitFilter}. While no room is open it costs one map check; otherwise
+ * the reservation body is read to find its ticket, and the ticket's event.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WaitingRoomFilter implements GlobalFilter, Ordered {
+
+    public static final String QUEUE_TOKEN_HEADER = "X-Queue-Token";
+
+    private final WaitingRoomRegistry registry;
+    private final TicketEventResolver ticketEventResolver;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        JwtClaims claims = exchange.getAttribute(JwtAuthenticationFilter.CLAIMS_ATTR);
+        if (!registry.hasOpenRooms() || claims == null || !ReservationRequests.isReservation(exchange)) {
+            return chain.filter(exchange);
+        }
+
+        return ReservationRequests.withTicketId(exchange, objectMapper, (replayable, ticketId) -> {
+            if (ticketId == null) {
+                // Not a valid reservation; booking-service rejects it
+                return chain.filter(replayable);
+            }
+
+            HttpHeaders headers = replayable.getRequest().getHeaders();
+            String token = headers.getFirst(QUEUE_TOKEN_HEADER);
+            return ticketEventResolver.eventIdOf(ticketId, headers.getFirst(HttpHeaders.AUTHORIZATION))
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .<Mono<Void>>map(eventId -> {
+                        if (eventId.isEmpty() || registry.room(eventId.get()).isEmpty()
+                                || registry.isAdmitted(token, eventId.get(), claims.userId())) {
+                            return chain.filter(replayable);
+                        }
+                        return holdBack(exchange, eventId.get(), token);
+                    })
+                    .onErrorResume(e -> {
+                        log.warn("Could not resolve the event of ticket {} for its waiting room: {}", ticketId, e.toString());
+                        exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                        return Mono.just(exchange.getResponse().setComplete());
+                    })
+                    .flatMap(action -> action);
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return 1;
+    }
+
+    private Mono<Void> holdBack(ServerWebExchange exchange, Long eventId, String token) {
+        Object body = registry.status(token)
+                .filter(status -> status.eventId().equals(eventId))
+                .map(Object.class::cast)
+                .orElseGet(() -> Map.of("eventId", eventId, "status", "NOT_QUEUED",
+                        "message", "Join the waiting room at /gateway/waiting-room/" + eventId + "/join"));
+        long retryAfter = body instanceof QueueStatus status ? Math.max(1, status.etaSeconds()) : 1;
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(objectMapper.writeValueAsBytes(body))));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+}
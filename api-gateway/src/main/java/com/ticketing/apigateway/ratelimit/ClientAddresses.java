@@ -0,0 +1,136 @@
+package com.ticketing.apigateway.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the address of the client behind a request, for limits per client address. Behind a
+ * load balancer that rewrites the source address (SNAT) or an ingress, every connection comes from
+ * the proxy, so all clients would share one bucket. When the connection comes from one of the
+ * {@code gateway.rate-limit.trusted-proxies} (addresses or CIDR ranges), the client is the last
+ * {@code X-Forwarded-For} entry that is not a trusted proxy itself. The header is ignored on
+ * connections from anywhere else, so clients cannot pick their own bucket by sending it.
+ */
+@Component
+public class ClientAddresses {
+
+    static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+    private static final Pattern IPV6 = Pattern.compile("[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+
+    private final List<AddressRange> trustedProxies;
+
+    public ClientAddresses(@Value("${gateway.rate-limit.trusted-proxies:}") List<String> trustedProxies) {
+        this.trustedProxies = new ArrayList<>();
+        for (String proxy : trustedProxies) {
+            if (!proxy.isBlank()) {
+                this.trustedProxies.add(AddressRange.parse(proxy.trim()));
+            }
+        }
+    }
+
+    public String resolve(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        InetAddress peer = remote != null ? remote.getAddress() : null;
+        if (peer == null) {
+            return "unknown";
+        }
+        if (!isTrusted(peer)) {
+            return peer.getHostAddress();
+        }
+
+        InetAddress client = peer;
+        List<String> forwardedFor = request.getHeaders().getOrEmpty(FORWARDED_FOR);
+        // Proxies append to the header, so walk it from the nearest hop outwards
+        for (int i = forwardedFor.size() - 1; i >= 0; i--) {
+            String[] hops = forwardedFor.get(i).split(",");
+            for (int j = hops.length - 1; j >= 0; j--) {
+                InetAddress hop = literal(hops[j]);
+                if (hop == null) {
+                    return client.getHostAddress();
+                }
+                client = hop;
+                if (!isTrusted(hop)) {
+                    return hop.getHostAddress();
+                }
+            }
+        }
+        return client.getHostAddress();
+    }
+
+    private boolean isTrusted(InetAddress address) {
+        for (AddressRange range : trustedProxies) {
+            if (range.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the address in an {@code X-Forwarded-For} entry, or {@code null} if it is not an IP
+     * literal (never resolved through DNS)
+     */
+    static InetAddress literal(String hop) {
+        String address = hop.trim();
+        if (address.startsWith("[") && address.indexOf(']') > 0) {
+            address = address.substring(1, address.indexOf(']'));
+        } else if (address.indexOf(':') > 0 && address.indexOf(':') == address.lastIndexOf(':')) {
+            // IPv4 with a port
+            address = address.substring(0, address.indexOf(':'));
+        }
+        if (!IPV4.matcher(address).matches() && !IPV6.matcher(address).matches()) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(address);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private record AddressRange(byte[] network, int prefixLength) {
+
+        static AddressRange parse(String cidr) {
+            int slash = cidr.indexOf('/');
+            InetAddress address = literal(slash < 0 ? cidr : cidr.substring(0, slash));
+            if (address == null) {
+                throw new IllegalArgumentException("Trusted proxy must be an IP address or CIDR range: " + cidr);
+            }
+            byte[] network = address.getAddress();
+            int prefixLength = slash < 0 ? network.length * 8 : Integer.parseInt(cidr.substring(slash + 1));
+            if (prefixLength < 0 || prefixLength > network.length * 8) {
+                throw new IllegalArgumentException("Invalid prefix length in trusted proxy " + cidr);
+            }
+            return new AddressRange(network, prefixLength);
+        }
+
+        boolean contains(InetAddress address) {
+            byte[] bytes = address.getAddress();
+            if (bytes.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (bytes[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits);
+            return (bytes[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ticketing.apigateway.ratelimit;
+
+/**
+ * A bucket of {@code capacity} requests refilled at {@code refillPerSecond}.
+ */
+public record RateLimit(int capacity, double refillPerSecond) {
+
+    public RateLimit {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit needs a capacity of at least 1 and a positive refill rate");
+        }
+    }
+
+    long intervalNanos() {
+        return (long) (1_000_000_000L / refillPerSecond);
+    }
+
+    long burstNanos() {
+        return capacity * intervalNanos();
+    }
+}
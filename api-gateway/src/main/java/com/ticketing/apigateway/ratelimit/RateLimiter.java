@@ -0,0 +1,71 @@
+package com.ticketing.apigateway.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token buckets by key, spread over independent shards so that creating buckets for new clients
+ * and sweeping idle ones only ever touches one shard at a time. Buckets left full for
+ * {@code idle-timeout} are dropped; a client coming back gets a fresh, full bucket, which is what
+ * it would have had anyway.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private final Map<String, TokenBucket>[] shards;
+    private final long idleNanos;
+
+    @SuppressWarnings("unchecked")
+    public RateLimiter(@Value("${gateway.rate-limit.shards:16}") int shardCount,
+                       @Value("${gateway.rate-limit.idle-timeout:5m}") Duration idleTimeout) {
+        // Power of two, so a shard is picked with a mask
+        int size = Integer.highestOneBit(Math.max(1, shardCount - 1)) << 1;
+        this.shards = new Map[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+        this.idleNanos = idleTimeout.toNanos();
+    }
+
+    /**
+     * @return 0 if the request is allowed, otherwise the nanos until the key has a token again
+     */
+    public long tryAcquire(String key, RateLimit limit) {
+        long now = System.nanoTime();
+        return shard(key).computeIfAbsent(key, k -> new TokenBucket(now)).tryAcquire(limit, now);
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.rate-limit.evict-interval:60000}")
+    public void evictIdle() {
+        int evicted = 0;
+        for (Map<String, TokenBucket> shard : shards) {
+            long now = System.nanoTime();
+            int before = shard.size();
+            shard.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+            evicted += before - shard.size();
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets, {} left", evicted, size());
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<String, TokenBucket> shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    private Map<String, TokenBucket> shard(String key) {
+        int hash = key.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (shards.length - 1)];
+    }
+}
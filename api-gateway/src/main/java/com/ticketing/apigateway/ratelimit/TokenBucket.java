@@ -0,0 +1,42 @@
+package com.ticketing.apigateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single "theoretical arrival time" (the GCRA form of a token
+ * bucket): each request pushes it one refill interval further, and a request is allowed while it
+ * stays within {@code capacity} intervals of now. One CAS per request, no refill bookkeeping.
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long nowNanos) {
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanos until one will be available
+     */
+    long tryAcquire(RateLimit limit, long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + limit.intervalNanos();
+            long wait = next - nowNanos - limit.burstNanos();
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return whether the bucket has been full for at least {@code idleNanos}, so dropping it
+     *         loses nothing
+     */
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - theoreticalArrival.get() > idleNanos;
+    }
+}
@@ -0,0 +1,82 @@
+package com.ticketing.apigateway.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Encodes the verified identity of a request into the single {@value #HEADER} header passed to
+ * the services: {@code v2.<payload>.<mac>}, where the payload is the base64url of userId,
+ * username, email, fullName, role, expiry (epoch seconds) and token ID separated by
+ * {@code \u001F}, and the mac is the first 16 bytes of its HMAC-SHA256 under
+ * {@code gateway.identity-header.secret}. Services verify it instead of the bearer token (see their
+ * {@code JwtAuthenticationFilter}), and check the token ID against their own revocation list.
+ *
+ * <p>A token's header never changes, so it is signed once and cached by token ID.
+ */
+@Component
+public class IdentityHeaderSigner {
+
+    public static final String HEADER = "X-User-Identity";
+
+    static final char SEPARATOR = '\u001F';
+    private static final int MAC_LENGTH = 16;
+
+    private final Mac prototype;
+    private final Cache<String, String> signedHeaders;
+
+    public IdentityHeaderSigner(@Value("${gateway.identity-header.secret:${jwt.secret}}") String secret,
+                                @Value("${jwt.cache.max-size:10000}") long maxCacheSize,
+                                @Value("${jwt.cache.max-ttl:5m}") Duration maxCacheTtl) {
+        try {
+            this.prototype = Mac.getInstance("HmacSHA256");
+            prototype.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+        this.signedHeaders = Caffeine.newBuilder()
+                .maximumSize(maxCacheSize)
+                .expireAfterWrite(maxCacheTtl)
+                .build();
+    }
+
+    public String sign(JwtClaims claims) {
+        return claims.tokenId() != null ? signedHeaders.get(claims.tokenId(), id -> encode(claims)) : encode(claims);
+    }
+
+    private String encode(JwtClaims claims) {
+        String fields = String.valueOf(claims.userId()) + SEPARATOR
+                + nullToEmpty(claims.username()) + SEPARATOR
+                + nullToEmpty(claims.email()) + SEPARATOR
+                + nullToEmpty(claims.fullName()) + SEPARATOR
+                + nullToEmpty(claims.role()) + SEPARATOR
+                + (claims.expiresAt() != null ? claims.expiresAt().getEpochSecond() : "") + SEPARATOR
+                + nullToEmpty(claims.tokenId());
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String payload = encoder.encodeToString(fields.getBytes(StandardCharsets.UTF_8));
+        return "v2." + payload + "." + encoder.encodeToString(mac(payload));
+    }
+
+    private byte[] mac(String payload) {
+        try {
+            // Mac instances are not thread-safe; a clone of the keyed prototype skips key setup
+            Mac mac = (Mac) prototype.clone();
+            return Arrays.copyOf(mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII)), MAC_LENGTH);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HmacSHA256 cannot be cloned", e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,26 @@
+package com.ticketing.apigateway.utils;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of the claims carried by a verified JWT.
+ */
+public record JwtClaims(
+        Long userId,
+        String username,
+        String email,
+        String fullName,
+        String role,
+        Instant expiresAt,
+        // The jti, or the token's hash if it has none; revocations are keyed on it
+        String tokenId
+) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && expiresAt.isBefore(now);
+    }
+
+    public boolean isAdmin() {
+        return "ADMIN".equals(role);
+    }
+}
@@ -1,75 +1,121 @@
 package com.ticketing.apigateway.utils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.ticketing.common.revocation.RevocationList;
+import com.ticketing.common.revocation.TokenIds;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final JwtParser parser;
+    private final RevocationList revocationList;
+    private final Duration maxCacheTtl;
+    private final Cache<String, JwtClaims> verifiedTokens;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   RevocationList revocationList,
+                   @Value("${jwt.cache.max-size:10000}") long maxCacheSize,
+                   @Value("${jwt.cache.max-ttl:5m}") Duration maxCacheTtl) {
+        // Key and parser are immutable and thread-safe, so build them once
+        this.parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes()))
+                .build();
+        this.revocationList = revocationList;
+        this.maxCacheTtl = maxCacheTtl;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxCacheSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    /**
+     * Verifies the token and returns its claims. Tokens that were already verified are served
+     * from a bounded cache until they expire, skipping the signature check and JSON parsing.
+     * Revocation is checked on every call, cached or not.
+     *
+     * @throws JwtException if the token is malformed, has an invalid signature, is expired or
+     *         has been revoked
+     */
+    public JwtClaims parseToken(String token) {
+        String key = TokenIds.hash(token);
+        JwtClaims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return checkNotRevoked(cached);
+        }
+
+        Claims payload = parser.parseSignedClaims(token).getPayload();
+        Date expiration = payload.getExpiration();
+        JwtClaims claims = new JwtClaims(
+                payload.get("userId", Long.class),
+                payload.getSubject(),
+                payload.get("email", String.class),
+                payload.get("fullName", String.class),
+                payload.get("role", String.class),
+                expiration != null ? expiration.toInstant() : null,
+                payload.getId() != null ? payload.getId() : key);
+
+        verifiedTokens.put(key, claims);
+        return checkNotRevoked(claims);
+    }
+
+    /**
+     * The verified claims of a {@code Bearer} Authorization header, for the endpoints the gateway
+     * serves itself rather than routes.
+     *
+     * @return empty if the header is missing or its token does not verify
+     */
+    public Optional<JwtClaims> bearerClaims(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(parseToken(authHeader.substring(7)));
+        } catch (JwtException e) {
+            return Optional.empty();
+        }
+    }
+
+    public boolean isAdmin(String authHeader) {
+        return bearerClaims(authHeader).map(JwtClaims::isAdmin).orElse(false);
     }
 
     public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return parseToken(token).username();
     }
 
     public Long getUserIdFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("userId", Long.class);
+        return parseToken(token).userId();
     }
 
     public String getEmailFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("email", String.class);
+        return parseToken(token).email();
     }
 
     public String getFullNameFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("fullName", String.class);
+        return parseToken(token).fullName();
     }
 
     public String getRoleFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("role", String.class);
+        return parseToken(token).role();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            parseToken(token);
             return true;
         } catch (JwtException e) {
             return false;
@@ -77,16 +123,43 @@ public class JwtUtil {
     }
 
     public Date getExpirationDateFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getExpiration();
+        Instant expiresAt = parseToken(token).expiresAt();
+        return expiresAt != null ? Date.from(expiresAt) : null;
     }
 
     public boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+        return parseToken(token).isExpired(Instant.now());
+    }
+
+    private JwtClaims checkNotRevoked(JwtClaims claims) {
+        if (revocationList.isRevoked(claims.tokenId())) {
+            throw new JwtException("Token has been revoked");
+        }
+        return claims;
+    }
+
+    private class TokenExpiry implements Expiry<String, JwtClaims> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+            if (claims.expiresAt() == null) {
+                return maxCacheTtl.toNanos();
+            }
+            Duration remaining = Duration.between(Instant.now(), claims.expiresAt());
+            if (remaining.isNegative()) {
+                return 0;
+            }
+            return remaining.compareTo(maxCacheTtl) < 0 ? remaining.toNanos() : maxCacheTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
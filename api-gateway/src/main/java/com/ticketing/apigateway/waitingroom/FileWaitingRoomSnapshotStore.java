@@ -0,0 +1,59 @@
+package com.ticketing.apigateway.waitingroom;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Keeps the waiting room snapshot as JSON in a local file. Each save is written to a temporary
+ * file and moved over the previous one, so a crash mid-write leaves the last complete snapshot.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("gateway.waiting-room.snapshot-file")
+public class FileWaitingRoomSnapshotStore implements WaitingRoomSnapshotStore {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileWaitingRoomSnapshotStore(@Value("${gateway.waiting-room.snapshot-file}") Path file,
+                                        ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Optional<WaitingRoomSnapshot> load() {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(file.toFile(), WaitingRoomSnapshot.class));
+        } catch (IOException e) {
+            log.error("Ignoring unreadable waiting room snapshot {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(WaitingRoomSnapshot snapshot) {
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write waiting room snapshot " + file, e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ticketing.apigateway.waitingroom;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * What a client is told about its place in a waiting room.
+ *
+ * @param status        WAITING, ADMITTED or EXPIRED (the admission window passed; join again)
+ * @param admittedUntil epoch millis the admission ends, or 0 while waiting
+ */
+public record QueueStatus(String token, Long eventId, String status, long position, long etaSeconds,
+                          long admittedUntil) {
+
+    public static final String WAITING = "WAITING";
+    public static final String ADMITTED = "ADMITTED";
+    public static final String EXPIRED = "EXPIRED";
+
+    @JsonIgnore
+    public boolean isAdmitted() {
+        return ADMITTED.equals(status);
+    }
+}
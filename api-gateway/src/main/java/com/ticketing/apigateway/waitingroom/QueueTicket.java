@@ -0,0 +1,55 @@
+package com.ticketing.apigateway.waitingroom;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A client's place in a {@link WaitingRoom}, identified by an opaque queue token. The admission
+ * window starts when the client is first seen admitted.
+ */
+public final class QueueTicket {
+
+    private final String token;
+    private final Long eventId;
+    private final Long userId;
+    private final long sequence;
+    private final AtomicLong admittedAt;
+
+    public QueueTicket(String token, Long eventId, Long userId, long sequence, long admittedAt) {
+        this.token = token;
+        this.eventId = eventId;
+        this.userId = userId;
+        this.sequence = sequence;
+        this.admittedAt = new AtomicLong(admittedAt);
+    }
+
+    public String token() {
+        return token;
+    }
+
+    public Long eventId() {
+        return eventId;
+    }
+
+    public Long userId() {
+        return userId;
+    }
+
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * @return epoch millis the admission was first seen, or 0 while waiting
+     */
+    public long admittedAt() {
+        return admittedAt.get();
+    }
+
+    /**
+     * @return when the admission started, recording {@code now} if this is the first time
+     */
+    long markAdmitted(long now) {
+        admittedAt.compareAndSet(0, now);
+        return admittedAt.get();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ticketing.apigateway.waitingroom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Finds the event a ticket belongs to, so reservations (which name a ticket) can be matched to the
+ * event's waiting room. A ticket never moves to another event, so answers are cached for good.
+ */
+@Component
+public class TicketEventResolver {
+
+    private final WebClient webClient;
+    private final Duration timeout;
+    private final Cache<Long, Long> eventIds;
+
+    public TicketEventResolver(WebClient.Builder webClientBuilder,
+                               ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                               @Value("${gateway.waiting-room.ticket-lookup-timeout:2s}") Duration timeout,
+                               @Value("${gateway.waiting-room.ticket-cache-size:100000}") long cacheSize) {
+        this.webClient = webClientBuilder.baseUrl("http://ticket-service").filter(loadBalancer).build();
+        this.timeout = timeout;
+        this.eventIds = Caffeine.newBuilder().maximumSize(cacheSize).build();
+    }
+
+    /**
+     * @param authorization the caller's Authorization header, since ticket-service requires one
+     * @return the ticket's event ID, or empty if the ticket does not exist
+     */
+    public Mono<Long> eventIdOf(Long ticketId, String authorization) {
+        Long cached = eventIds.getIfPresent(ticketId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return webClient.get()
+                .uri("/api/tickets/{id}", ticketId)
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(timeout)
+                .flatMap(ticket -> Mono.justOrEmpty(ticket.hasNonNull("eventId") ? ticket.get("eventId").asLong() : null))
+                .doOnNext(eventId -> eventIds.put(ticketId, eventId))
+                .onErrorResume(WebClientResponseException.class,
+                        e -> e.getStatusCode().value() == HttpStatus.NOT_FOUND.value() ? Mono.empty() : Mono.error(e));
+    }
+}
@@ -0,0 +1,105 @@
+package com.ticketing.apigateway.waitingroom;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FIFO admission queue of one event. Joining clients draw increasing sequence numbers, and every
+ * client at or below {@link #admittedThrough()} is admitted; the admitter advances that mark at
+ * the room's admit rate. Position and ETA follow from the two counters, so joining and polling are
+ * lock-free and never touch a shared queue structure.
+ */
+public class WaitingRoom {
+
+    private final Long eventId;
+    private final AtomicLong lastIssued;
+    private final AtomicLong admittedThrough;
+    private volatile double admitRate;
+
+    // Fractional admissions carried between ticks; only touched by the admitter
+    private double admissionCredit;
+
+    public WaitingRoom(Long eventId, double admitRate) {
+        this(eventId, admitRate, 0, 0);
+    }
+
+    WaitingRoom(Long eventId, double admitRate, long lastIssued, long admittedThrough) {
+        if (admitRate <= 0) {
+            throw new IllegalArgumentException("Admit rate must be positive");
+        }
+        this.eventId = eventId;
+        this.admitRate = admitRate;
+        this.lastIssued = new AtomicLong(lastIssued);
+        this.admittedThrough = new AtomicLong(admittedThrough);
+    }
+
+    public Long eventId() {
+        return eventId;
+    }
+
+    public double admitRate() {
+        return admitRate;
+    }
+
+    public void setAdmitRate(double admitRate) {
+        if (admitRate <= 0) {
+            throw new IllegalArgumentException("Admit rate must be positive");
+        }
+        this.admitRate = admitRate;
+    }
+
+    /**
+     * @return the joining client's sequence number
+     */
+    public long join() {
+        return lastIssued.incrementAndGet();
+    }
+
+    public long lastIssued() {
+        return lastIssued.get();
+    }
+
+    public long admittedThrough() {
+        return admittedThrough.get();
+    }
+
+    /**
+     * @return how many clients are ahead of {@code sequence}, or 0 once it is admitted
+     */
+    public long position(long sequence) {
+        return Math.max(0, sequence - admittedThrough.get());
+    }
+
+    public boolean isAdmitted(long sequence) {
+        return sequence <= admittedThrough.get();
+    }
+
+    /**
+     * @return estimated seconds until {@code sequence} is admitted at the current rate
+     */
+    public long etaSeconds(long sequence) {
+        return (long) Math.ceil(position(sequence) / admitRate);
+    }
+
+    public long waiting() {
+        return Math.max(0, lastIssued.get() - admittedThrough.get());
+    }
+
+    /**
+     * Admits the clients due after {@code elapsedSeconds} at the admit rate. Credit is capped at one
+     * second's worth, so an idle room does not save up a burst for the next rush.
+     *
+     * @return the number of clients admitted
+     */
+    long admit(double elapsedSeconds) {
+        admissionCredit = Math.min(admissionCredit + admitRate * elapsedSeconds, Math.max(1, admitRate));
+        long due = (long) admissionCredit;
+        if (due == 0) {
+            return 0;
+        }
+        long before = admittedThrough.get();
+        long after = Math.min(lastIssued.get(), before + due);
+        admittedThrough.set(after);
+        admissionCredit -= after - before;
+        return after - before;
+    }
+}
@@ -0,0 +1,240 @@
+package com.ticketing.apigateway.waitingroom;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Virtual waiting rooms for on-sales. An admin opens a room for an event with an admit rate; from
+ * then on reservations for that event need an admitted queue token (see {@code WaitingRoomFilter}),
+ * so booking-service sees at most the admit rate of new buyers however large the rush. A user
+ * holds one token per event, and an admission is valid for {@code admission-window}.
+ *
+ * <p>State is local to this gateway instance: run one instance or sticky sessions during an
+ * on-sale, and divide the intended rate by the number of instances. Rooms and tokens are saved
+ * through the {@link WaitingRoomSnapshotStore}, when there is one, and restored at startup.
+ */
+@Slf4j
+@Component
+public class WaitingRoomRegistry {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final WaitingRoomSnapshotStore snapshotStore;
+    private final Duration admissionWindow;
+
+    private final Map<Long, WaitingRoom> rooms = new ConcurrentHashMap<>();
+    private final Map<String, QueueTicket> tickets = new ConcurrentHashMap<>();
+    private final Map<String, QueueTicket> ticketsByUser = new ConcurrentHashMap<>();
+    private long lastAdmitNanos = System.nanoTime();
+
+    public WaitingRoomRegistry(ObjectProvider<WaitingRoomSnapshotStore> snapshotStore,
+                               @Value("${gateway.waiting-room.admission-window:10m}") Duration admissionWindow) {
+        this.snapshotStore = snapshotStore.getIfAvailable();
+        this.admissionWindow = admissionWindow;
+    }
+
+    public boolean hasOpenRooms() {
+        return !rooms.isEmpty();
+    }
+
+    public Optional<WaitingRoom> room(Long eventId) {
+        return Optional.ofNullable(rooms.get(eventId));
+    }
+
+    public List<WaitingRoom> rooms() {
+        return List.copyOf(rooms.values());
+    }
+
+    /**
+     * Opens a waiting room for the event, or changes the admit rate of the open one.
+     */
+    public WaitingRoom open(Long eventId, double admitRate) {
+        WaitingRoom room = rooms.compute(eventId, (id, existing) -> {
+            if (existing == null) {
+                return new WaitingRoom(id, admitRate);
+            }
+            existing.setAdmitRate(admitRate);
+            return existing;
+        });
+        log.info("Waiting room for event {} open, admitting {}/s", eventId, admitRate);
+        return room;
+    }
+
+    /**
+     * Closes the event's waiting room; its reservations flow freely again.
+     */
+    public boolean close(Long eventId) {
+        if (rooms.remove(eventId) == null) {
+            return false;
+        }
+        tickets.values().removeIf(ticket -> eventId.equals(ticket.eventId()));
+        ticketsByUser.values().removeIf(ticket -> eventId.equals(ticket.eventId()));
+        log.info("Waiting room for event {} closed", eventId);
+        return true;
+    }
+
+    /**
+     * Puts the user in line, or returns their current place if they already are. A user whose
+     * admission window has passed goes to the back of the line.
+     *
+     * @throws IllegalArgumentException if the event has no open waiting room
+     */
+    public QueueStatus join(Long eventId, Long userId) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null) {
+            throw new IllegalArgumentException("No waiting room is open for event " + eventId);
+        }
+        String userKey = eventId + ":" + userId;
+        QueueTicket ticket = ticketsByUser.computeIfAbsent(userKey, key -> issue(room, userId));
+        QueueStatus status = status(room, ticket, System.currentTimeMillis());
+        if (!QueueStatus.EXPIRED.equals(status.status())) {
+            return status;
+        }
+
+        tickets.remove(ticket.token());
+        QueueTicket rejoined = issue(room, userId);
+        ticketsByUser.put(userKey, rejoined);
+        return status(room, rejoined, System.currentTimeMillis());
+    }
+
+    /**
+     * @return the token's place in line, or empty if the token is unknown or its room closed
+     */
+    public Optional<QueueStatus> status(String token) {
+        QueueTicket ticket = token != null ? tickets.get(token) : null;
+        if (ticket == null) {
+            return Optional.empty();
+        }
+        WaitingRoom room = rooms.get(ticket.eventId());
+        return room != null ? Optional.of(status(room, ticket, System.currentTimeMillis())) : Optional.empty();
+    }
+
+    /**
+     * @return whether the token lets the user reserve for the event right now
+     */
+    public boolean isAdmitted(String token, Long eventId, Long userId) {
+        QueueTicket ticket = token != null ? tickets.get(token) : null;
+        WaitingRoom room = rooms.get(eventId);
+        return ticket != null && room != null
+                && ticket.eventId().equals(eventId)
+                && ticket.userId().equals(userId)
+                && status(room, ticket, System.currentTimeMillis()).isAdmitted();
+    }
+
+    @Scheduled(fixedRateString = "${gateway.waiting-room.admit-interval:100}")
+    public void admit() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastAdmitNanos) / 1e9;
+        lastAdmitNanos = now;
+        for (WaitingRoom room : rooms.values()) {
+            room.admit(elapsedSeconds);
+        }
+    }
+
+    /**
+     * Starts the admission window of admitted clients that have not come back yet, and forgets
+     * tokens whose window has passed.
+     */
+    @Scheduled(fixedDelayString = "${gateway.waiting-room.purge-interval:10000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int purged = 0;
+        for (QueueTicket ticket : tickets.values()) {
+            WaitingRoom room = rooms.get(ticket.eventId());
+            boolean expired = room == null || (room.isAdmitted(ticket.sequence())
+                    && ticket.markAdmitted(now) + admissionWindow.toMillis() <= now);
+            if (expired && tickets.remove(ticket.token(), ticket)) {
+                ticketsByUser.remove(ticket.eventId() + ":" + ticket.userId(), ticket);
+                purged++;
+            }
+        }
+        if (purged > 0) {
+            log.debug("Purged {} expired queue tokens", purged);
+        }
+    }
+
+    @PostConstruct
+    public void restore() {
+        if (snapshotStore == null) {
+            return;
+        }
+        snapshotStore.load().ifPresent(snapshot -> {
+            Map<Long, Long> lastIssued = new ConcurrentHashMap<>();
+            // Tokens may have been issued after their room was captured
+            for (WaitingRoomSnapshot.Ticket ticket : snapshot.tickets()) {
+                lastIssued.merge(ticket.eventId(), ticket.sequence(), Math::max);
+            }
+            for (WaitingRoomSnapshot.Room room : snapshot.rooms()) {
+                rooms.put(room.eventId(), new WaitingRoom(room.eventId(), room.admitRate(),
+                        Math.max(room.lastIssued(), lastIssued.getOrDefault(room.eventId(), 0L)), room.admittedThrough()));
+            }
+            for (WaitingRoomSnapshot.Ticket saved : snapshot.tickets()) {
+                if (rooms.containsKey(saved.eventId())) {
+                    QueueTicket ticket = new QueueTicket(saved.token(), saved.eventId(), saved.userId(),
+                            saved.sequence(), saved.admittedAt());
+                    tickets.put(ticket.token(), ticket);
+                    ticketsByUser.put(ticket.eventId() + ":" + ticket.userId(), ticket);
+                }
+            }
+            log.info("Restored {} waiting rooms with {} queue tokens", rooms.size(), tickets.size());
+        });
+    }
+
+    @PreDestroy
+    @Scheduled(initialDelayString = "${gateway.waiting-room.snapshot-interval:5000}",
+            fixedDelayString = "${gateway.waiting-room.snapshot-interval:5000}")
+    public void snapshot() {
+        if (snapshotStore == null) {
+            return;
+        }
+        List<WaitingRoomSnapshot.Room> savedRooms = new ArrayList<>();
+        for (WaitingRoom room : rooms.values()) {
+            savedRooms.add(new WaitingRoomSnapshot.Room(room.eventId(), room.admitRate(),
+                    room.lastIssued(), room.admittedThrough()));
+        }
+        List<WaitingRoomSnapshot.Ticket> savedTickets = new ArrayList<>();
+        for (QueueTicket ticket : tickets.values()) {
+            savedTickets.add(new WaitingRoomSnapshot.Ticket(ticket.token(), ticket.eventId(), ticket.userId(),
+                    ticket.sequence(), ticket.admittedAt()));
+        }
+        try {
+            snapshotStore.save(new WaitingRoomSnapshot(savedRooms, savedTickets));
+        } catch (RuntimeException e) {
+            log.error("Failed to save waiting room snapshot", e);
+        }
+    }
+
+    private QueueTicket issue(WaitingRoom room, Long userId) {
+        byte[] token = new byte[16];
+        RANDOM.nextBytes(token);
+        QueueTicket ticket = new QueueTicket(Base64.getUrlEncoder().withoutPadding().encodeToString(token),
+                room.eventId(), userId, room.join(), 0);
+        tickets.put(ticket.token(), ticket);
+        return ticket;
+    }
+
+    private QueueStatus status(WaitingRoom room, QueueTicket ticket, long now) {
+        long sequence = ticket.sequence();
+        if (!room.isAdmitted(sequence)) {
+            return new QueueStatus(ticket.token(), room.eventId(), QueueStatus.WAITING,
+                    room.position(sequence), room.etaSeconds(sequence), 0);
+        }
+        long admittedUntil = ticket.markAdmitted(now) + admissionWindow.toMillis();
+        return new QueueStatus(ticket.token(), room.eventId(),
+                now < admittedUntil ? QueueStatus.ADMITTED : QueueStatus.EXPIRED, 0, 0, admittedUntil);
+    }
+}
@@ -0,0 +1,14 @@
+package com.ticketing.apigateway.waitingroom;
+
+import java.util.List;
+
+/**
+ * Persisted state of all waiting rooms, so a gateway restart during an on-sale keeps every
+ * client's place in line.
+ */
+public record WaitingRoomSnapshot(List<Room> rooms, List<Ticket> tickets) {
+
+    public record Room(Long eventId, double admitRate, long lastIssued, long admittedThrough) {}
+
+    public record Ticket(String token, Long eventId, Long userId, long sequence, long admittedAt) {}
+}
@@ -0,0 +1,14 @@
+package com.ticketing.apigateway.waitingroom;
+
+import java.util.Optional;
+
+/**
+ * Where {@link WaitingRoomRegistry} persists its state. Without a store bean the waiting rooms
+ * live in memory only; {@link FileWaitingRoomSnapshotStore} keeps them in a local file.
+ */
+public interface WaitingRoomSnapshotStore {
+
+    Optional<WaitingRoomSnapshot> load();
+
+    void save(WaitingRoomSnapshot snapshot);
+}
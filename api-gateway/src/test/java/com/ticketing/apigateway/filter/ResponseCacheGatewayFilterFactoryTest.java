@@ -0,0 +1,110 @@
+package com.ticketing.apigateway.filter;
+
+import com.ticketing.apigateway.cache.ResponseCacheStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private final ResponseCacheStore store = new ResponseCacheStore(DataSize.ofMegabytes(1), DataSize.ofKilobytes(64));
+    private final GatewayFilter filter = new ResponseCacheGatewayFilterFactory(store, Duration.ofSeconds(5))
+            .apply(new ResponseCacheGatewayFilterFactory.Config());
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void collapsesConcurrentMissesAndServesHitsFromTheStore() {
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/events/1"));
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/api/events/1"));
+        MockServerWebExchange third = exchange(MockServerHttpRequest.get("/api/events/1"));
+
+        Mono.when(filter.filter(first, upstream(Duration.ofMillis(200))),
+                  filter.filter(second, upstream(Duration.ofMillis(200)))).block();
+        filter.filter(third, upstream(Duration.ZERO)).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("{\"id\":1}", first.getResponse().getBodyAsString().block());
+        assertEquals("{\"id\":1}", second.getResponse().getBodyAsString().block());
+        assertEquals("HIT", third.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("{\"id\":1}", third.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void successfulWritesInvalidateTheRoute() {
+        filter.filter(exchange(MockServerHttpRequest.get("/api/events/1")), upstream(Duration.ZERO)).block();
+        filter.filter(exchange(MockServerHttpRequest.put("/api/events/1")), upstream(Duration.ZERO)).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/api/events/1")), upstream(Duration.ZERO)).block();
+
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    void streamsBodiesWithoutContentLengthOnceTheyOutgrowTheStore() {
+        AtomicBoolean upstreamDone = new AtomicBoolean();
+        AtomicLong writtenBeforeUpstreamDone = new AtomicLong();
+        AtomicLong written = new AtomicLong();
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/events"));
+        exchange.getResponse().setWriteHandler(body -> body.doOnNext(buffer -> {
+            if (!upstreamDone.get()) {
+                writtenBeforeUpstreamDone.addAndGet(buffer.readableByteCount());
+            }
+            written.addAndGet(buffer.readableByteCount());
+            DataBufferUtils.release(buffer);
+        }).then());
+
+        // 16 chunks of 8 KB: twice what the store takes per entry
+        filter.filter(exchange, chain -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = chain.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Flux.range(0, 16)
+                    .map(i -> response.bufferFactory().wrap(new byte[8 * 1024]))
+                    .doOnComplete(() -> upstreamDone.set(true)));
+        }).block();
+
+        assertEquals(128 * 1024, written.get());
+        assertTrue(writtenBeforeUpstreamDone.get() > 64 * 1024);
+        assertNull(exchange.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals(0, store.size());
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id("event-service").uri("http://localhost").predicate(e -> true).build());
+        return exchange;
+    }
+
+    private GatewayFilterChain upstream(Duration latency) {
+        return exchange -> Mono.delay(latency).then(Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }));
+    }
+}
@@ -0,0 +1,51 @@
+package com.ticketing.apigateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ClientAddressesTest {
+
+    private final ClientAddresses clientAddresses = new ClientAddresses(List.of("10.0.0.0/8", "192.168.1.5"));
+
+    @Test
+    void usesTheConnectionAddressWithoutTrustedProxies() {
+        ClientAddresses untrusting = new ClientAddresses(List.of());
+
+        assertEquals("10.1.2.3", untrusting.resolve(request("10.1.2.3", "203.0.113.7")));
+    }
+
+    @Test
+    void takesTheClientFromForwardedForOnlyWhenSentByATrustedProxy() {
+        assertEquals("203.0.113.7", clientAddresses.resolve(request("10.1.2.3", "203.0.113.7")));
+        assertEquals("203.0.113.7", clientAddresses.resolve(request("192.168.1.5", "203.0.113.7:51234")));
+        // A client cannot choose its bucket by sending the header itself
+        assertEquals("198.51.100.9", clientAddresses.resolve(request("198.51.100.9", "203.0.113.7")));
+    }
+
+    @Test
+    void skipsTrustedHopsAndIgnoresWhatTheClientPrepended() {
+        assertEquals("203.0.113.7",
+                clientAddresses.resolve(request("10.1.2.3", "1.2.3.4, 203.0.113.7, 10.9.9.9")));
+        assertEquals("10.9.9.9", clientAddresses.resolve(request("10.1.2.3", "not-an-address, 10.9.9.9")));
+        assertEquals("2001:db8:0:0:0:0:0:1", clientAddresses.resolve(request("10.1.2.3", "[2001:db8::1]:443")));
+    }
+
+    @Test
+    void rejectsInvalidTrustedProxies() {
+        assertThrows(IllegalArgumentException.class, () -> new ClientAddresses(List.of("proxy.internal")));
+        assertThrows(IllegalArgumentException.class, () -> new ClientAddresses(List.of("10.0.0.0/33")));
+    }
+
+    private static MockServerHttpRequest request(String peer, String forwardedFor) {
+        return MockServerHttpRequest.get("/api/auth/login")
+                .remoteAddress(new InetSocketAddress(peer, 40000))
+                .header("X-Forwarded-For", forwardedFor)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.ticketing.apigateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsABurstOfCapacityThenRefillsAtTheRate() {
+        RateLimit limit = new RateLimit(3, 2);
+        TokenBucket bucket = new TokenBucket(0);
+
+        assertEquals(0, bucket.tryAcquire(limit, 0));
+        assertEquals(0, bucket.tryAcquire(limit, 0));
+        assertEquals(0, bucket.tryAcquire(limit, 0));
+        assertEquals(SECOND / 2, bucket.tryAcquire(limit, 0));
+
+        // Half a second refills one token, not more
+        assertEquals(0, bucket.tryAcquire(limit, SECOND / 2));
+        assertTrue(bucket.tryAcquire(limit, SECOND / 2) > 0);
+        // A long pause refills the bucket only up to its capacity
+        assertEquals(0, bucket.tryAcquire(limit, 10 * SECOND));
+        assertEquals(0, bucket.tryAcquire(limit, 10 * SECOND));
+        assertEquals(0, bucket.tryAcquire(limit, 10 * SECOND));
+        assertTrue(bucket.tryAcquire(limit, 10 * SECOND) > 0);
+    }
+
+    @Test
+    void concurrentCallersNeverTakeMoreThanTheCapacity() throws InterruptedException {
+        RateLimiter rateLimiter = new RateLimiter(4, Duration.ofMinutes(5));
+        RateLimit limit = new RateLimit(100, 0.001);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 50; j++) {
+                    if (rateLimiter.tryAcquire("user:1", limit) == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, allowed.get());
+        assertTrue(rateLimiter.tryAcquire("user:2", limit) == 0);
+    }
+
+    @Test
+    void evictsOnlyBucketsThatHaveRefilled() throws InterruptedException {
+        RateLimiter rateLimiter = new RateLimiter(16, Duration.ofMillis(50));
+        rateLimiter.tryAcquire("user:1", new RateLimit(5, 1000));
+        rateLimiter.tryAcquire("user:2", new RateLimit(1, 0.01));
+        assertEquals(2, rateLimiter.size());
+
+        Thread.sleep(100);
+        rateLimiter.evictIdle();
+
+        // user:2 still owes most of a 100s refill
+        assertEquals(1, rateLimiter.size());
+        assertTrue(rateLimiter.tryAcquire("user:2", new RateLimit(1, 0.01)) > 0);
+    }
+}
@@ -0,0 +1,92 @@
+package com.ticketing.apigateway.utils;
+
+import com.ticketing.common.revocation.RevocationList;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationWhichShouldBeStoredInEnvironmentVariablesInProduction";
+
+    private final RevocationList revocationList = new RevocationList(100, 0.01);
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, revocationList, 100, Duration.ofMinutes(5));
+
+    @Test
+    void parsesClaimsOnceAndServesRepeatsFromCache() {
+        String token = token(SECRET, new Date(System.currentTimeMillis() + 60_000));
+
+        JwtClaims claims = jwtUtil.parseToken(token);
+
+        assertEquals(42L, claims.userId());
+        assertEquals("alice", claims.username());
+        assertEquals("alice@example.com", claims.email());
+        assertEquals("Alice Smith", claims.fullName());
+        assertEquals("USER", claims.role());
+        assertFalse(jwtUtil.isTokenExpired(token));
+        assertSame(claims, jwtUtil.parseToken(token));
+    }
+
+    @Test
+    void rejectsExpiredAndForgedTokens() {
+        String expired = token(SECRET, new Date(System.currentTimeMillis() - 60_000));
+        String forged = token(SECRET.replace('m', 'n'), new Date(System.currentTimeMillis() + 60_000));
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseToken(expired));
+        assertThrows(JwtException.class, () -> jwtUtil.parseToken(forged));
+        assertFalse(jwtUtil.validateToken(forged));
+    }
+
+    @Test
+    void rejectsRevokedTokensEvenWhenCached() {
+        String token = token(SECRET, new Date(System.currentTimeMillis() + 60_000));
+        String other = token(SECRET, new Date(System.currentTimeMillis() + 120_000));
+        JwtClaims claims = jwtUtil.parseToken(token);
+
+        revocationList.revoke(claims.tokenId(), claims.expiresAt());
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseToken(token));
+        assertFalse(jwtUtil.validateToken(token));
+        assertEquals(42L, jwtUtil.parseToken(other).userId());
+    }
+
+    @Test
+    void readsClaimsFromBearerHeaders() {
+        String user = token(SECRET, new Date(System.currentTimeMillis() + 60_000));
+        String admin = token(SECRET, new Date(System.currentTimeMillis() + 60_000), "ADMIN");
+        String forged = token(SECRET.replace('m', 'n'), new Date(System.currentTimeMillis() + 60_000), "ADMIN");
+
+        assertEquals(42L, jwtUtil.bearerClaims("Bearer " + user).orElseThrow().userId());
+        assertTrue(jwtUtil.bearerClaims(user).isEmpty());
+        assertTrue(jwtUtil.bearerClaims(null).isEmpty());
+        assertTrue(jwtUtil.isAdmin("Bearer " + admin));
+        assertFalse(jwtUtil.isAdmin("Bearer " + user));
+        assertFalse(jwtUtil.isAdmin("Bearer " + forged));
+    }
+
+    private static String token(String secret, Date expiration) {
+        return token(secret, expiration, "USER");
+    }
+
+    private static String token(String secret, Date expiration, String role) {
+        return Jwts.builder()
+                .subject("alice")
+                .claim("userId", 42L)
+                .claim("email", "alice@example.com")
+                .claim("fullName", "Alice Smith")
+                .claim("role", role)
+                .expiration(expiration)
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes()))
+                .compact();
+    }
+}
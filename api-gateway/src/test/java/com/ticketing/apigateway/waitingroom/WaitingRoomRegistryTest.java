@@ -0,0 +1,89 @@
+package com.ticketing.apigateway.waitingroom;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WaitingRoomRegistryTest {
+
+    @Test
+    void admitsInJoinOrderAtTheAdmitRate() {
+        WaitingRoomRegistry registry = registry(null);
+        WaitingRoom room = registry.open(1L, 2);
+        QueueStatus first = registry.join(1L, 10L);
+        QueueStatus second = registry.join(1L, 11L);
+        QueueStatus third = registry.join(1L, 12L);
+
+        assertEquals(3, third.position());
+        assertEquals(2, third.etaSeconds());
+        assertEquals(first.token(), registry.join(1L, 10L).token());
+
+        room.admit(1.0);
+
+        assertTrue(registry.isAdmitted(first.token(), 1L, 10L));
+        assertTrue(registry.isAdmitted(second.token(), 1L, 11L));
+        assertFalse(registry.isAdmitted(third.token(), 1L, 12L));
+        assertEquals(1, registry.status(third.token()).orElseThrow().position());
+        // Tokens are bound to their user and event
+        assertFalse(registry.isAdmitted(first.token(), 1L, 11L));
+        assertFalse(registry.isAdmitted(first.token(), 2L, 10L));
+    }
+
+    @Test
+    void idleRoomDoesNotSaveUpABurst() {
+        WaitingRoom room = new WaitingRoom(1L, 5);
+        room.admit(60.0);
+        for (int i = 0; i < 20; i++) {
+            room.join();
+        }
+
+        assertEquals(5, room.admit(0.1));
+        assertEquals(15, room.waiting());
+    }
+
+    @Test
+    void restoresPlacesInLineFromSnapshot() {
+        InMemorySnapshotStore store = new InMemorySnapshotStore();
+        WaitingRoomRegistry before = registry(store);
+        before.open(1L, 1).admit(0);
+        before.join(1L, 10L);
+        QueueStatus second = before.join(1L, 11L);
+        before.snapshot();
+
+        WaitingRoomRegistry after = registry(store);
+        after.restore();
+
+        assertEquals(2, after.status(second.token()).orElseThrow().position());
+        assertEquals(3, after.join(1L, 12L).position());
+    }
+
+    private static WaitingRoomRegistry registry(WaitingRoomSnapshotStore store) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        if (store != null) {
+            beans.addBean("store", store);
+        }
+        return new WaitingRoomRegistry(beans.getBeanProvider(WaitingRoomSnapshotStore.class), Duration.ofMinutes(10));
+    }
+
+    private static class InMemorySnapshotStore implements WaitingRoomSnapshotStore {
+
+        private final AtomicReference<WaitingRoomSnapshot> snapshot = new AtomicReference<>();
+
+        @Override
+        public Optional<WaitingRoomSnapshot> load() {
+            return Optional.ofNullable(snapshot.get());
+        }
+
+        @Override
+        public void save(WaitingRoomSnapshot snapshot) {
+            this.snapshot.set(snapshot);
+        }
+    }
+}
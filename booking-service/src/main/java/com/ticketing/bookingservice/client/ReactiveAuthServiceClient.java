@@ -0,0 +1,115 @@
+package com.ticketing.bookingservice.client;
+
+import com.ticketing.bookingservice.config.CacheConfiguration;
+import com.ticketing.common.auth.AuthServiceCache;
+import com.ticketing.common.auth.AuthServiceClient;
+import com.ticketing.common.resilience.Fallbacks;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking counterpart of {@link AuthServiceCache} for the reactive reservation path. Shares its
+ * caches, and the circuit breaker and bulkhead of the Feign {@link AuthServiceClient}, and falls
+ * back to the same last known values while auth-service is unavailable.
+ */
+@Slf4j
+@Component
+@Profile("reactive")
+public class ReactiveAuthServiceClient {
+
+    private static final String SERVICE = "auth-service";
+
+    private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Duration timeout;
+    private final Cache userNames;
+    private final Cache validUsers;
+    private final Cache lastKnownUserNames;
+    private final Cache lastKnownValidUsers;
+
+    public ReactiveAuthServiceClient(WebClient.Builder reactiveWebClientBuilder,
+                                     CircuitBreakerRegistry circuitBreakerRegistry,
+                                     BulkheadRegistry bulkheadRegistry,
+                                     CacheManager cacheManager,
+                                     @Value("${remote-calls.timeout:3s}") Duration timeout) {
+        this.webClient = reactiveWebClientBuilder.baseUrl("http://" + SERVICE).build();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(SERVICE);
+        this.bulkhead = bulkheadRegistry.bulkhead(SERVICE);
+        this.timeout = timeout;
+        this.userNames = cacheManager.getCache(CacheConfiguration.USER_NAMES);
+        this.validUsers = cacheManager.getCache(CacheConfiguration.VALID_USERS);
+        this.lastKnownUserNames = cacheManager.getCache(CacheConfiguration.LAST_KNOWN_USER_NAMES);
+        this.lastKnownValidUsers = cacheManager.getCache(CacheConfiguration.LAST_KNOWN_VALID_USERS);
+    }
+
+    public Mono<Boolean> validateUser(Long userId) {
+        if (validUsers.get(userId) != null) {
+            return Mono.just(true);
+        }
+        return call(webClient.get().uri("/api/auth/validate-user/{userId}", userId)
+                .retrieve()
+                .bodyToMono(Boolean.class))
+                .doOnNext(exists -> {
+                    // Only positive answers are cached so newly registered users are seen immediately
+                    if (Boolean.TRUE.equals(exists)) {
+                        validUsers.put(userId, true);
+                        lastKnownValidUsers.put(userId, true);
+                    }
+                })
+                .onErrorResume(Fallbacks::isUnavailable, e -> {
+                    if (lastKnownValidUsers.get(userId) == null) {
+                        return Mono.error(e);
+                    }
+                    log.warn("auth-service unavailable ({}), treating user {} as valid from last known data",
+                            e.toString(), userId);
+                    return Mono.just(true);
+                });
+    }
+
+    /**
+     * @return the user's name, or empty when auth-service has none
+     */
+    public Mono<String> getUserName(Long userId) {
+        Cache.ValueWrapper cached = userNames.get(userId);
+        if (cached != null) {
+            return Mono.justOrEmpty((String) cached.get());
+        }
+        return call(webClient.get().uri("/api/auth/user/{userId}/name", userId)
+                .retrieve()
+                .bodyToMono(String.class))
+                .doOnNext(name -> {
+                    userNames.put(userId, name);
+                    lastKnownUserNames.put(userId, name);
+                })
+                .onErrorResume(Fallbacks::isUnavailable, e -> {
+                    Cache.ValueWrapper lastKnown = lastKnownUserNames.get(userId);
+                    if (lastKnown == null) {
+                        return Mono.error(e);
+                    }
+                    log.warn("auth-service unavailable ({}), serving last known name of user {}", e.toString(), userId);
+                    return Mono.justOrEmpty((String) lastKnown.get());
+                });
+    }
+
+    private <T> Mono<T> call(Mono<T> request) {
+        return request
+                .timeout(timeout)
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+}
@@ -0,0 +1,124 @@
+package com.ticketing.bookingservice.client;
+
+import com.ticketing.bookingservice.config.CacheConfiguration;
+import com.ticketing.common.resilience.Fallbacks;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking counterpart of {@link TicketServiceClient} and {@link TicketServiceCache} for the
+ * reactive reservation path. Shares their caches, and the circuit breakers and bulkheads of the
+ * Feign clients: reads those of {@link TicketServiceClient}, reserves and releases those of
+ * {@link TicketReservationClient}, with its longer timeout. Reads fall back to last known snapshots
+ * while ticket-service is unavailable; inventory changes are never faked.
+ */
+@Slf4j
+@Component
+@Profile("reactive")
+public class ReactiveTicketServiceClient {
+
+    private static final String SERVICE = "ticket-service";
+
+    private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Duration timeout;
+    private final CircuitBreaker reservationCircuitBreaker;
+    private final Bulkhead reservationBulkhead;
+    private final Duration reservationTimeout;
+    private final Cache tickets;
+    private final Cache lastKnownTickets;
+
+    public ReactiveTicketServiceClient(WebClient.Builder reactiveWebClientBuilder,
+                                       CircuitBreakerRegistry circuitBreakerRegistry,
+                                       BulkheadRegistry bulkheadRegistry,
+                                       CacheManager cacheManager,
+                                       @Value("${remote-calls.timeout:3s}") Duration timeout,
+                                       @Value("${spring.cloud.openfeign.client.config.ticket-reservations.read-timeout:10000}")
+                                       long reservationTimeoutMillis) {
+        this.webClient = reactiveWebClientBuilder.baseUrl("http://" + SERVICE).build();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(SERVICE);
+        this.bulkhead = bulkheadRegistry.bulkhead(SERVICE);
+        this.timeout = timeout;
+        this.reservationCircuitBreaker = circuitBreakerRegistry.circuitBreaker(TicketReservationClient.CONTEXT_ID);
+        this.reservationBulkhead = bulkheadRegistry.bulkhead(TicketReservationClient.CONTEXT_ID);
+        this.reservationTimeout = Duration.ofMillis(reservationTimeoutMillis);
+        this.tickets = cacheManager.getCache(CacheConfiguration.TICKETS);
+        this.lastKnownTickets = cacheManager.getCache(CacheConfiguration.LAST_KNOWN_TICKETS);
+    }
+
+    /**
+     * Current ticket from ticket-service, as used for admission.
+     *
+     * @return the ticket, or empty when it does not exist
+     */
+    public Mono<TicketServiceClient.TicketDTO> getTicketById(Long ticketId) {
+        return call(webClient.get().uri("/api/tickets/{id}", ticketId)
+                .retrieve()
+                .bodyToMono(TicketServiceClient.TicketDTO.class))
+                .doOnNext(ticket -> lastKnownTickets.put(ticketId, ticket))
+                .onErrorResume(Fallbacks::isUnavailable, e -> {
+                    TicketServiceClient.TicketDTO lastKnown =
+                            lastKnownTickets.get(ticketId, TicketServiceClient.TicketDTO.class);
+                    if (lastKnown == null) {
+                        return Mono.error(e);
+                    }
+                    log.warn("ticket-service unavailable ({}), serving last known snapshot of ticket {}",
+                            e.toString(), ticketId);
+                    return Mono.just(lastKnown);
+                });
+    }
+
+    /**
+     * Ticket metadata for enriching bookings, from the near-cache when present.
+     */
+    public Mono<TicketServiceClient.TicketDTO> getCachedTicketById(Long ticketId) {
+        TicketServiceClient.TicketDTO cached = tickets.get(ticketId, TicketServiceClient.TicketDTO.class);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return getTicketById(ticketId).doOnNext(ticket -> tickets.put(ticketId, ticket));
+    }
+
+    public Mono<Void> reserveTickets(Long ticketId, Integer quantity) {
+        return reservationCall(webClient.put().uri("/internal/tickets/{id}/reserve?quantity={quantity}", ticketId, quantity)
+                .retrieve()
+                .toBodilessEntity())
+                .then();
+    }
+
+    public Mono<Void> releaseTickets(Long ticketId, Integer quantity) {
+        return reservationCall(webClient.put().uri("/internal/tickets/{id}/release?quantity={quantity}", ticketId, quantity)
+                .retrieve()
+                .toBodilessEntity())
+                .then();
+    }
+
+    private <T> Mono<T> call(Mono<T> request) {
+        return request
+                .timeout(timeout)
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    private <T> Mono<T> reservationCall(Mono<T> request) {
+        return request
+                .timeout(reservationTimeout)
+                .transformDeferred(BulkheadOperator.of(reservationBulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(reservationCircuitBreaker));
+    }
+}
@@ -0,0 +1,85 @@
+package com.ticketing.bookingservice.client;
+
+import com.ticketing.common.threads.VirtualThreads;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent remote calls concurrently, so an operation that needs several services waits
+ * for the slowest call instead of the sum of all of them. Calls run on a bounded pool; once it and
+ * its queue are full, further calls run on the caller's thread. With virtual threads each call gets
+ * a virtual thread of its own instead, leaving the per-service bulkheads as the only bound. Every
+ * call has its own timeout, on top of the Feign client's own timeouts.
+ */
+@Component
+public class RemoteCalls {
+
+    private final Executor executor;
+    private final Duration timeout;
+
+    public RemoteCalls(@Value("${remote-calls.pool-size:32}") int poolSize,
+                       @Value("${remote-calls.queue-capacity:256}") int queueCapacity,
+                       @Value("${remote-calls.timeout:3s}") Duration timeout,
+                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (VirtualThreads.enabled(virtualThreads)) {
+            this.executor = VirtualThreads.executor("remote-call-", SimpleAsyncTaskExecutor.UNBOUNDED_CONCURRENCY);
+        } else {
+            AtomicInteger threadNumber = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "remote-call-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            pool.allowCoreThreadTimeOut(true);
+            this.executor = pool;
+        }
+        this.timeout = timeout;
+    }
+
+    /**
+     * Starts the call; the result completes exceptionally with a {@link java.util.concurrent.TimeoutException}
+     * if it takes longer than the configured timeout.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Waits for a call started by {@link #submit}, rethrowing the call's own exception when it failed.
+     */
+    public static <T> T join(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ThreadPoolExecutor pool) {
+            pool.shutdownNow();
+        } else if (executor instanceof SimpleAsyncTaskExecutor virtualThreads) {
+            virtualThreads.close();
+        }
+    }
+}
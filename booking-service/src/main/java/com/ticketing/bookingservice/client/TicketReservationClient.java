@@ -0,0 +1,25 @@
+package com.ticketing.bookingservice.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Inventory changes on ticket-service, kept apart from the reads in {@link TicketServiceClient}
+ * under their own {@code contextId}: they get a longer read timeout, since a reserve that times out
+ * after ticket-service committed it holds seats no booking accounts for, and their own circuit
+ * breaker and bulkhead, so a burst of ticket lookups cannot take the permits reservations need.
+ */
+@FeignClient(name = "ticket-service", contextId = TicketReservationClient.CONTEXT_ID,
+        fallbackFactory = TicketReservationFallbackFactory.class)
+public interface TicketReservationClient {
+
+    String CONTEXT_ID = "ticket-reservations";
+
+    @PutMapping("/internal/tickets/{id}/reserve")
+    void reserveTickets(@PathVariable("id") Long ticketId, @RequestParam Integer quantity);
+
+    @PutMapping("/internal/tickets/{id}/release")
+    void releaseTickets(@PathVariable("id") Long ticketId, @RequestParam Integer quantity);
+}
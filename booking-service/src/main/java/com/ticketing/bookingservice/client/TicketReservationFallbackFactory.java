@@ -0,0 +1,30 @@
+package com.ticketing.bookingservice.client;
+
+import com.ticketing.common.resilience.Fallbacks;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inventory changes cannot be deferred or faked: {@link TicketReservationClient} calls always fail
+ * with the original error, without the circuit breaker's wrapping, so callers can tell a refusal
+ * (4xx) from ticket-service being unavailable.
+ */
+@Component
+public class TicketReservationFallbackFactory implements FallbackFactory<TicketReservationClient> {
+
+    @Override
+    public TicketReservationClient create(Throwable cause) {
+        return new TicketReservationClient() {
+
+            @Override
+            public void reserveTickets(Long ticketId, Integer quantity) {
+                throw Fallbacks.propagate(cause);
+            }
+
+            @Override
+            public void releaseTickets(Long ticketId, Integer quantity) {
+                throw Fallbacks.propagate(cause);
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.ticketing.bookingservice.client;
+
+import com.ticketing.bookingservice.config.CacheConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Near-cache in front of {@link TicketServiceClient} for ticket metadata used to enrich bookings.
+ * Entries are evicted by ticket-service when a ticket is updated or deleted. Fetched tickets are
+ * also kept as last known snapshots for {@link TicketServiceFallbackFactory}.
+ */
+@Component
+public class TicketServiceCache {
+
+    private final TicketServiceClient ticketServiceClient;
+    private final Cache tickets;
+    private final Cache lastKnownTickets;
+
+    public TicketServiceCache(TicketServiceClient ticketServiceClient, CacheManager cacheManager) {
+        this.ticketServiceClient = ticketServiceClient;
+        this.tickets = cacheManager.getCache(CacheConfiguration.TICKETS);
+        this.lastKnownTickets = cacheManager.getCache(CacheConfiguration.LAST_KNOWN_TICKETS);
+    }
+
+    public TicketServiceClient.TicketDTO getTicketById(Long ticketId) {
+        return tickets.get(ticketId, () -> {
+            TicketServiceClient.TicketDTO ticket = ticketServiceClient.getTicketById(ticketId);
+            if (ticket != null) {
+                lastKnownTickets.put(ticketId, ticket);
+            }
+            return ticket;
+        });
+    }
+
+    /**
+     * Returns cached tickets and fetches only the missing IDs in one bulk call.
+     */
+    public List<TicketServiceClient.TicketDTO> getTicketsByIds(Set<Long> ticketIds) {
+        List<TicketServiceClient.TicketDTO> result = new ArrayList<>(ticketIds.size());
+        Set<Long> missing = new HashSet<>();
+        for (Long ticketId : ticketIds) {
+            TicketServiceClient.TicketDTO cached = tickets.get(ticketId, TicketServiceClient.TicketDTO.class);
+            if (cached != null) {
+                result.add(cached);
+            } else {
+                missing.add(ticketId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (TicketServiceClient.TicketDTO ticket : ticketServiceClient.getTicketsByIds(missing)) {
+                tickets.put(ticket.id(), ticket);
+                lastKnownTickets.put(ticket.id(), ticket);
+                result.add(ticket);
+            }
+        }
+        return result;
+    }
+
+    public void evict(Long ticketId) {
+        tickets.evict(ticketId);
+    }
+}
@@ -3,25 +3,27 @@ package com.ticketing.bookingservice.client;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.PutMapping;
-import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
 
-@FeignClient(name = "ticket-service")
+/**
+ * Ticket reads; reserving and releasing seats go through {@link TicketReservationClient}.
+ */
+@FeignClient(name = "ticket-service", fallbackFactory = TicketServiceFallbackFactory.class)
 public interface TicketServiceClient {
 
     @GetMapping("/api/tickets/{id}")
     TicketDTO getTicketById(@PathVariable("id") Long id);
 
-    @GetMapping("/api/tickets/available")
-    java.util.List<TicketDTO> getAvailableTickets();
-
-    @PutMapping("/api/tickets/{id}/reserve")
-    void reserveTickets(@PathVariable("id") Long ticketId, @RequestParam Integer quantity);
+    @PostMapping("/api/tickets/batch")
+    List<TicketDTO> getTicketsByIds(@RequestBody Set<Long> ids);
 
-    @PutMapping("/api/tickets/{id}/release")
-    void releaseTickets(@PathVariable("id") Long ticketId, @RequestParam Integer quantity);
+    @GetMapping("/api/tickets/available")
+    List<TicketDTO> getAvailableTickets();
 
     // DTO for ticket information
     record TicketDTO(
@@ -31,6 +33,8 @@ public interface TicketServiceClient {
         String venue,
         BigDecimal price,
         Boolean available,
+        Integer capacity,
+        Integer remaining,
         Long userId
     ) {}
 }
\ No newline at end of file
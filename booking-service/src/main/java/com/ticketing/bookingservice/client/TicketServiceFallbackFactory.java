@@ -0,0 +1,48 @@
+package com.ticketing.bookingservice.client;
+
+import com.ticketing.bookingservice.config.CacheConfiguration;
+import com.ticketing.common.resilience.Fallbacks;
+import com.ticketing.common.resilience.LastKnownValues;
+import org.springframework.cache.CacheManager;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Answers {@link TicketServiceClient} reads from the last known ticket snapshots while
+ * ticket-service is unavailable.
+ */
+@Component
+public class TicketServiceFallbackFactory implements FallbackFactory<TicketServiceClient> {
+
+    private final LastKnownValues<Long, TicketServiceClient.TicketDTO> lastKnownTickets;
+
+    public TicketServiceFallbackFactory(CacheManager cacheManager) {
+        this.lastKnownTickets = new LastKnownValues<>(cacheManager.getCache(CacheConfiguration.LAST_KNOWN_TICKETS),
+                TicketServiceClient.TicketDTO.class, "ticket-service", "ticket snapshot");
+    }
+
+    @Override
+    public TicketServiceClient create(Throwable cause) {
+        return new TicketServiceClient() {
+
+            @Override
+            public TicketDTO getTicketById(Long id) {
+                return lastKnownTickets.get(cause, id);
+            }
+
+            @Override
+            public List<TicketDTO> getTicketsByIds(Set<Long> ids) {
+                return new ArrayList<>(lastKnownTickets.getAll(cause, ids).values());
+            }
+
+            @Override
+            public List<TicketDTO> getAvailableTickets() {
+                throw Fallbacks.propagate(cause);
+            }
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.ticketing.bookingservice.config;
+
+import java.security.Principal;
+
+/**
+ * The principal {@link JwtAuthenticationFilter} authenticates requests as, taken from the verified
+ * token or gateway identity. Handlers acting for the caller use its ID rather than one sent in the
+ * request body.
+ */
+public record AuthenticatedUser(Long id, String username, String role) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,13 +1,15 @@
 package com.ticketing.bookingservice.config;
 
-import com.ticketing.bookingservice.client.AuthServiceClient;
-import com.ticketing.bookingservice.dto.UserDTO;
+import com.ticketing.common.identity.GatewayIdentity;
+import com.ticketing.common.identity.GatewayIdentityVerifier;
+import com.ticketing.common.identity.TokenVerifier;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,34 +24,41 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final AuthServiceClient authServiceClient;
+    private final TokenVerifier tokenVerifier;
+    private final GatewayIdentityVerifier gatewayIdentityVerifier;
+
+    @Value("${jwt.trust-gateway-headers:false}")
+    private boolean trustGatewayHeaders;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
-        String authHeader = request.getHeader("Authorization");
+        GatewayIdentity identity = null;
 
+        String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            // A bearer token is always verified; the identity header cannot stand in for a bad one
             String token = authHeader.substring(7);
 
             try {
-                UserDTO userDTO = authServiceClient.validateToken("Bearer " + token);
-
-                if (userDTO != null) {
-                    String username = userDTO.getUsername();
-                    String role = userDTO.getRole();
-
-                    var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-                    var authentication =
-                            new UsernamePasswordAuthenticationToken(username, null, authorities);
-
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    log.debug("Authenticated user {} with role {}", username, role);
-                }
+                identity = tokenVerifier.verify(token);
             } catch (Exception e) {
                 log.error("JWT validation failed", e);
             }
+        } else if (trustGatewayHeaders) {
+            identity = gatewayIdentityVerifier.verify(request.getHeader(GatewayIdentityVerifier.HEADER));
+        }
+
+        if (identity != null) {
+            var principal = new AuthenticatedUser(identity.userId(), identity.username(), identity.role());
+
+            var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + principal.role()));
+            var authentication =
+                    new UsernamePasswordAuthenticationToken(principal, null, authorities);
+
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            log.debug("Authenticated user {} with role {}", principal.username(), principal.role());
         }
 
         filterChain.doFilter(request, response);
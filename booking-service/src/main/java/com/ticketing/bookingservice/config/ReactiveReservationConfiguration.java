@@ -0,0 +1,86 @@
+package com.ticketing.bookingservice.config;
+
+import io.netty.channel.ChannelOption;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking database and HTTP clients for the reactive reservation path (profile "reactive").
+ * Both are bounded: callers wait at most a short time for a pooled connection and fail after that,
+ * so load beyond what the database and the remote services can take is shed instead of queued.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveReservationConfiguration {
+
+    public ReactiveReservationConfiguration(@Value("${booking.write-behind.enabled:false}") boolean writeBehindEnabled) {
+        // Bookings written by the reactive path go straight to the database, past the write-behind journal
+        if (writeBehindEnabled) {
+            throw new IllegalStateException("The reactive profile requires booking.write-behind.enabled=false");
+        }
+    }
+
+    // Kept out of the context: a ConnectionFactory bean would make Boot back off from configuring
+    // the JDBC DataSource that everything else uses
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(@Value("${reactive.r2dbc.url}") String url,
+                                                 @Value("${spring.datasource.username}") String username,
+                                                 @Value("${spring.datasource.password}") String password,
+                                                 @Value("${reactive.r2dbc.pool.initial-size:5}") int initialSize,
+                                                 @Value("${reactive.r2dbc.pool.max-size:20}") int maxSize,
+                                                 @Value("${reactive.r2dbc.pool.max-acquire-time:2s}") Duration maxAcquireTime) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("booking-r2dbc")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    public void closeConnectionPool() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder reactiveWebClientBuilder(@Value("${reactive.web-client.max-connections:500}") int maxConnections,
+                                                      @Value("${reactive.web-client.pending-acquire-max-count:1000}") int pendingAcquireMaxCount,
+                                                      @Value("${reactive.web-client.pending-acquire-timeout:1s}") Duration pendingAcquireTimeout,
+                                                      @Value("${spring.cloud.openfeign.client.config.default.connect-timeout:500}") int connectTimeoutMillis,
+                                                      @Value("${spring.cloud.openfeign.client.config.default.read-timeout:2000}") long readTimeoutMillis) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("booking-web-client")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .responseTimeout(Duration.ofMillis(readTimeoutMillis));
+        return WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient));
+    }
+}
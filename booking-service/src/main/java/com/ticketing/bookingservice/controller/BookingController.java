@@ -1,18 +1,22 @@
 package com.ticketing.bookingservice.controller;
 
-import com.ticketing.bookingservice.dto.BookingCreateDTO;
 import com.ticketing.bookingservice.dto.BookingDTO;
 import com.ticketing.bookingservice.service.BookingService;
-import jakarta.validation.Valid;
+import com.ticketing.common.pagination.KeysetResponses;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+/**
+ * Booking endpoints; reserve and confirm are served by {@link ReservationController} or, under the
+ * "reactive" profile, {@link ReactiveReservationController}.
+ */
 @RestController
 @RequestMapping("/api/bookings")
 @RequiredArgsConstructor
@@ -20,35 +24,7 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
-
-    @PostMapping("/reserve")
-    public ResponseEntity<BookingDTO> reserveBooking(@Valid @RequestBody BookingCreateDTO createDTO) {
-        try {
-            BookingDTO booking = bookingService.reserveBooking(createDTO);
-            return ResponseEntity.status(HttpStatus.CREATED).body(booking);
-        } catch (IllegalArgumentException e) {
-            log.error("Failed to reserve booking: {} - {}", createDTO, e.getMessage());
-            return ResponseEntity.badRequest().build();
-        } catch (Exception e) {
-            log.error("Unexpected error while reserving booking", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
-    }
-
-    @PostMapping("/{id}/confirm")
-    public ResponseEntity<BookingDTO> confirmBooking(@PathVariable Long id) {
-
-        try {
-            BookingDTO booking = bookingService.confirmBooking(id);
-            return ResponseEntity.ok(booking);
-        } catch (IllegalArgumentException e) {
-            log.error("Failed to confirm booking: {}", e.getMessage());
-            return ResponseEntity.badRequest().build();
-        } catch (Exception e) {
-            log.error("Unexpected error while confirming booking", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
-    }
+    private final KeysetResponses keysetResponses;
 
     @PostMapping("/{id}/cancel")
     public ResponseEntity<BookingDTO> cancelBooking(@PathVariable Long id) {
@@ -79,30 +55,64 @@ public class BookingController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<BookingDTO>> getUserBookings(@PathVariable Long userId) {
+    public ResponseEntity<List<BookingDTO>> getUserBookings(@PathVariable Long userId,
+                                                            @RequestParam(required = false) Long before,
+                                                            @RequestParam(required = false) Integer limit) {
         log.info("Received request to get bookings for user ID: {}", userId);
         try {
+            // Newest first, so the cursor pages backwards
+            if (limit != null) {
+                return keysetResponses.page((cursor, size) -> bookingService.getUserBookingsPage(userId, cursor, size),
+                        before, limit, BookingDTO::getId);
+            }
             List<BookingDTO> bookings = bookingService.getUserBookings(userId);
             return ResponseEntity.ok(bookings);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid bookings page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Failed to fetch bookings for user ID: {}", userId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    @GetMapping(value = "/user/{userId}", produces = KeysetResponses.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUserBookings(@PathVariable Long userId) {
+        log.info("Received request to export bookings for user ID: {}", userId);
+        return keysetResponses.stream((cursor, size) -> bookingService.getUserBookingsPage(userId, cursor, size),
+                BookingDTO::getId);
+    }
+
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<BookingDTO>> getBookingsByStatus(@PathVariable String status) {
+    public ResponseEntity<List<BookingDTO>> getBookingsByStatus(@PathVariable String status,
+                                                                @RequestParam(required = false) Long after,
+                                                                @RequestParam(required = false) Integer limit) {
         log.info("Received request to get bookings with status: {}", status);
         try {
+            if (limit != null) {
+                return keysetResponses.page((cursor, size) -> bookingService.getBookingsByStatusPage(status, cursor, size),
+                        after, limit, BookingDTO::getId);
+            }
             List<BookingDTO> bookings = bookingService.getBookingsByStatus(status);
             return ResponseEntity.ok(bookings);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid bookings page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Failed to fetch bookings with status: {}", status, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    @GetMapping(value = "/status/{status}", produces = KeysetResponses.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBookingsByStatus(@PathVariable String status) {
+        log.info("Received request to export bookings with status: {}", status);
+        return keysetResponses.stream((cursor, size) -> bookingService.getBookingsByStatusPage(status, cursor, size),
+                BookingDTO::getId);
+    }
+
     @PostMapping("/process-expired")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> processExpiredReservations() {
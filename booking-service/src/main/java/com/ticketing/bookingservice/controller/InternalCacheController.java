@@ -0,0 +1,30 @@
+package com.ticketing.bookingservice.controller;
+
+import com.ticketing.bookingservice.client.TicketServiceCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Cache eviction called by ticket-service on each booking-service instance directly. It lives
+ * outside {@code /api} so the gateway, which only routes {@code /api/**}, never exposes it.
+ */
+@RestController
+@RequestMapping("/internal/cache")
+@RequiredArgsConstructor
+@Slf4j
+public class InternalCacheController {
+
+    private final TicketServiceCache ticketServiceCache;
+
+    @DeleteMapping("/tickets/{ticketId}")
+    public ResponseEntity<Void> evictCachedTicket(@PathVariable Long ticketId) {
+        log.debug("Evicting cached ticket with ID: {}", ticketId);
+        ticketServiceCache.evict(ticketId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.ticketing.bookingservice.controller;
+
+import com.ticketing.bookingservice.config.AuthenticatedUser;
+import com.ticketing.bookingservice.dto.BookingCreateDTO;
+import com.ticketing.bookingservice.dto.BookingDTO;
+import com.ticketing.bookingservice.service.IdempotentReservations;
+import com.ticketing.bookingservice.service.ReactiveReservationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reserve and confirm on the reactive path (profile "reactive"): same requests, responses and
+ * status codes as {@link ReservationController}, without holding a thread while waiting on the
+ * database or remote services.
+ */
+@RestController
+@RequestMapping("/api/bookings")
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveReservationController {
+
+    private final ReactiveReservationService reactiveReservationService;
+    private final IdempotentReservations idempotentReservations;
+
+    @PostMapping("/reserve")
+    public Mono<ResponseEntity<BookingDTO>> reserveBooking(@Valid @RequestBody BookingCreateDTO createDTO,
+                                                           @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                           @AuthenticationPrincipal AuthenticatedUser user) {
+        // Keys are scoped to the caller, so they need to know who that is
+        if (idempotencyKey != null && user == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        Mono<BookingDTO> reservation = idempotentReservations.reserveReactive(idempotencyKey,
+                user != null ? user.id() : null, createDTO, reactiveReservationService::reserveBooking);
+
+        return reservation
+                .map(booking -> ResponseEntity.status(HttpStatus.CREATED).body(booking))
+                .onErrorResume(IllegalArgumentException.class, e -> {
+                    log.error("Failed to reserve booking: {} - {}", createDTO, e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                })
+                .onErrorResume(IllegalStateException.class, e -> {
+                    log.warn("Conflicting retry of reservation {}: {}", idempotencyKey, e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).build());
+                })
+                .onErrorResume(e -> {
+                    log.error("Unexpected error while reserving booking", e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                });
+    }
+
+    @PostMapping("/{id}/confirm")
+    public Mono<ResponseEntity<BookingDTO>> confirmBooking(@PathVariable Long id) {
+        return reactiveReservationService.confirmBooking(id)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> {
+                    log.error("Failed to confirm booking: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                })
+                .onErrorResume(e -> {
+                    log.error("Unexpected error while confirming booking", e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                });
+    }
+}
@@ -0,0 +1,64 @@
+package com.ticketing.bookingservice.controller;
+
+import com.ticketing.bookingservice.config.AuthenticatedUser;
+import com.ticketing.bookingservice.dto.BookingCreateDTO;
+import com.ticketing.bookingservice.dto.BookingDTO;
+import com.ticketing.bookingservice.service.BookingService;
+import com.ticketing.bookingservice.service.IdempotentReservations;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/bookings")
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationController {
+
+    private final BookingService bookingService;
+    private final IdempotentReservations idempotentReservations;
+
+    @PostMapping("/reserve")
+    public ResponseEntity<BookingDTO> reserveBooking(@Valid @RequestBody BookingCreateDTO createDTO,
+                                                     @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                     @AuthenticationPrincipal AuthenticatedUser user) {
+        // Keys are scoped to the caller, so they need to know who that is
+        if (idempotencyKey != null && user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            BookingDTO booking = idempotentReservations.reserve(idempotencyKey, user != null ? user.id() : null, createDTO);
+            return ResponseEntity.status(HttpStatus.CREATED).body(booking);
+        } catch (IllegalArgumentException e) {
+            log.error("Failed to reserve booking: {} - {}", createDTO, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            log.warn("Conflicting retry of reservation {}: {}", idempotencyKey, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            log.error("Unexpected error while reserving booking", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<BookingDTO> confirmBooking(@PathVariable Long id) {
+
+        try {
+            BookingDTO booking = bookingService.confirmBooking(id);
+            return ResponseEntity.ok(booking);
+        } catch (IllegalArgumentException e) {
+            log.error("Failed to confirm booking: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Unexpected error while confirming booking", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
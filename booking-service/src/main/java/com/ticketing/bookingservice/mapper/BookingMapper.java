@@ -0,0 +1,46 @@
+package com.ticketing.bookingservice.mapper;
+
+import com.ticketing.bookingservice.client.TicketServiceClient;
+import com.ticketing.bookingservice.dto.BookingDTO;
+import com.ticketing.bookingservice.model.Booking;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the {@link BookingDTO} returned by both the blocking and the reactive reservation paths,
+ * so their output stays identical.
+ */
+@Component
+public class BookingMapper {
+
+    public static final String UNKNOWN_USER = "Unknown User";
+
+    public BookingDTO toDTO(Booking booking) {
+        BookingDTO dto = new BookingDTO();
+        dto.setId(booking.getId());
+        dto.setUserId(booking.getUserId());
+        dto.setTicketId(booking.getTicketId());
+        dto.setQuantity(booking.getQuantity());
+        dto.setTotalAmount(booking.getTotalAmount());
+        dto.setStatus(booking.getStatus());
+        dto.setBookingDate(booking.getBookingDate());
+        dto.setExpiryDate(booking.getExpiryDate());
+        dto.setConfirmedDate(booking.getConfirmedDate());
+        dto.setCancelledDate(booking.getCancelledDate());
+        dto.setCreatedAt(booking.getCreatedAt());
+        dto.setUpdatedAt(booking.getUpdatedAt());
+        return dto;
+    }
+
+    public void applyTicketDetails(BookingDTO dto, TicketServiceClient.TicketDTO ticket) {
+        if (ticket != null) {
+            dto.setTicketName(ticket.eventName() + " - " + ticket.venue());
+            dto.setEventName(ticket.eventName());
+            dto.setUnitPrice(ticket.price());
+        }
+    }
+
+    public void applyUnknownTicket(BookingDTO dto) {
+        dto.setTicketName("Unknown Ticket");
+        dto.setEventName("Unknown Event");
+    }
+}
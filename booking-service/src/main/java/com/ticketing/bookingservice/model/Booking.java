@@ -6,12 +6,17 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_status_expiry_date", columnList = "status, expiry_date"),
+        @Index(name = "idx_bookings_user_id_id", columnList = "user_id, id"),
+        @Index(name = "idx_bookings_status_id", columnList = "status, id")
+})
 @Data
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_id")
+    @SequenceGenerator(name = "booking_id", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
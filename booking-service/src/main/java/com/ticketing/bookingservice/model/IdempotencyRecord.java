@@ -0,0 +1,29 @@
+package com.ticketing.bookingservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * A client-supplied Idempotency-Key claimed by a reservation. The booking ID is null while the
+ * reservation is still in progress.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+@Data
+public class IdempotencyRecord {
+
+    @Id
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private String requestFingerprint;
+
+    @Column
+    private Long bookingId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
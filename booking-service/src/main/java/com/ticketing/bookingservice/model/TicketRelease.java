@@ -0,0 +1,37 @@
+package com.ticketing.bookingservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Seats to be returned to ticket-service, kept until ticket-service has taken them back. Written in
+ * the same statement that expires the bookings, so a failed or interrupted release is retried
+ * instead of lost.
+ */
+@Entity
+@Table(name = "ticket_releases", indexes = {
+        @Index(name = "idx_ticket_releases_next_attempt_at", columnList = "next_attempt_at")
+})
+@Data
+public class TicketRelease {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long ticketId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
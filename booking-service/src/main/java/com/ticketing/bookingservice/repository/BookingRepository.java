@@ -1,6 +1,7 @@
 package com.ticketing.bookingservice.repository;
 
 import com.ticketing.bookingservice.model.Booking;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -20,9 +21,16 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     List<Booking> findByUserIdAndStatus(Long userId, String status);
 
+    List<Booking> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long beforeId, Limit limit);
+
+    List<Booking> findByStatusAndIdGreaterThanOrderByIdAsc(String status, Long afterId, Limit limit);
+
     @Query("SELECT b FROM Booking b WHERE b.expiryDate < :currentDate AND b.status = 'RESERVED'")
     List<Booking> findExpiredReservations(@Param("currentDate") LocalDateTime currentDate);
 
+    @Query("SELECT b.id, b.expiryDate FROM Booking b WHERE b.expiryDate >= :currentDate AND b.status = 'RESERVED'")
+    List<Object[]> findPendingReservationExpiries(@Param("currentDate") LocalDateTime currentDate);
+
     @Query("SELECT b FROM Booking b WHERE b.userId = :userId ORDER BY b.bookingDate DESC")
     List<Booking> findBookingHistoryByUserId(@Param("userId") Long userId);
 
@@ -33,4 +41,22 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Long sumQuantityByTicketIdAndActiveStatus(@Param("ticketId") Long ticketId);
 
     boolean existsByUserIdAndTicketIdAndStatus(Long userId, Long ticketId, String status);
+
+    @Query("SELECT b.userId FROM Booking b WHERE b.ticketId = :ticketId AND b.status = 'RESERVED'")
+    List<Long> findReservedUserIdsByTicketId(@Param("ticketId") Long ticketId);
+
+    @Query("SELECT b.ticketId, SUM(b.quantity) FROM Booking b WHERE b.status IN ('RESERVED', 'CONFIRMED') GROUP BY b.ticketId")
+    List<Object[]> sumActiveQuantityGroupedByTicketId();
+
+    @Query("SELECT b.ticketId, b.userId FROM Booking b WHERE b.status = 'RESERVED'")
+    List<Object[]> findReservedTicketHolders();
+
+    @Query(value = "SELECT nextval('bookings_seq')", nativeQuery = true)
+    long nextIdBlock();
+
+    // Moves the ID sequence past rows created before bookings used it (or on a fresh sequence)
+    @Query(value = "SELECT CASE WHEN s.last_value <= m.max_id OR NOT s.is_called "
+            + "THEN setval('bookings_seq', GREATEST(m.max_id + 1, :allocationSize)) ELSE s.last_value END "
+            + "FROM bookings_seq s, (SELECT COALESCE(MAX(id), 0) AS max_id FROM bookings) m", nativeQuery = true)
+    long alignIdSequence(@Param("allocationSize") int allocationSize);
 }
\ No newline at end of file
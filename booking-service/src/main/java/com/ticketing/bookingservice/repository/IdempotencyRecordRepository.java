@@ -0,0 +1,41 @@
+package com.ticketing.bookingservice.repository;
+
+import com.ticketing.bookingservice.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Returns 0 when the key is already claimed, by this or another instance
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_fingerprint, created_at) "
+            + "VALUES (:key, :fingerprint, :createdAt) ON CONFLICT (idempotency_key) DO NOTHING", nativeQuery = true)
+    int claim(@Param("key") String key, @Param("fingerprint") String fingerprint,
+              @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.bookingId = :bookingId WHERE r.idempotencyKey = :key")
+    int complete(@Param("key") String key, @Param("bookingId") Long bookingId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.bookingId IS NULL")
+    int releaseClaim(@Param("key") String key);
+
+    // Completed keys are kept until they expire; abandoned claims only until the pending timeout
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :completedBefore "
+            + "OR (r.bookingId IS NULL AND r.createdAt < :pendingBefore)")
+    int deleteExpired(@Param("completedBefore") LocalDateTime completedBefore,
+                      @Param("pendingBefore") LocalDateTime pendingBefore);
+}
@@ -0,0 +1,151 @@
+package com.ticketing.bookingservice.repository;
+
+import com.ticketing.bookingservice.model.Booking;
+import com.ticketing.bookingservice.service.BookingWriteBehind;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * R2DBC access to the bookings table for the reactive reservation path. IDs come from the same
+ * sequence, in the same blocks, as the JPA mapping of {@link Booking}. Status changes only apply
+ * to bookings still in the expected status, so they cannot overwrite a concurrent expiry.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveBookingRepository {
+
+    private static final String COLUMNS = "id, user_id, ticket_id, quantity, total_amount, status, booking_date, "
+            + "expiry_date, confirmed_date, cancelled_date, created_at, updated_at";
+
+    private final DatabaseClient databaseClient;
+
+    private final AtomicReference<IdBlock> idBlock = new AtomicReference<>(new IdBlock(0, -1));
+
+    public ReactiveBookingRepository(DatabaseClient reactiveDatabaseClient) {
+        this.databaseClient = reactiveDatabaseClient;
+    }
+
+    public Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            IdBlock block = idBlock.get();
+            long id = block.next().getAndIncrement();
+            if (id <= block.max()) {
+                return Mono.just(id);
+            }
+            return nextIdBlock()
+                    .doOnNext(max -> idBlock.compareAndSet(block,
+                            new IdBlock(max - BookingWriteBehind.ID_ALLOCATION_SIZE + 1, max)))
+                    .then(nextId());
+        });
+    }
+
+    public Mono<Booking> insert(Booking booking) {
+        LocalDateTime now = LocalDateTime.now();
+        booking.setCreatedAt(now);
+        booking.setUpdatedAt(now);
+        if (booking.getBookingDate() == null) {
+            booking.setBookingDate(now);
+        }
+        return nextId()
+                .flatMap(id -> {
+                    booking.setId(id);
+                    return databaseClient.sql("INSERT INTO bookings (id, user_id, ticket_id, quantity, total_amount, "
+                                    + "status, booking_date, expiry_date, created_at, updated_at) VALUES (:id, :userId, "
+                                    + ":ticketId, :quantity, :totalAmount, :status, :bookingDate, :expiryDate, :createdAt, :updatedAt)")
+                            .bind("id", id)
+                            .bind("userId", booking.getUserId())
+                            .bind("ticketId", booking.getTicketId())
+                            .bind("quantity", booking.getQuantity())
+                            .bind("totalAmount", booking.getTotalAmount())
+                            .bind("status", booking.getStatus())
+                            .bind("bookingDate", booking.getBookingDate())
+                            .bind("expiryDate", booking.getExpiryDate())
+                            .bind("createdAt", booking.getCreatedAt())
+                            .bind("updatedAt", booking.getUpdatedAt())
+                            .then();
+                })
+                .thenReturn(booking);
+    }
+
+    public Mono<Booking> findById(Long bookingId) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM bookings WHERE id = :id")
+                .bind("id", bookingId)
+                .map(ReactiveBookingRepository::toBooking)
+                .one();
+    }
+
+    /**
+     * Confirms a booking that is still RESERVED.
+     *
+     * @return whether the booking was confirmed
+     */
+    public Mono<Boolean> confirm(Long bookingId, LocalDateTime confirmedDate) {
+        return databaseClient.sql("UPDATE bookings SET status = 'CONFIRMED', confirmed_date = :confirmedDate, "
+                        + "updated_at = :updatedAt WHERE id = :id AND status = 'RESERVED'")
+                .bind("confirmedDate", confirmedDate)
+                .bind("updatedAt", confirmedDate)
+                .bind("id", bookingId)
+                .fetch()
+                .rowsUpdated()
+                .map(updated -> updated > 0);
+    }
+
+    /**
+     * Expires a booking that is still RESERVED.
+     *
+     * @return whether the booking was expired by this call
+     */
+    public Mono<Boolean> expire(Long bookingId) {
+        return databaseClient.sql("UPDATE bookings SET status = 'EXPIRED', updated_at = :updatedAt "
+                        + "WHERE id = :id AND status = 'RESERVED'")
+                .bind("updatedAt", LocalDateTime.now())
+                .bind("id", bookingId)
+                .fetch()
+                .rowsUpdated()
+                .map(updated -> updated > 0);
+    }
+
+    private Mono<Long> nextIdBlock() {
+        // A fresh sequence starts below one full block; skip to the next one (see BookingWriteBehind#nextId)
+        return selectNextval()
+                .flatMap(max -> max < BookingWriteBehind.ID_ALLOCATION_SIZE ? selectNextval() : Mono.just(max));
+    }
+
+    private Mono<Long> selectNextval() {
+        return databaseClient.sql("SELECT nextval('bookings_seq')")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private static Booking toBooking(Readable row) {
+        Booking booking = new Booking();
+        booking.setId(row.get("id", Long.class));
+        booking.setUserId(row.get("user_id", Long.class));
+        booking.setTicketId(row.get("ticket_id", Long.class));
+        booking.setQuantity(row.get("quantity", Integer.class));
+        booking.setTotalAmount(row.get("total_amount", BigDecimal.class));
+        booking.setStatus(row.get("status", String.class));
+        booking.setBookingDate(row.get("booking_date", LocalDateTime.class));
+        booking.setExpiryDate(row.get("expiry_date", LocalDateTime.class));
+        booking.setConfirmedDate(row.get("confirmed_date", LocalDateTime.class));
+        booking.setCancelledDate(row.get("cancelled_date", LocalDateTime.class));
+        booking.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        booking.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return booking;
+    }
+
+    private record IdBlock(AtomicLong next, long max) {
+
+        IdBlock(long next, long max) {
+            this(new AtomicLong(next), max);
+        }
+    }
+}
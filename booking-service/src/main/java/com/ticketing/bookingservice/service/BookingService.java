@@ -1,20 +1,32 @@
 package com.ticketing.bookingservice.service;
 
-import com.ticketing.bookingservice.client.AuthServiceClient;
+import com.ticketing.bookingservice.client.RemoteCalls;
+import com.ticketing.bookingservice.client.TicketReservationClient;
+import com.ticketing.bookingservice.client.TicketServiceCache;
 import com.ticketing.bookingservice.client.TicketServiceClient;
 import com.ticketing.bookingservice.dto.BookingCreateDTO;
 import com.ticketing.bookingservice.dto.BookingDTO;
+import com.ticketing.bookingservice.mapper.BookingMapper;
 import com.ticketing.bookingservice.model.Booking;
 import com.ticketing.bookingservice.repository.BookingRepository;
+import com.ticketing.common.auth.AuthServiceCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,46 +36,50 @@ import java.util.stream.Collectors;
 public class BookingService {
 
     private final BookingRepository bookingRepository;
-    private final AuthServiceClient authServiceClient;
     private final TicketServiceClient ticketServiceClient;
-
-    private static final int RESERVATION_EXPIRY_MINUTES = 15;
+    private final TicketReservationClient ticketReservationClient;
+    private final AuthServiceCache authServiceCache;
+    private final TicketServiceCache ticketServiceCache;
+    private final ReservationLedger reservationLedger;
+    private final BookingWriteBehind bookingWriteBehind;
+    private final ExpiredReservationSweeper expiredReservationSweeper;
+    private final TicketReleaseOutbox ticketReleaseOutbox;
+    private final ReservationExpiryScheduler reservationExpiryScheduler;
+    private final RemoteCalls remoteCalls;
+    private final BookingMapper bookingMapper;
+
+    static final int RESERVATION_EXPIRY_MINUTES = 15;
 
     public BookingDTO reserveBooking(BookingCreateDTO createDTO) {
         log.info("Reserving booking for user {} and ticket {}", createDTO.getUserId(), createDTO.getTicketId());
 
-        Boolean userExists = authServiceClient.validateUser(createDTO.getUserId());
-        if (!userExists) {
+        // Validate the user and get ticket information concurrently
+        CompletableFuture<Boolean> userLookup =
+                remoteCalls.submit(() -> authServiceCache.validateUser(createDTO.getUserId()));
+        CompletableFuture<TicketServiceClient.TicketDTO> ticketLookup =
+                remoteCalls.submit(() -> ticketServiceClient.getTicketById(createDTO.getTicketId()));
+
+        Boolean userExists = RemoteCalls.join(userLookup);
+        if (!Boolean.TRUE.equals(userExists)) {
             throw new IllegalArgumentException("User with ID " + createDTO.getUserId() + " does not exist");
         }
 
-        // Get ticket information
-        TicketServiceClient.TicketDTO ticket = ticketServiceClient.getTicketById(createDTO.getTicketId());
+        TicketServiceClient.TicketDTO ticket = RemoteCalls.join(ticketLookup);
         if (ticket == null) {
             throw new IllegalArgumentException("Ticket with ID " + createDTO.getTicketId() + " does not exist");
         }
 
-        // Check if user already has an active reservation for this ticket
-        boolean hasActiveReservation = bookingRepository.existsByUserIdAndTicketIdAndStatus(
-            createDTO.getUserId(), createDTO.getTicketId(), "RESERVED");
-        if (hasActiveReservation) {
+        // Admit against the in-memory ledger instead of aggregating the bookings table
+        Integer capacity = ticket.capacity();
+        ReservationLedger.Admission admission = reservationLedger.tryReserve(
+            createDTO.getTicketId(), createDTO.getUserId(), createDTO.getQuantity(), capacity);
+        if (admission == ReservationLedger.Admission.DUPLICATE_HOLD) {
             throw new IllegalArgumentException("User already has an active reservation for this ticket");
         }
-
-        // Check ticket availability
-        Long activeBookings = bookingRepository.sumQuantityByTicketIdAndActiveStatus(createDTO.getTicketId());
-        if (activeBookings + createDTO.getQuantity() > 1000) { // Assuming max 1000 tickets per event
+        if (admission == ReservationLedger.Admission.SOLD_OUT) {
             throw new IllegalArgumentException("Not enough tickets available");
         }
 
-        // Reserve tickets in ticket service
-        try {
-            ticketServiceClient.reserveTickets(createDTO.getTicketId(), createDTO.getQuantity());
-        } catch (Exception e) {
-            log.error("Failed to reserve tickets in ticket service", e);
-            throw new IllegalArgumentException("Failed to reserve tickets");
-        }
-
         Booking booking = new Booking();
         booking.setUserId(createDTO.getUserId());
         booking.setTicketId(createDTO.getTicketId());
@@ -72,7 +88,17 @@ public class BookingService {
         booking.setStatus("RESERVED");
         booking.setExpiryDate(LocalDateTime.now().plusMinutes(RESERVATION_EXPIRY_MINUTES));
 
-        Booking savedBooking = bookingRepository.save(booking);
+        // Reserve tickets in ticket service
+        try {
+            ticketReservationClient.reserveTickets(createDTO.getTicketId(), createDTO.getQuantity());
+        } catch (Exception e) {
+            log.error("Failed to reserve tickets in ticket service", e);
+            reservationLedger.release(createDTO.getTicketId(), createDTO.getUserId(), createDTO.getQuantity(), true);
+            throw new IllegalArgumentException("Failed to reserve tickets");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new ReservationCompletion(booking));
+
+        Booking savedBooking = insertBooking(booking);
 
         log.info("Booking reserved successfully with ID: {}", savedBooking.getId());
         return enrichBookingWithDetails(savedBooking);
@@ -81,7 +107,7 @@ public class BookingService {
     public BookingDTO confirmBooking(Long bookingId) {
         log.info("Confirming booking with ID: {}", bookingId);
 
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = findBooking(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found with ID: " + bookingId));
 
         if (!"RESERVED".equals(booking.getStatus())) {
@@ -89,13 +115,15 @@ public class BookingService {
         }
 
         if (booking.getExpiryDate().isBefore(LocalDateTime.now())) {
-            expireBooking(booking);
+            // Expiring it here would be rolled back with this exception; the expiry scheduler and
+            // sweeper expire it and return its seats
             throw new IllegalArgumentException("Booking has expired");
         }
 
         booking.setStatus("CONFIRMED");
         booking.setConfirmedDate(LocalDateTime.now());
-        Booking updatedBooking = bookingRepository.save(booking);
+        Booking updatedBooking = updateBooking(booking);
+        reservationLedger.confirm(booking.getTicketId(), booking.getUserId());
 
         log.info("Booking confirmed successfully with ID: {}", bookingId);
         return enrichBookingWithDetails(updatedBooking);
@@ -104,22 +132,20 @@ public class BookingService {
     public BookingDTO cancelBooking(Long bookingId) {
         log.info("Cancelling booking with ID: {}", bookingId);
 
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = findBooking(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found with ID: " + bookingId));
 
         if ("CANCELLED".equals(booking.getStatus()) || "EXPIRED".equals(booking.getStatus())) {
             throw new IllegalArgumentException("Booking is already cancelled or expired");
         }
 
-        try {
-            ticketServiceClient.releaseTickets(booking.getTicketId(), booking.getQuantity());
-        } catch (Exception e) {
-            log.error("Failed to release tickets in ticket service", e);
-        }
+        ticketReleaseOutbox.release(booking.getTicketId(), booking.getQuantity());
 
+        boolean wasReserved = "RESERVED".equals(booking.getStatus());
         booking.setStatus("CANCELLED");
         booking.setCancelledDate(LocalDateTime.now());
-        Booking updatedBooking = bookingRepository.save(booking);
+        Booking updatedBooking = updateBooking(booking);
+        reservationLedger.release(booking.getTicketId(), booking.getUserId(), booking.getQuantity(), wasReserved);
 
         log.info("Booking cancelled successfully with ID: {}", bookingId);
         return enrichBookingWithDetails(updatedBooking);
@@ -128,88 +154,177 @@ public class BookingService {
     @Transactional(readOnly = true)
     public List<BookingDTO> getUserBookings(Long userId) {
         log.info("Fetching bookings for user ID: {}", userId);
-        return bookingRepository.findBookingHistoryByUserId(userId).stream()
-                .map(this::enrichBookingWithDetails)
-                .collect(Collectors.toList());
+        return enrichBookingsWithDetails(bookingRepository.findBookingHistoryByUserId(userId));
+    }
+
+    /**
+     * Newest first by ID.
+     *
+     * @param beforeId ID of the last booking of the previous page, or {@code null} for the first page
+     */
+    @Transactional(readOnly = true)
+    public List<BookingDTO> getUserBookingsPage(Long userId, Long beforeId, int limit) {
+        log.debug("Fetching {} bookings for user ID: {} before ID: {}", limit, userId, beforeId);
+        return enrichBookingsWithDetails(bookingRepository.findByUserIdAndIdLessThanOrderByIdDesc(
+                userId, beforeId != null ? beforeId : Long.MAX_VALUE, Limit.of(limit)));
     }
 
     @Transactional(readOnly = true)
     public Optional<BookingDTO> getBookingById(Long bookingId) {
         log.info("Fetching booking with ID: {}", bookingId);
-        return bookingRepository.findById(bookingId)
+        return findBooking(bookingId)
                 .map(this::enrichBookingWithDetails);
     }
 
     @Transactional(readOnly = true)
     public List<BookingDTO> getBookingsByStatus(String status) {
         log.info("Fetching bookings with status: {}", status);
-        return bookingRepository.findByStatus(status).stream()
-                .map(this::enrichBookingWithDetails)
-                .collect(Collectors.toList());
+        return enrichBookingsWithDetails(bookingRepository.findByStatus(status));
+    }
+
+    /**
+     * @param afterId ID of the last booking of the previous page, or {@code null} for the first page
+     */
+    @Transactional(readOnly = true)
+    public List<BookingDTO> getBookingsByStatusPage(String status, Long afterId, int limit) {
+        log.debug("Fetching {} bookings with status: {} after ID: {}", limit, status, afterId);
+        return enrichBookingsWithDetails(bookingRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                status, afterId != null ? afterId : 0L, Limit.of(limit)));
     }
 
     public void processExpiredReservations() {
         log.info("Processing expired reservations");
-        List<Booking> expiredBookings = bookingRepository.findExpiredReservations(LocalDateTime.now());
+        int expired = expiredReservationSweeper.sweep();
+        log.info("Expired {} reservations", expired);
+    }
 
-        for (Booking booking : expiredBookings) {
-            try {
-                expireBooking(booking);
-            } catch (Exception e) {
-                log.error("Failed to expire booking with ID: {}", booking.getId(), e);
-            }
+    private Optional<Booking> findBooking(Long bookingId) {
+        return bookingWriteBehind.isEnabled()
+                ? bookingWriteBehind.find(bookingId)
+                : bookingRepository.findById(bookingId);
+    }
+
+    private Booking insertBooking(Booking booking) {
+        if (!bookingWriteBehind.isEnabled()) {
+            // The pooled sequence ID defers the INSERT to commit; flushing fails the reservation here
+            return bookingRepository.saveAndFlush(booking);
         }
+        booking.setId(bookingWriteBehind.nextId());
+        bookingWriteBehind.insert(booking);
+        return booking;
     }
 
-    private void expireBooking(Booking booking) {
-        log.info("Expiring booking with ID: {}", booking.getId());
+    private Booking updateBooking(Booking booking) {
+        if (!bookingWriteBehind.isEnabled()) {
+            return bookingRepository.save(booking);
+        }
+        bookingWriteBehind.update(booking);
+        return booking;
+    }
 
-        try {
-            ticketServiceClient.releaseTickets(booking.getTicketId(), booking.getQuantity());
-        } catch (Exception e) {
-            log.error("Failed to release tickets for expired booking", e);
+    /**
+     * Ties the seats a new reservation holds in ticket-service to its transaction: its expiry is
+     * only scheduled once the booking is committed, and if the transaction rolls back, whether
+     * the insert or the commit failed, the seats are returned to the ledger and ticket-service.
+     */
+    private class ReservationCompletion implements TransactionSynchronization {
+
+        private final Booking booking;
+
+        ReservationCompletion(Booking booking) {
+            this.booking = booking;
         }
 
-        booking.setStatus("EXPIRED");
-        bookingRepository.save(booking);
+        @Override
+        public void afterCommit() {
+            reservationExpiryScheduler.schedule(booking.getId(), booking.getExpiryDate());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_ROLLED_BACK) {
+                log.warn("Booking for user {} and ticket {} rolled back, returning its {} seats",
+                        booking.getUserId(), booking.getTicketId(), booking.getQuantity());
+                reservationLedger.release(booking.getTicketId(), booking.getUserId(), booking.getQuantity(), true);
+                ticketReleaseOutbox.releaseAfterRollback(booking.getTicketId(), booking.getQuantity());
+            } else if (status == STATUS_UNKNOWN) {
+                // The booking may have been committed; the sweeper returns its seats once it expires
+                log.error("Outcome of booking for user {} and ticket {} is unknown", booking.getUserId(),
+                        booking.getTicketId());
+            }
+        }
     }
 
     private BookingDTO enrichBookingWithDetails(Booking booking) {
-        BookingDTO dto = new BookingDTO();
-        dto.setId(booking.getId());
-        dto.setUserId(booking.getUserId());
-        dto.setTicketId(booking.getTicketId());
-        dto.setQuantity(booking.getQuantity());
-        dto.setTotalAmount(booking.getTotalAmount());
-        dto.setStatus(booking.getStatus());
-        dto.setBookingDate(booking.getBookingDate());
-        dto.setExpiryDate(booking.getExpiryDate());
-        dto.setConfirmedDate(booking.getConfirmedDate());
-        dto.setCancelledDate(booking.getCancelledDate());
-        dto.setCreatedAt(booking.getCreatedAt());
-        dto.setUpdatedAt(booking.getUpdatedAt());
+        BookingDTO dto = bookingMapper.toDTO(booking);
+        CompletableFuture<String> userNameLookup =
+                remoteCalls.submit(() -> authServiceCache.getUserName(booking.getUserId()));
+        CompletableFuture<TicketServiceClient.TicketDTO> ticketLookup =
+                remoteCalls.submit(() -> ticketServiceCache.getTicketById(booking.getTicketId()));
 
         try {
-            String userName = authServiceClient.getUserName(booking.getUserId());
+            String userName = RemoteCalls.join(userNameLookup);
             dto.setUserName(userName);
         } catch (Exception e) {
             log.warn("Failed to fetch user name for user ID: {}", booking.getUserId(), e);
-            dto.setUserName("Unknown User");
+            dto.setUserName(BookingMapper.UNKNOWN_USER);
         }
 
         try {
-            TicketServiceClient.TicketDTO ticket = ticketServiceClient.getTicketById(booking.getTicketId());
-            if (ticket != null) {
-                dto.setTicketName(ticket.eventName() + " - " + ticket.venue());
-                dto.setEventName(ticket.eventName());
-                dto.setUnitPrice(ticket.price());
-            }
+            TicketServiceClient.TicketDTO ticket = RemoteCalls.join(ticketLookup);
+            bookingMapper.applyTicketDetails(dto, ticket);
         } catch (Exception e) {
             log.warn("Failed to fetch ticket details for ticket ID: {}", booking.getTicketId(), e);
-            dto.setTicketName("Unknown Ticket");
-            dto.setEventName("Unknown Event");
+            bookingMapper.applyUnknownTicket(dto);
         }
 
         return dto;
     }
+
+    /**
+     * Enriches a list of bookings with one bulk user-name lookup and one bulk ticket lookup
+     * for the distinct IDs, instead of two remote calls per booking. Both lookups run concurrently.
+     */
+    private List<BookingDTO> enrichBookingsWithDetails(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Long> userIds = bookings.stream().map(Booking::getUserId).collect(Collectors.toSet());
+        Set<Long> ticketIds = bookings.stream().map(Booking::getTicketId).collect(Collectors.toSet());
+
+        CompletableFuture<Map<Long, String>> userNamesLookup =
+                remoteCalls.submit(() -> authServiceCache.getUserNames(userIds));
+        CompletableFuture<List<TicketServiceClient.TicketDTO>> ticketsLookup =
+                remoteCalls.submit(() -> ticketServiceCache.getTicketsByIds(ticketIds));
+
+        Map<Long, String> userNames = null;
+        try {
+            userNames = RemoteCalls.join(userNamesLookup);
+        } catch (Exception e) {
+            log.warn("Failed to fetch user names for {} users", userIds.size(), e);
+        }
+
+        Map<Long, TicketServiceClient.TicketDTO> tickets = null;
+        try {
+            tickets = RemoteCalls.join(ticketsLookup).stream()
+                    .collect(Collectors.toMap(TicketServiceClient.TicketDTO::id, Function.identity()));
+        } catch (Exception e) {
+            log.warn("Failed to fetch ticket details for {} tickets", ticketIds.size(), e);
+        }
+
+        List<BookingDTO> dtos = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            BookingDTO dto = bookingMapper.toDTO(booking);
+            String userName = userNames != null ? userNames.get(booking.getUserId()) : null;
+            dto.setUserName(userName != null ? userName : BookingMapper.UNKNOWN_USER);
+            if (tickets != null) {
+                bookingMapper.applyTicketDetails(dto, tickets.get(booking.getTicketId()));
+            } else {
+                bookingMapper.applyUnknownTicket(dto);
+            }
+            dtos.add(dto);
+        }
+        return dtos;
+    }
 }
\ No newline at end of file
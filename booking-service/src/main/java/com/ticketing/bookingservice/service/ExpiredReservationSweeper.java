@@ -0,0 +1,212 @@
+package com.ticketing.bookingservice.service;
+
+import com.ticketing.common.threads.VirtualThreads;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Expires lapsed reservations in the background. Bookings are split into partitions by ticket ID
+ * and each partition is swept in parallel, one page at a time in ID order. Each page is claimed
+ * and marked EXPIRED by a single UPDATE ... RETURNING statement, so no transaction spans more than
+ * one page, and concurrent sweepers skip rows another sweeper has locked. The same statement records
+ * the seats to return, one row per ticket per page, in {@link TicketReleaseOutbox}, which sends them
+ * to ticket-service once the sweep is done and keeps retrying those it could not send.
+ *
+ * <p>With write-behind enabled, bookings that still have queued writes are expired through
+ * {@link BookingWriteBehind#expirePending} instead: their database row is older than the queued
+ * state, and expiring the row would be overwritten by the next flush.
+ */
+@Slf4j
+@Component
+public class ExpiredReservationSweeper {
+
+    private static final String CLAIM_SQL = withReleases("UPDATE bookings SET status = 'EXPIRED', updated_at = ? "
+            + "WHERE id IN (SELECT id FROM bookings WHERE status = 'RESERVED' AND expiry_date < ? AND id > ? "
+            + "AND MOD(ticket_id, ?) = ? AND NOT (id = ANY(?)) ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) "
+            + "RETURNING id, ticket_id, user_id, quantity");
+
+    private static final String CLAIM_BY_ID_SQL = withReleases("UPDATE bookings SET status = 'EXPIRED', updated_at = ? "
+            + "WHERE id = ANY(?) AND status = 'RESERVED' AND expiry_date <= ? "
+            + "RETURNING id, ticket_id, user_id, quantity");
+
+    private static final RowMapper<ExpiredHold> EXPIRED_HOLD_MAPPER = (rs, rowNum) -> new ExpiredHold(
+            rs.getLong("id"), rs.getLong("ticket_id"), rs.getLong("user_id"), rs.getInt("quantity"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TicketReleaseOutbox ticketReleaseOutbox;
+    private final ReservationLedger reservationLedger;
+    private final BookingWriteBehind bookingWriteBehind;
+    private final int partitions;
+    private final int pageSize;
+    private final SimpleAsyncTaskExecutor executor;
+
+    public ExpiredReservationSweeper(JdbcTemplate jdbcTemplate,
+                                     TicketReleaseOutbox ticketReleaseOutbox,
+                                     ReservationLedger reservationLedger,
+                                     BookingWriteBehind bookingWriteBehind,
+                                     @Value("${booking.expiry.partitions:4}") int partitions,
+                                     @Value("${booking.expiry.page-size:500}") int pageSize,
+                                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ticketReleaseOutbox = ticketReleaseOutbox;
+        this.reservationLedger = reservationLedger;
+        this.bookingWriteBehind = bookingWriteBehind;
+        this.partitions = partitions;
+        this.pageSize = pageSize;
+        // A thread per partition sweep, virtual when enabled; the partition count bounds the parallelism
+        this.executor = new SimpleAsyncTaskExecutor("expiry-sweep-");
+        this.executor.setVirtualThreads(VirtualThreads.enabled(virtualThreads));
+        this.executor.setDaemon(true);
+        this.executor.setConcurrencyLimit(partitions);
+    }
+
+    /**
+     * Wraps a claim so the same statement records the claimed seats in {@code ticket_releases};
+     * takes two more parameters, the first release attempt and the creation time.
+     */
+    private static String withReleases(String claimSql) {
+        return "WITH claimed AS (" + claimSql + "), released AS (INSERT INTO ticket_releases "
+                + "(ticket_id, quantity, attempts, next_attempt_at, created_at) "
+                + "SELECT ticket_id, SUM(quantity), 0, ?, ? FROM claimed GROUP BY ticket_id) "
+                + "SELECT id, ticket_id, user_id, quantity FROM claimed";
+    }
+
+    @Scheduled(fixedDelayString = "${booking.expiry.sweep-interval:30000}")
+    public void scheduledSweep() {
+        int expired = sweep();
+        if (expired > 0) {
+            log.info("Expired {} lapsed reservations", expired);
+        }
+    }
+
+    /**
+     * @return the number of reservations expired by this sweep
+     */
+    public int sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = expirePending(null, now);
+
+        Long[] pendingIds = bookingWriteBehind.pendingIds().toArray(Long[]::new);
+        List<Future<Integer>> results = new ArrayList<>(partitions);
+        for (int partition = 0; partition < partitions; partition++) {
+            int p = partition;
+            results.add(executor.submit(() -> sweepPartition(p, now, pendingIds)));
+        }
+
+        for (Future<Integer> result : results) {
+            try {
+                expired += result.get();
+            } catch (ExecutionException e) {
+                log.error("Expiry sweep of a partition failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        ticketReleaseOutbox.deliver();
+        return expired;
+    }
+
+    /**
+     * Expires the given bookings if they are still reserved and past their expiry date; bookings
+     * that were confirmed or cancelled in the meantime are left untouched.
+     *
+     * @return the number of reservations expired
+     */
+    public int expire(List<Long> bookingIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> pendingIds = bookingWriteBehind.pendingIds();
+        int expired = expirePending(bookingIds.stream().filter(pendingIds::contains).toList(), now);
+
+        List<Long> stored = bookingIds.stream().filter(id -> !pendingIds.contains(id)).toList();
+        for (int from = 0; from < stored.size(); from += pageSize) {
+            Long[] ids = stored.subList(from, Math.min(from + pageSize, stored.size())).toArray(Long[]::new);
+            List<ExpiredHold> page = jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(CLAIM_BY_ID_SQL);
+                statement.setObject(1, now);
+                statement.setArray(2, connection.createArrayOf("bigint", ids));
+                statement.setObject(3, now);
+                statement.setObject(4, now);
+                statement.setObject(5, now);
+                return statement;
+            }, EXPIRED_HOLD_MAPPER);
+
+            releaseHolds(page);
+            expired += page.size();
+        }
+        if (expired > 0) {
+            ticketReleaseOutbox.deliver();
+        }
+        return expired;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.close();
+    }
+
+    private int expirePending(List<Long> bookingIds, LocalDateTime now) {
+        if (!bookingWriteBehind.isEnabled() || (bookingIds != null && bookingIds.isEmpty())) {
+            return 0;
+        }
+        List<ExpiredHold> expired = bookingWriteBehind.expirePending(bookingIds, now).stream()
+                .map(booking -> new ExpiredHold(booking.getId(), booking.getTicketId(), booking.getUserId(), booking.getQuantity()))
+                .toList();
+        releaseHolds(expired);
+        expired.stream()
+                .collect(Collectors.groupingBy(ExpiredHold::ticketId, Collectors.summingInt(ExpiredHold::quantity)))
+                .forEach((ticketId, quantity) -> ticketReleaseOutbox.add(ticketId, quantity, now));
+        return expired.size();
+    }
+
+    private int sweepPartition(int partition, LocalDateTime now, Long[] pendingIds) {
+        long afterId = 0;
+        int expired = 0;
+        while (true) {
+            long after = afterId;
+            List<ExpiredHold> page = jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(CLAIM_SQL);
+                statement.setObject(1, now);
+                statement.setObject(2, now);
+                statement.setLong(3, after);
+                statement.setInt(4, partitions);
+                statement.setInt(5, partition);
+                statement.setArray(6, connection.createArrayOf("bigint", pendingIds));
+                statement.setInt(7, pageSize);
+                statement.setObject(8, now);
+                statement.setObject(9, now);
+                return statement;
+            }, EXPIRED_HOLD_MAPPER);
+            if (page.isEmpty()) {
+                return expired;
+            }
+
+            releaseHolds(page);
+            expired += page.size();
+            afterId = page.stream().mapToLong(ExpiredHold::id).max().getAsLong();
+        }
+    }
+
+    private void releaseHolds(List<ExpiredHold> page) {
+        for (ExpiredHold hold : page) {
+            reservationLedger.release(hold.ticketId(), hold.userId(), hold.quantity(), true);
+        }
+    }
+
+    private record ExpiredHold(long id, long ticketId, long userId, int quantity) {}
+}
@@ -0,0 +1,244 @@
+package com.ticketing.bookingservice.service;
+
+import com.ticketing.bookingservice.config.CacheConfiguration;
+import com.ticketing.bookingservice.dto.BookingCreateDTO;
+import com.ticketing.bookingservice.dto.BookingDTO;
+import com.ticketing.bookingservice.model.IdempotencyRecord;
+import com.ticketing.bookingservice.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Makes reservations idempotent per client-supplied Idempotency-Key, so retried requests do not
+ * create duplicate holds. Keys are scoped to the authenticated user, never to the user ID in the
+ * request body, so one user cannot replay or block another's reservation by reusing their key.
+ *
+ * <p>Duplicates of a request that is still running on this instance wait for it and share its
+ * result. Completed results are kept in memory and replayed as they were first returned. The key
+ * is also claimed in the database, so a retry that lands on another instance, or arrives after the
+ * in-memory entry is gone, gets the same booking back. A retry while the original request is still
+ * running on another instance is rejected with {@link IllegalStateException}. Failed reservations
+ * release their key, so the client can retry them.
+ */
+@Slf4j
+@Component
+public class IdempotentReservations {
+
+    public static final int MAX_KEY_LENGTH = 200;
+
+    private final BookingService bookingService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Cache results;
+    private final Duration ttl;
+    private final Duration pendingTimeout;
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotentReservations(BookingService bookingService,
+                                  IdempotencyRecordRepository idempotencyRecordRepository,
+                                  CacheManager cacheManager,
+                                  @Value("${booking.idempotency.ttl:24h}") Duration ttl,
+                                  @Value("${booking.idempotency.pending-timeout:2m}") Duration pendingTimeout) {
+        this.bookingService = bookingService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.results = cacheManager.getCache(CacheConfiguration.IDEMPOTENT_RESERVATIONS);
+        this.ttl = ttl;
+        this.pendingTimeout = pendingTimeout;
+    }
+
+    /**
+     * @param idempotencyKey the client's key, or {@code null} to reserve without deduplication
+     * @param userId         the authenticated caller's ID; required with a key
+     */
+    public BookingDTO reserve(String idempotencyKey, Long userId, BookingCreateDTO createDTO) {
+        return reserve(idempotencyKey, userId, createDTO, bookingService::reserveBooking);
+    }
+
+    /**
+     * @param reservation makes the reservation when it is not a duplicate
+     */
+    BookingDTO reserve(String idempotencyKey, Long userId, BookingCreateDTO createDTO,
+                       Function<BookingCreateDTO, BookingDTO> reservation) {
+        if (idempotencyKey == null) {
+            return reservation.apply(createDTO);
+        }
+        String key = scopedKey(idempotencyKey, userId);
+        String fingerprint = fingerprint(createDTO);
+
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            checkFingerprint(running.fingerprint(), fingerprint);
+            log.debug("Joining in-flight reservation for idempotency key {}", key);
+            return await(running.result());
+        }
+
+        try {
+            BookingDTO booking = execute(key, fingerprint, createDTO, reservation);
+            mine.result().complete(booking);
+            return booking;
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #reserve(String, Long, BookingCreateDTO)} for the reactive
+     * path. Only the key claims go through JPA, on bounded elastic threads; no thread waits for
+     * the reservation itself. Once a key is claimed its reservation runs to the end even if every
+     * caller waiting on it cancels, so the key is always completed or released and a retry gets
+     * the booking back instead of waiting out a claim left pending.
+     *
+     * @param reservation makes the reservation when it is not a duplicate
+     */
+    public Mono<BookingDTO> reserveReactive(String idempotencyKey, Long userId, BookingCreateDTO createDTO,
+                                            Function<BookingCreateDTO, Mono<BookingDTO>> reservation) {
+        if (idempotencyKey == null) {
+            return reservation.apply(createDTO);
+        }
+        return Mono.defer(() -> {
+            String key = scopedKey(idempotencyKey, userId);
+            String fingerprint = fingerprint(createDTO);
+
+            InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+            InFlight running = inFlight.putIfAbsent(key, mine);
+            if (running != null) {
+                checkFingerprint(running.fingerprint(), fingerprint);
+                log.debug("Joining in-flight reservation for idempotency key {}", key);
+                return Mono.fromFuture(running.result(), true);
+            }
+
+            Mono.defer(() -> executeReactive(key, fingerprint, createDTO, reservation))
+                    .doFinally(signal -> inFlight.remove(key, mine))
+                    .subscribe(mine.result()::complete, mine.result()::completeExceptionally);
+            // Cancelling stops waiting, not the reservation
+            return Mono.fromFuture(mine.result(), true);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${booking.idempotency.purge-interval:600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = idempotencyRecordRepository.deleteExpired(now.minus(ttl), now.minus(pendingTimeout));
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private BookingDTO execute(String key, String fingerprint, BookingCreateDTO createDTO,
+                               Function<BookingCreateDTO, BookingDTO> reservation) {
+        Completed completed = results.get(key, Completed.class);
+        if (completed != null) {
+            checkFingerprint(completed.fingerprint(), fingerprint);
+            return completed.booking();
+        }
+
+        if (idempotencyRecordRepository.claim(key, fingerprint, LocalDateTime.now()) == 0) {
+            return replay(key, fingerprint);
+        }
+
+        BookingDTO booking;
+        try {
+            booking = reservation.apply(createDTO);
+        } catch (RuntimeException e) {
+            idempotencyRecordRepository.releaseClaim(key);
+            throw e;
+        }
+        idempotencyRecordRepository.complete(key, booking.getId());
+        results.put(key, new Completed(fingerprint, booking));
+        return booking;
+    }
+
+    private Mono<BookingDTO> executeReactive(String key, String fingerprint, BookingCreateDTO createDTO,
+                                             Function<BookingCreateDTO, Mono<BookingDTO>> reservation) {
+        Completed completed = results.get(key, Completed.class);
+        if (completed != null) {
+            checkFingerprint(completed.fingerprint(), fingerprint);
+            return Mono.just(completed.booking());
+        }
+
+        return onJpa(() -> idempotencyRecordRepository.claim(key, fingerprint, LocalDateTime.now()))
+                .flatMap(claimed -> claimed == 0
+                        ? onJpa(() -> replay(key, fingerprint))
+                        : reservation.apply(createDTO)
+                                .onErrorResume(e -> onJpa(() -> idempotencyRecordRepository.releaseClaim(key))
+                                        .then(Mono.error(e)))
+                                .flatMap(booking -> onJpa(() -> {
+                                    idempotencyRecordRepository.complete(key, booking.getId());
+                                    results.put(key, new Completed(fingerprint, booking));
+                                    return booking;
+                                })));
+    }
+
+    private BookingDTO replay(String key, String fingerprint) {
+        IdempotencyRecord record = idempotencyRecordRepository.findById(key)
+                .orElseThrow(() -> new IllegalStateException("Reservation for this Idempotency-Key is being retried"));
+        checkFingerprint(record.getRequestFingerprint(), fingerprint);
+        if (record.getBookingId() == null) {
+            throw new IllegalStateException("Reservation for this Idempotency-Key is still in progress");
+        }
+
+        log.debug("Replaying booking {} for idempotency key {}", record.getBookingId(), key);
+        BookingDTO booking = bookingService.getBookingById(record.getBookingId())
+                .orElseThrow(() -> new IllegalStateException("Booking " + record.getBookingId() + " no longer exists"));
+        results.put(key, new Completed(fingerprint, booking));
+        return booking;
+    }
+
+    private static <T> Mono<T> onJpa(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static String scopedKey(String idempotencyKey, Long userId) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        if (userId == null) {
+            throw new IllegalArgumentException("Idempotency-Key requires an authenticated user");
+        }
+        return userId + ":" + idempotencyKey;
+    }
+
+    private static BookingDTO await(CompletableFuture<BookingDTO> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void checkFingerprint(String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different reservation");
+        }
+    }
+
+    private static String fingerprint(BookingCreateDTO createDTO) {
+        return createDTO.getTicketId() + ":" + createDTO.getQuantity();
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<BookingDTO> result) {}
+
+    private record Completed(String fingerprint, BookingDTO booking) {}
+}
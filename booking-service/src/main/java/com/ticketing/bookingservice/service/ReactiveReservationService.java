@@ -0,0 +1,233 @@
+package com.ticketing.bookingservice.service;
+
+import com.ticketing.bookingservice.client.ReactiveAuthServiceClient;
+import com.ticketing.bookingservice.client.ReactiveTicketServiceClient;
+import com.ticketing.bookingservice.client.TicketServiceClient;
+import com.ticketing.bookingservice.dto.BookingCreateDTO;
+import com.ticketing.bookingservice.dto.BookingDTO;
+import com.ticketing.bookingservice.mapper.BookingMapper;
+import com.ticketing.bookingservice.model.Booking;
+import com.ticketing.bookingservice.repository.ReactiveBookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Reserve and confirm as non-blocking pipelines over R2DBC and WebClient (profile "reactive").
+ * Same rules, errors, compensation and {@link BookingDTO} output as {@link BookingService}, and the
+ * same {@link ReservationLedger} and {@link ReservationExpiryScheduler}.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveReservationService {
+
+    private final ReactiveBookingRepository reactiveBookingRepository;
+    private final ReactiveAuthServiceClient reactiveAuthServiceClient;
+    private final ReactiveTicketServiceClient reactiveTicketServiceClient;
+    private final ReservationLedger reservationLedger;
+    private final ReservationExpiryScheduler reservationExpiryScheduler;
+    private final TicketReleaseOutbox ticketReleaseOutbox;
+    private final BookingMapper bookingMapper;
+
+    public Mono<BookingDTO> reserveBooking(BookingCreateDTO createDTO) {
+        log.info("Reserving booking for user {} and ticket {}", createDTO.getUserId(), createDTO.getTicketId());
+
+        // Validate the user and get ticket information concurrently
+        Mono<Boolean> userLookup = reactiveAuthServiceClient.validateUser(createDTO.getUserId())
+                .defaultIfEmpty(false);
+        Mono<Optional<TicketServiceClient.TicketDTO>> ticketLookup =
+                reactiveTicketServiceClient.getTicketById(createDTO.getTicketId())
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty());
+
+        return Mono.zip(userLookup, ticketLookup)
+                .flatMap(lookups -> {
+                    if (!Boolean.TRUE.equals(lookups.getT1())) {
+                        return Mono.error(new IllegalArgumentException(
+                                "User with ID " + createDTO.getUserId() + " does not exist"));
+                    }
+                    return lookups.getT2()
+                            .map(ticket -> admitDetached(createDTO, ticket))
+                            .orElseGet(() -> Mono.error(new IllegalArgumentException(
+                                    "Ticket with ID " + createDTO.getTicketId() + " does not exist")));
+                });
+    }
+
+    public Mono<BookingDTO> confirmBooking(Long bookingId) {
+        log.info("Confirming booking with ID: {}", bookingId);
+
+        return reactiveBookingRepository.findById(bookingId)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Booking not found with ID: " + bookingId)))
+                .flatMap(booking -> {
+                    if (!"RESERVED".equals(booking.getStatus())) {
+                        return Mono.error(new IllegalArgumentException("Only reserved bookings can be confirmed"));
+                    }
+                    if (booking.getExpiryDate().isBefore(LocalDateTime.now())) {
+                        return expireBooking(booking)
+                                .then(Mono.error(new IllegalArgumentException("Booking has expired")));
+                    }
+                    return confirmReserved(booking);
+                });
+    }
+
+    /**
+     * Runs {@link #admit} to the end even if the caller cancels: stopped between holding seats on
+     * the ledger and inserting the booking, it would leave seats held in the ledger, and possibly in
+     * ticket-service, with no booking to return them. A reservation made for a caller that has
+     * cancelled is expired as soon as it exists, which returns its seats.
+     */
+    private Mono<BookingDTO> admitDetached(BookingCreateDTO createDTO, TicketServiceClient.TicketDTO ticket) {
+        return Mono.usingWhen(
+                Mono.fromSupplier(() -> admit(createDTO, ticket).toFuture()),
+                reservation -> Mono.fromFuture(reservation, true),
+                reservation -> Mono.empty(),
+                (reservation, e) -> Mono.empty(),
+                reservation -> Mono.fromRunnable(() -> reservation.thenAccept(this::abandon)));
+    }
+
+    private void abandon(BookingDTO booking) {
+        log.info("Reservation {} was cancelled by its caller, expiring it", booking.getId());
+        reactiveBookingRepository.findById(booking.getId())
+                .flatMap(this::expireBooking)
+                .subscribe(null, e -> log.warn("Failed to expire abandoned reservation {}; it expires at {}",
+                        booking.getId(), booking.getExpiryDate(), e));
+    }
+
+    private Mono<BookingDTO> admit(BookingCreateDTO createDTO, TicketServiceClient.TicketDTO ticket) {
+        // Admit against the in-memory ledger instead of aggregating the bookings table
+        Integer capacity = ticket.capacity();
+        return onLedger(createDTO.getTicketId(), () -> reservationLedger.tryReserve(
+                createDTO.getTicketId(), createDTO.getUserId(), createDTO.getQuantity(), capacity))
+                .flatMap(admission -> {
+                    if (admission == ReservationLedger.Admission.DUPLICATE_HOLD) {
+                        return Mono.error(new IllegalArgumentException(
+                                "User already has an active reservation for this ticket"));
+                    }
+                    if (admission == ReservationLedger.Admission.SOLD_OUT) {
+                        return Mono.error(new IllegalArgumentException("Not enough tickets available"));
+                    }
+                    return reserveTickets(createDTO).then(Mono.defer(() -> insertBooking(createDTO, ticket)));
+                });
+    }
+
+    private Mono<Void> reserveTickets(BookingCreateDTO createDTO) {
+        return reactiveTicketServiceClient.reserveTickets(createDTO.getTicketId(), createDTO.getQuantity())
+                .onErrorResume(e -> {
+                    log.error("Failed to reserve tickets in ticket service", e);
+                    reservationLedger.release(createDTO.getTicketId(), createDTO.getUserId(), createDTO.getQuantity(), true);
+                    return Mono.error(new IllegalArgumentException("Failed to reserve tickets"));
+                });
+    }
+
+    private Mono<BookingDTO> insertBooking(BookingCreateDTO createDTO, TicketServiceClient.TicketDTO ticket) {
+        Booking booking = new Booking();
+        booking.setUserId(createDTO.getUserId());
+        booking.setTicketId(createDTO.getTicketId());
+        booking.setQuantity(createDTO.getQuantity());
+        booking.setTotalAmount(ticket.price().multiply(BigDecimal.valueOf(createDTO.getQuantity())));
+        booking.setStatus("RESERVED");
+        booking.setExpiryDate(LocalDateTime.now().plusMinutes(BookingService.RESERVATION_EXPIRY_MINUTES));
+
+        return reactiveBookingRepository.insert(booking)
+                .onErrorResume(e -> {
+                    reservationLedger.release(createDTO.getTicketId(), createDTO.getUserId(), createDTO.getQuantity(), true);
+                    return releaseTickets(createDTO.getTicketId(), createDTO.getQuantity())
+                            .then(Mono.error(e));
+                })
+                .flatMap(savedBooking -> {
+                    reservationExpiryScheduler.schedule(savedBooking.getId(), savedBooking.getExpiryDate());
+                    log.info("Booking reserved successfully with ID: {}", savedBooking.getId());
+                    return enrichBookingWithDetails(savedBooking);
+                });
+    }
+
+    private Mono<BookingDTO> confirmReserved(Booking booking) {
+        LocalDateTime now = LocalDateTime.now();
+        return reactiveBookingRepository.confirm(booking.getId(), now)
+                .flatMap(confirmed -> {
+                    // Expired or cancelled since it was read
+                    if (!confirmed) {
+                        return Mono.error(new IllegalArgumentException("Only reserved bookings can be confirmed"));
+                    }
+                    booking.setStatus("CONFIRMED");
+                    booking.setConfirmedDate(now);
+                    booking.setUpdatedAt(now);
+                    return onLedger(booking.getTicketId(), () -> {
+                        reservationLedger.confirm(booking.getTicketId(), booking.getUserId());
+                        return booking;
+                    });
+                })
+                .flatMap(confirmedBooking -> {
+                    log.info("Booking confirmed successfully with ID: {}", confirmedBooking.getId());
+                    return enrichBookingWithDetails(confirmedBooking);
+                });
+    }
+
+    private Mono<Void> expireBooking(Booking booking) {
+        log.info("Expiring booking with ID: {}", booking.getId());
+
+        // Only the caller that moves the booking out of RESERVED returns its seats
+        return reactiveBookingRepository.expire(booking.getId())
+                .filter(Boolean::booleanValue)
+                .flatMap(expired -> releaseTickets(booking.getTicketId(), booking.getQuantity())
+                        .then(onLedger(booking.getTicketId(), () -> {
+                            reservationLedger.release(booking.getTicketId(), booking.getUserId(), booking.getQuantity(), true);
+                            return booking;
+                        })))
+                .then();
+    }
+
+    /**
+     * Returns seats to ticket-service; a failed release is left to {@link TicketReleaseOutbox} to retry.
+     */
+    private Mono<Void> releaseTickets(Long ticketId, int quantity) {
+        return reactiveTicketServiceClient.releaseTickets(ticketId, quantity)
+                .onErrorResume(e -> Mono.<Void>fromRunnable(() -> ticketReleaseOutbox.releaseFailed(ticketId, quantity, e))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    private Mono<BookingDTO> enrichBookingWithDetails(Booking booking) {
+        Mono<Consumer<BookingDTO>> userName = reactiveAuthServiceClient.getUserName(booking.getUserId())
+                .<Consumer<BookingDTO>>map(name -> dto -> dto.setUserName(name))
+                .defaultIfEmpty(dto -> dto.setUserName(null))
+                .onErrorResume(e -> {
+                    log.warn("Failed to fetch user name for user ID: {}", booking.getUserId(), e);
+                    return Mono.just(dto -> dto.setUserName(BookingMapper.UNKNOWN_USER));
+                });
+        Mono<Consumer<BookingDTO>> ticketDetails = reactiveTicketServiceClient.getCachedTicketById(booking.getTicketId())
+                .<Consumer<BookingDTO>>map(ticket -> dto -> bookingMapper.applyTicketDetails(dto, ticket))
+                .defaultIfEmpty(dto -> { })
+                .onErrorResume(e -> {
+                    log.warn("Failed to fetch ticket details for ticket ID: {}", booking.getTicketId(), e);
+                    return Mono.just(bookingMapper::applyUnknownTicket);
+                });
+
+        return Mono.zip(userName, ticketDetails)
+                .map(details -> {
+                    BookingDTO dto = bookingMapper.toDTO(booking);
+                    details.getT1().accept(dto);
+                    details.getT2().accept(dto);
+                    return dto;
+                });
+    }
+
+    /**
+     * Runs a ledger operation, moving it off the event loop when the ticket must first be loaded
+     * from the database.
+     */
+    private <T> Mono<T> onLedger(Long ticketId, Supplier<T> operation) {
+        Mono<T> result = Mono.fromSupplier(operation);
+        return reservationLedger.isLoaded(ticketId) ? result : result.subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,76 @@
+package com.ticketing.bookingservice.service;
+
+import com.ticketing.bookingservice.repository.BookingRepository;
+import com.ticketing.bookingservice.utils.TimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Releases reservations as soon as their hold lapses. Every reserved booking is registered in a
+ * hierarchical timing wheel at its expiry date; each tick, the bookings that came due are expired
+ * in one batch through {@link ExpiredReservationSweeper#expire(List)}, which skips any that were
+ * confirmed or cancelled in the meantime, including changes still queued for write-behind.
+ * Pending holds are reloaded from the database at startup, and the periodic sweep still covers
+ * anything the wheel misses.
+ */
+@Slf4j
+@Component
+public class ReservationExpiryScheduler {
+
+    private final BookingRepository bookingRepository;
+    private final ExpiredReservationSweeper expiredReservationSweeper;
+    private final TimingWheel<Long> wheel;
+
+    public ReservationExpiryScheduler(BookingRepository bookingRepository,
+                                      ExpiredReservationSweeper expiredReservationSweeper,
+                                      @Value("${booking.expiry.wheel.tick:1000}") long tickMillis,
+                                      @Value("${booking.expiry.wheel.size:64}") int wheelSize,
+                                      @Value("${booking.expiry.wheel.levels:3}") int levels) {
+        this.bookingRepository = bookingRepository;
+        this.expiredReservationSweeper = expiredReservationSweeper;
+        this.wheel = new TimingWheel<>(tickMillis, wheelSize, levels, System.currentTimeMillis());
+    }
+
+    public void schedule(Long bookingId, LocalDateTime expiryDate) {
+        long deadline = expiryDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        synchronized (wheel) {
+            wheel.schedule(bookingId, deadline);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        List<Object[]> pending = bookingRepository.findPendingReservationExpiries(LocalDateTime.now());
+        for (Object[] row : pending) {
+            schedule((Long) row[0], (LocalDateTime) row[1]);
+        }
+        log.info("Scheduled expiry for {} pending reservations", pending.size());
+    }
+
+    @Scheduled(fixedRateString = "${booking.expiry.wheel.tick:1000}")
+    public void tick() {
+        List<Long> due;
+        synchronized (wheel) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        try {
+            int expired = expiredReservationSweeper.expire(due);
+            log.debug("Expiry tick: {} holds due, {} expired", due.size(), expired);
+        } catch (Exception e) {
+            // The periodic sweep picks these up later
+            log.error("Failed to expire {} due reservations", due.size(), e);
+        }
+    }
+}
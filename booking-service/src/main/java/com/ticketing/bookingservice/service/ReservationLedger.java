@@ -0,0 +1,204 @@
+package com.ticketing.bookingservice.service;
+
+import com.ticketing.bookingservice.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory, per-ticket count of active (reserved or confirmed) seats and of the users holding a
+ * reservation, so admission checks are O(1) instead of aggregating the bookings table.
+ *
+ * <p>The ledger is an admission filter local to this instance; ticket-service's conditional
+ * inventory update remains the authority against overselling. Tickets are loaded from the database
+ * on first use, and reconciled with the database at startup and periodically to pick up changes made
+ * by other booking-service instances.
+ *
+ * <p>Reconciling happens per ticket, in place. A ticket changed by this instance within
+ * {@code quiet-period} before the query started is skipped until a later run: its own bookings may
+ * not have reached the database yet (in flight or queued for write-behind), and overwriting it with
+ * the query's older view would lose them.
+ */
+@Slf4j
+@Component
+public class ReservationLedger {
+
+    public enum Admission { ADMITTED, DUPLICATE_HOLD, SOLD_OUT }
+
+    private final BookingRepository bookingRepository;
+    private final long quietPeriodNanos;
+
+    private final Map<Long, TicketLedger> tickets = new ConcurrentHashMap<>();
+
+    public ReservationLedger(BookingRepository bookingRepository,
+                             @Value("${booking.ledger.quiet-period:10s}") Duration quietPeriod) {
+        this.bookingRepository = bookingRepository;
+        this.quietPeriodNanos = quietPeriod.toNanos();
+    }
+
+    /**
+     * @param capacity the ticket's capacity, or {@code null} for a ticket whose inventory
+     *                 ticket-service does not track; only duplicate holds are refused for those
+     */
+    public Admission tryReserve(Long ticketId, Long userId, int quantity, Integer capacity) {
+        TicketLedger ledger = ledgerFor(ticketId);
+        ledger.lock.readLock().lock();
+        try {
+            ledger.touch();
+            if (!ledger.holders.add(userId)) {
+                return Admission.DUPLICATE_HOLD;
+            }
+
+            int active;
+            do {
+                active = ledger.active.get();
+                if (capacity != null && active + quantity > capacity) {
+                    ledger.holders.remove(userId);
+                    return Admission.SOLD_OUT;
+                }
+            } while (!ledger.active.compareAndSet(active, active + quantity));
+
+            return Admission.ADMITTED;
+        } finally {
+            ledger.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records that a reservation became a sale: the seats stay taken, but the user no longer holds
+     * an open reservation for the ticket.
+     */
+    public void confirm(Long ticketId, Long userId) {
+        TicketLedger ledger = ledgerFor(ticketId);
+        ledger.lock.readLock().lock();
+        try {
+            ledger.touch();
+            ledger.holders.remove(userId);
+        } finally {
+            ledger.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns seats to the pool after a cancellation, expiry or failed reservation. Releasing more
+     * seats than the ledger counts means it undercounted; that is logged, and the count is kept at
+     * zero until the next reconcile corrects it.
+     */
+    public void release(Long ticketId, Long userId, int quantity, boolean wasReserved) {
+        TicketLedger ledger = ledgerFor(ticketId);
+        ledger.lock.readLock().lock();
+        try {
+            ledger.touch();
+            int before = ledger.active.getAndUpdate(active -> Math.max(0, active - quantity));
+            if (before < quantity) {
+                log.warn("Reservation ledger undercounted ticket {}: released {} seats with {} counted",
+                        ticketId, quantity, before);
+            }
+            if (wasReserved) {
+                ledger.holders.remove(userId);
+            }
+        } finally {
+            ledger.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the ticket is in memory, i.e. using it will not query the database.
+     */
+    public boolean isLoaded(Long ticketId) {
+        return tickets.containsKey(ticketId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${booking.ledger.resync-interval:60000}",
+               fixedDelayString = "${booking.ledger.resync-interval:60000}")
+    public void rebuild() {
+        long fence = System.nanoTime() - quietPeriodNanos;
+
+        Map<Long, Integer> activeByTicket = new HashMap<>();
+        for (Object[] row : bookingRepository.sumActiveQuantityGroupedByTicketId()) {
+            activeByTicket.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        Map<Long, Set<Long>> holdersByTicket = new HashMap<>();
+        for (Object[] row : bookingRepository.findReservedTicketHolders()) {
+            holdersByTicket.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+        }
+
+        Set<Long> ticketIds = new HashSet<>(tickets.keySet());
+        ticketIds.addAll(activeByTicket.keySet());
+        ticketIds.addAll(holdersByTicket.keySet());
+        int skipped = 0;
+        for (Long ticketId : ticketIds) {
+            int active = activeByTicket.getOrDefault(ticketId, 0);
+            Set<Long> holders = holdersByTicket.getOrDefault(ticketId, Set.of());
+            TicketLedger ledger = tickets.get(ticketId);
+            if (ledger == null) {
+                // Loaded concurrently in the meantime: that load read the database later than we did
+                tickets.putIfAbsent(ticketId, new TicketLedger(active, holders));
+            } else if (!ledger.reconcile(active, holders, fence)) {
+                skipped++;
+            }
+        }
+        log.debug("Reservation ledger reconciled {} tickets, skipped {} changed recently", ticketIds.size() - skipped, skipped);
+    }
+
+    private TicketLedger ledgerFor(Long ticketId) {
+        return tickets.computeIfAbsent(ticketId, this::load);
+    }
+
+    private TicketLedger load(Long ticketId) {
+        Long active = bookingRepository.sumQuantityByTicketIdAndActiveStatus(ticketId);
+        List<Long> holders = bookingRepository.findReservedUserIdsByTicketId(ticketId);
+        return new TicketLedger(active != null ? active.intValue() : 0, holders);
+    }
+
+    private static final class TicketLedger {
+        private final AtomicInteger active = new AtomicInteger();
+        private final Set<Long> holders = ConcurrentHashMap.newKeySet();
+        // Changes share the read lock and stay concurrent with each other; only a reconcile,
+        // which replaces both fields together, excludes them
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile long lastChanged = System.nanoTime();
+
+        private TicketLedger(int active, Iterable<Long> holders) {
+            this.active.set(active);
+            holders.forEach(this.holders::add);
+        }
+
+        private void touch() {
+            lastChanged = System.nanoTime();
+        }
+
+        /**
+         * Takes the database's counts unless this ticket changed after {@code fence}.
+         */
+        private boolean reconcile(int active, Set<Long> holders, long fence) {
+            lock.writeLock().lock();
+            try {
+                if (lastChanged - fence >= 0) {
+                    return false;
+                }
+                this.active.set(active);
+                this.holders.retainAll(holders);
+                this.holders.addAll(holders);
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
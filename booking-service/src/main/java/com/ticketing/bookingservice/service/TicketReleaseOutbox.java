@@ -0,0 +1,157 @@
+package com.ticketing.bookingservice.service;
+
+import com.ticketing.bookingservice.client.TicketReservationClient;
+import com.ticketing.common.resilience.ClientErrorPredicate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Returns seats to ticket-service through the {@code ticket_releases} table. A release is recorded
+ * first and deleted once ticket-service has accepted it; releases that fail because ticket-service
+ * is unavailable stay and are retried every {@code retry-interval}. Delivery claims due rows by
+ * pushing their next attempt out, so instances draining the table concurrently never send the same
+ * release twice at once, and a release claimed by an instance that died is retried after the
+ * interval.
+ */
+@Slf4j
+@Component
+public class TicketReleaseOutbox {
+
+    private static final String INSERT_SQL = "INSERT INTO ticket_releases "
+            + "(ticket_id, quantity, attempts, next_attempt_at, created_at) VALUES (?, ?, 0, ?, ?)";
+
+    private static final String CLAIM_SQL = "UPDATE ticket_releases SET attempts = attempts + 1, next_attempt_at = ? "
+            + "WHERE id IN (SELECT id FROM ticket_releases WHERE next_attempt_at <= ? "
+            + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) "
+            + "RETURNING id, ticket_id, quantity, attempts";
+
+    private static final String DELETE_SQL = "DELETE FROM ticket_releases WHERE id = ?";
+
+    private static final RowMapper<PendingRelease> PENDING_RELEASE_MAPPER = (rs, rowNum) -> new PendingRelease(
+            rs.getLong("id"), rs.getLong("ticket_id"), rs.getInt("quantity"), rs.getInt("attempts"));
+
+    private static final ClientErrorPredicate CLIENT_ERROR = new ClientErrorPredicate();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TicketReservationClient ticketReservationClient;
+    private final TransactionTemplate newTransaction;
+    private final Duration retryInterval;
+    private final int batchSize;
+
+    public TicketReleaseOutbox(JdbcTemplate jdbcTemplate,
+                               TicketReservationClient ticketReservationClient,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${booking.release-outbox.retry-interval:10000}") long retryIntervalMillis,
+                               @Value("${booking.release-outbox.batch-size:100}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ticketReservationClient = ticketReservationClient;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.retryInterval = Duration.ofMillis(retryIntervalMillis);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the seats now, or records them for retry if ticket-service cannot be reached.
+     */
+    public void release(Long ticketId, int quantity) {
+        try {
+            ticketReservationClient.releaseTickets(ticketId, quantity);
+        } catch (Exception e) {
+            releaseFailed(ticketId, quantity, e);
+        }
+    }
+
+    /**
+     * Like {@link #release}, for seats held by a transaction that rolled back. Runs after the
+     * rollback, where the retry row would otherwise be written through the finished transaction's
+     * connection and never committed, so it is written in a transaction of its own.
+     */
+    public void releaseAfterRollback(Long ticketId, int quantity) {
+        try {
+            ticketReservationClient.releaseTickets(ticketId, quantity);
+        } catch (Exception e) {
+            newTransaction.executeWithoutResult(status -> releaseFailed(ticketId, quantity, e));
+        }
+    }
+
+    /**
+     * Records seats that could not be returned for retry, unless ticket-service refused them for
+     * good (unknown ticket, release beyond capacity).
+     */
+    public void releaseFailed(Long ticketId, int quantity, Throwable cause) {
+        if (CLIENT_ERROR.test(cause)) {
+            log.error("ticket-service refused to release {} tickets for ticket ID {}", quantity, ticketId, cause);
+            return;
+        }
+        log.warn("Failed to release {} tickets for ticket ID {}, will retry: {}", quantity, ticketId, cause.toString());
+        add(ticketId, quantity, LocalDateTime.now().plus(retryInterval));
+    }
+
+    /**
+     * Records seats to return; they are sent by the next {@link #deliver()} at or after {@code notBefore}.
+     */
+    public void add(Long ticketId, int quantity, LocalDateTime notBefore) {
+        jdbcTemplate.update(INSERT_SQL, ticketId, quantity, notBefore, LocalDateTime.now());
+    }
+
+    /**
+     * Sends every release that is due.
+     *
+     * @return the number of releases taken off the outbox
+     */
+    @Scheduled(fixedDelayString = "${booking.release-outbox.retry-interval:10000}")
+    public int deliver() {
+        int done = 0;
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            List<PendingRelease> batch = jdbcTemplate.query(CLAIM_SQL, PENDING_RELEASE_MAPPER,
+                    now.plus(retryInterval), now, batchSize);
+            if (batch.isEmpty()) {
+                return done;
+            }
+            for (PendingRelease release : batch) {
+                if (send(release)) {
+                    jdbcTemplate.update(DELETE_SQL, release.id());
+                    done++;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return whether the release is done with: accepted, or refused for good by ticket-service
+     */
+    private boolean send(PendingRelease release) {
+        try {
+            ticketReservationClient.releaseTickets(release.ticketId(), release.quantity());
+            if (release.attempts() > 1) {
+                log.info("Released {} tickets for ticket ID {} after {} attempts",
+                        release.quantity(), release.ticketId(), release.attempts());
+            }
+            return true;
+        } catch (Exception e) {
+            if (CLIENT_ERROR.test(e)) {
+                log.error("ticket-service refused to release {} tickets for ticket ID {}, dropping the release",
+                        release.quantity(), release.ticketId(), e);
+                return true;
+            }
+            log.warn("Failed to release {} tickets for ticket ID {} (attempt {}), will retry: {}",
+                    release.quantity(), release.ticketId(), release.attempts(), e.toString());
+            return false;
+        }
+    }
+
+    private record PendingRelease(long id, long ticketId, int quantity, int attempts) {}
+}
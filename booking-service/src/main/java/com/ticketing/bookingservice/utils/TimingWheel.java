@@ -0,0 +1,119 @@
+package com.ticketing.bookingservice.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Level 0 has {@code wheelSize} buckets of one tick each; every level
+ * above covers {@code wheelSize} times the span of the one below. Scheduling is O(1); when time
+ * advances into a higher-level bucket its entries cascade down to finer levels, and entries in the
+ * level-0 bucket of the current tick are returned as due. Deadlines beyond the top level are parked
+ * in its furthest bucket and re-placed when that bucket cascades.
+ *
+ * <p>Not thread-safe on its own; callers serialize access.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] levelTicks;
+    private final List<List<Entry<T>>[]> levels = new ArrayList<>();
+    private final List<T> due = new ArrayList<>();
+
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levelTicks = new long[levelCount + 1];
+        this.levelTicks[0] = 1;
+        for (int level = 1; level <= levelCount; level++) {
+            levelTicks[level] = Math.multiplyExact(levelTicks[level - 1], wheelSize);
+        }
+        for (int level = 0; level < levelCount; level++) {
+            @SuppressWarnings("unchecked")
+            List<Entry<T>>[] buckets = new List[wheelSize];
+            levels.add(buckets);
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public void schedule(T item, long deadlineMillis) {
+        // Round up so an entry never fires before its deadline
+        long deadlineTick = (deadlineMillis + tickMillis - 1) / tickMillis;
+        place(new Entry<>(item, deadlineTick));
+        size++;
+    }
+
+    /**
+     * Advances the wheel to {@code nowMillis}.
+     *
+     * @return the items whose deadline has passed, in no particular order
+     */
+    public List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = levels.size() - 1; level >= 1; level--) {
+                if (currentTick % levelTicks[level] == 0) {
+                    for (Entry<T> entry : drain(level, currentTick)) {
+                        place(entry);
+                    }
+                }
+            }
+            for (Entry<T> entry : drain(0, currentTick)) {
+                due.add(entry.item());
+            }
+        }
+
+        List<T> fired = new ArrayList<>(due);
+        due.clear();
+        size -= fired.size();
+        return fired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void place(Entry<T> entry) {
+        long delay = entry.deadlineTick() - currentTick;
+        if (delay <= 0) {
+            due.add(entry.item());
+            return;
+        }
+
+        int topLevel = levels.size() - 1;
+        for (int level = 0; level <= topLevel; level++) {
+            if (delay < levelTicks[level + 1]) {
+                bucket(level, entry.deadlineTick()).add(entry);
+                return;
+            }
+        }
+        // Beyond the wheel's horizon: park in the furthest top-level bucket and re-place later
+        bucket(topLevel, currentTick + levelTicks[topLevel + 1] - 1).add(entry);
+    }
+
+    private List<Entry<T>> bucket(int level, long tick) {
+        List<Entry<T>>[] buckets = levels.get(level);
+        int index = (int) ((tick / levelTicks[level]) % wheelSize);
+        if (buckets[index] == null) {
+            buckets[index] = new ArrayList<>();
+        }
+        return buckets[index];
+    }
+
+    private List<Entry<T>> drain(int level, long tick) {
+        List<Entry<T>>[] buckets = levels.get(level);
+        int index = (int) ((tick / levelTicks[level]) % wheelSize);
+        List<Entry<T>> entries = buckets[index];
+        buckets[index] = null;
+        return entries != null ? entries : List.of();
+    }
+
+    private record Entry<T>(T item, long deadlineTick) {}
+}
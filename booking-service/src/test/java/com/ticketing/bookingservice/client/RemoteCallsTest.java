@@ -0,0 +1,50 @@
+package com.ticketing.bookingservice.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RemoteCallsTest {
+
+    private final RemoteCalls remoteCalls = new RemoteCalls(4, 16, Duration.ofMillis(500), false);
+
+    @Test
+    void independentCallsOverlap() {
+        long start = System.nanoTime();
+        CompletableFuture<String> first = remoteCalls.submit(() -> sleepAndReturn(300, "user"));
+        CompletableFuture<String> second = remoteCalls.submit(() -> sleepAndReturn(300, "ticket"));
+
+        assertEquals("user", RemoteCalls.join(first));
+        assertEquals("ticket", RemoteCalls.join(second));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 550);
+    }
+
+    @Test
+    void failuresAndTimeoutsSurfaceOnJoin() {
+        CompletableFuture<String> failing = remoteCalls.submit(() -> {
+            throw new IllegalArgumentException("Ticket not found");
+        });
+        CompletableFuture<String> slow = remoteCalls.submit(() -> sleepAndReturn(2000, "late"));
+
+        assertThrows(IllegalArgumentException.class, () -> RemoteCalls.join(failing));
+        CompletionException timeout = assertThrows(CompletionException.class, () -> RemoteCalls.join(slow));
+        assertInstanceOf(TimeoutException.class, timeout.getCause());
+    }
+
+    private static String sleepAndReturn(long millis, String value) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ticketing.bookingservice.client;
+
+import com.ticketing.bookingservice.config.CacheConfiguration;
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TicketServiceFallbackFactoryTest {
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfiguration.LAST_KNOWN_TICKETS);
+    private final TicketServiceFallbackFactory fallbackFactory = new TicketServiceFallbackFactory(cacheManager);
+
+    private final TicketServiceClient.TicketDTO ticket = new TicketServiceClient.TicketDTO(
+            1L, 10L, "Concert", "Arena", BigDecimal.TEN, true, 100, 40, null);
+
+    @Test
+    void servesLastKnownTicketsWhileUnavailable() {
+        cacheManager.getCache(CacheConfiguration.LAST_KNOWN_TICKETS).put(1L, ticket);
+        ExecutionException cause = new ExecutionException(new RuntimeException("Connection refused"));
+        TicketServiceClient fallback = fallbackFactory.create(cause);
+
+        assertSame(ticket, fallback.getTicketById(1L));
+        assertEquals(List.of(ticket), fallback.getTicketsByIds(Set.of(1L, 2L)));
+        assertThrows(RuntimeException.class, () -> fallback.getTicketById(2L));
+        assertThrows(RuntimeException.class, fallback::getAvailableTickets);
+        assertThrows(RuntimeException.class,
+                () -> new TicketReservationFallbackFactory().create(cause).reserveTickets(1L, 2));
+    }
+
+    @Test
+    void clientErrorsAreNotAnsweredFromStaleData() {
+        cacheManager.getCache(CacheConfiguration.LAST_KNOWN_TICKETS).put(1L, ticket);
+        Request request = Request.create(Request.HttpMethod.GET, "/api/tickets/1", new HashMap<>(),
+                null, StandardCharsets.UTF_8, null);
+        FeignException.NotFound notFound = new FeignException.NotFound("Not Found", request, null, null);
+        TicketServiceClient fallback = fallbackFactory.create(new ExecutionException(notFound));
+
+        assertSame(notFound, assertThrows(FeignException.NotFound.class, () -> fallback.getTicketById(1L)));
+    }
+}
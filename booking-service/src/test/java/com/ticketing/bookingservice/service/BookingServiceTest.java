@@ -0,0 +1,128 @@
+package com.ticketing.bookingservice.service;
+
+import com.ticketing.bookingservice.client.RemoteCalls;
+import com.ticketing.bookingservice.client.TicketReservationClient;
+import com.ticketing.bookingservice.client.TicketServiceCache;
+import com.ticketing.bookingservice.client.TicketServiceClient;
+import com.ticketing.bookingservice.dto.BookingCreateDTO;
+import com.ticketing.bookingservice.mapper.BookingMapper;
+import com.ticketing.bookingservice.model.Booking;
+import com.ticketing.bookingservice.repository.BookingRepository;
+import com.ticketing.common.auth.AuthServiceCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class BookingServiceTest {
+
+    private static final TicketServiceClient.TicketDTO TICKET = new TicketServiceClient.TicketDTO(
+            3L, 1L, "Concert", "Arena", new BigDecimal("25.00"), true, 100, 100, null);
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final TicketServiceClient ticketServiceClient = mock(TicketServiceClient.class);
+    private final TicketReservationClient ticketReservationClient = mock(TicketReservationClient.class);
+    private final AuthServiceCache authServiceCache = mock(AuthServiceCache.class);
+    private final ReservationLedger ledger = mock(ReservationLedger.class);
+    private final TicketReleaseOutbox outbox = mock(TicketReleaseOutbox.class);
+    private final ReservationExpiryScheduler scheduler = mock(ReservationExpiryScheduler.class);
+    private final BookingService service = new BookingService(bookingRepository, ticketServiceClient,
+            ticketReservationClient, authServiceCache, mock(TicketServiceCache.class), ledger,
+            mock(BookingWriteBehind.class), mock(ExpiredReservationSweeper.class), outbox, scheduler,
+            new RemoteCalls(2, 10, Duration.ofSeconds(5), false), new BookingMapper());
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(authServiceCache.validateUser(7L)).thenReturn(true);
+        when(ticketServiceClient.getTicketById(3L)).thenReturn(TICKET);
+        when(ledger.tryReserve(3L, 7L, 2, 100)).thenReturn(ReservationLedger.Admission.ADMITTED);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(42L);
+            return booking;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void schedulesExpiryOnlyOnceTheBookingCommits() {
+        service.reserveBooking(request());
+        verify(scheduler, never()).schedule(any(), any());
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(scheduler).schedule(eq(42L), any());
+        verify(outbox, never()).releaseAfterRollback(anyLong(), anyInt());
+        verify(ledger, never()).release(anyLong(), anyLong(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    void returnsTheSeatsWhenTheBookingRollsBack() {
+        service.reserveBooking(request());
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(ledger).release(3L, 7L, 2, true);
+        verify(outbox).releaseAfterRollback(3L, 2);
+        verify(scheduler, never()).schedule(any(), any());
+    }
+
+    @Test
+    void leavesExpiredBookingsToTheSweeper() {
+        Booking booking = new Booking();
+        booking.setId(42L);
+        booking.setUserId(7L);
+        booking.setTicketId(3L);
+        booking.setQuantity(2);
+        booking.setStatus("RESERVED");
+        booking.setExpiryDate(LocalDateTime.now().minusMinutes(1));
+        when(bookingRepository.findById(42L)).thenReturn(Optional.of(booking));
+
+        assertThrows(IllegalArgumentException.class, () -> service.confirmBooking(42L));
+
+        assertEquals("RESERVED", booking.getStatus());
+        verifyNoInteractions(outbox);
+        verify(ledger, never()).release(anyLong(), anyLong(), anyInt(), anyBoolean());
+    }
+
+    private static void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    private static BookingCreateDTO request() {
+        BookingCreateDTO request = new BookingCreateDTO();
+        request.setUserId(7L);
+        request.setTicketId(3L);
+        request.setQuantity(2);
+        return request;
+    }
+}
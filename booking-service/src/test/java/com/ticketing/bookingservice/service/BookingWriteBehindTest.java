@@ -0,0 +1,210 @@
+package com.ticketing.bookingservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.ticketing.bookingservice.model.Booking;
+import com.ticketing.bookingservice.repository.BookingRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class BookingWriteBehindTest {
+
+    // Long enough that nothing is flushed before stop() drains the queue
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    @TempDir
+    Path journalDir;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final List<Statement> executed = new ArrayList<>();
+
+    private BookingWriteBehind writeBehind;
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        if (writeBehind != null) {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    void replaysJournalSegmentsLeftByACrash() throws Exception {
+        Booking booking = booking(1L, "RESERVED");
+        Booking confirmed = booking(1L, "CONFIRMED");
+        Path segment = journalDir.resolve("bookings-000000000007.log");
+        Files.writeString(segment,
+                objectMapper.writeValueAsString(new BookingWriteBehind.PendingWrite(BookingWriteBehind.Kind.INSERT, booking)) + "\n"
+                        + objectMapper.writeValueAsString(new BookingWriteBehind.PendingWrite(BookingWriteBehind.Kind.UPDATE, confirmed)) + "\n"
+                        + "{\"kind\":\"UPD");
+        recordStatements();
+
+        writeBehind = start(NEVER, 100, 3);
+
+        assertEquals(List.of(new Statement("INSERT", 1L, "CONFIRMED")), executed);
+        assertFalse(Files.exists(segment));
+    }
+
+    @Test
+    void queuedStateIsVisibleAndFlushedInOrder() throws Exception {
+        recordStatements();
+        writeBehind = start(NEVER, 100, 3);
+
+        writeBehind.insert(booking(1L, "RESERVED"));
+        writeBehind.update(booking(1L, "CONFIRMED"));
+        writeBehind.insert(booking(2L, "RESERVED"));
+
+        assertEquals("CONFIRMED", writeBehind.find(1L).orElseThrow().getStatus());
+        assertEquals(Set.of(1L, 2L), writeBehind.pendingIds());
+
+        writeBehind.stop();
+
+        assertEquals(List.of(new Statement("INSERT", 1L, "CONFIRMED"), new Statement("INSERT", 2L, "RESERVED")), executed);
+        assertTrue(writeBehind.pendingIds().isEmpty());
+    }
+
+    @Test
+    void retriesTransientFailures() throws Exception {
+        int[] failures = {2};
+        doAnswer(invocation -> {
+            if (failures[0]-- > 0) {
+                throw new TransientDataAccessResourceException("Connection reset");
+            }
+            record(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList(), any(int[].class));
+        writeBehind = start(NEVER, 100, 3);
+
+        writeBehind.insert(booking(1L, "RESERVED"));
+        writeBehind.stop();
+
+        assertEquals(List.of(new Statement("INSERT", 1L, "RESERVED")), executed);
+        assertFalse(Files.exists(journalDir.resolve(BookingWriteBehind.DEAD_LETTER_FILE)));
+    }
+
+    @Test
+    void deadLettersRefusedWritesAndFlushesTheRest() throws Exception {
+        doAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            if (rows.stream().anyMatch(row -> Long.valueOf(2L).equals(row[0]))) {
+                throw new DataIntegrityViolationException("null value in column \"total_amount\"");
+            }
+            record(invocation.getArgument(0), rows);
+            return null;
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList(), any(int[].class));
+        writeBehind = start(NEVER, 100, 3);
+
+        writeBehind.insert(booking(1L, "RESERVED"));
+        writeBehind.insert(booking(2L, "RESERVED"));
+        writeBehind.stop();
+
+        assertEquals(List.of(new Statement("INSERT", 1L, "RESERVED")), executed);
+        List<String> deadLetters = Files.readAllLines(journalDir.resolve(BookingWriteBehind.DEAD_LETTER_FILE));
+        assertEquals(1, deadLetters.size());
+        assertEquals(2L, objectMapper.readValue(deadLetters.get(0), BookingWriteBehind.PendingWrite.class).booking().getId());
+        assertTrue(writeBehind.pendingIds().isEmpty());
+    }
+
+    @Test
+    void deadLettersWritesThatKeepFailing() throws Exception {
+        doAnswer(invocation -> {
+            throw new TransientDataAccessResourceException("Connection refused");
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList(), any(int[].class));
+        writeBehind = start(NEVER, 100, 2);
+
+        writeBehind.insert(booking(1L, "RESERVED"));
+        writeBehind.stop();
+
+        assertEquals(1, Files.readAllLines(journalDir.resolve(BookingWriteBehind.DEAD_LETTER_FILE)).size());
+    }
+
+    @Test
+    void refusesWritesBeyondTheQueueLimit() throws Exception {
+        recordStatements();
+        writeBehind = start(NEVER, 2, 3);
+
+        writeBehind.insert(booking(1L, "RESERVED"));
+        writeBehind.insert(booking(2L, "RESERVED"));
+
+        assertThrows(IllegalStateException.class, () -> writeBehind.insert(booking(3L, "RESERVED")));
+    }
+
+    @Test
+    void expiresLapsedQueuedReservations() throws Exception {
+        recordStatements();
+        writeBehind = start(NEVER, 100, 3);
+        Booking lapsed = booking(1L, "RESERVED");
+        lapsed.setExpiryDate(LocalDateTime.now().minusMinutes(1));
+        writeBehind.insert(lapsed);
+        writeBehind.insert(booking(2L, "RESERVED"));
+
+        List<Booking> expired = writeBehind.expirePending(null, LocalDateTime.now());
+
+        assertEquals(List.of(1L), expired.stream().map(Booking::getId).toList());
+        assertEquals("EXPIRED", writeBehind.find(1L).orElseThrow().getStatus());
+        assertEquals("RESERVED", writeBehind.find(2L).orElseThrow().getStatus());
+    }
+
+    private BookingWriteBehind start(Duration flushLatency, int maxPending, int maxAttempts) throws Exception {
+        BookingWriteBehind started = new BookingWriteBehind(mock(BookingRepository.class), jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), mock(EntityManager.class), objectMapper,
+                true, 200, flushLatency, journalDir, true, maxPending, maxAttempts, Duration.ofMillis(1));
+        started.start();
+        return started;
+    }
+
+    private void recordStatements() {
+        doAnswer(invocation -> {
+            record(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList(), any(int[].class));
+    }
+
+    private void record(String sql, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            executed.add(sql.startsWith("INSERT")
+                    ? new Statement("INSERT", (Long) row[0], (String) row[5])
+                    : new Statement("UPDATE", (Long) row[5], (String) row[0]));
+        }
+    }
+
+    private static Booking booking(Long id, String status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setUserId(7L);
+        booking.setTicketId(3L);
+        booking.setQuantity(2);
+        booking.setTotalAmount(BigDecimal.TEN);
+        booking.setStatus(status);
+        booking.setExpiryDate(LocalDateTime.now().plusMinutes(15));
+        return booking;
+    }
+
+    private record Statement(String kind, Long bookingId, String status) {}
+}
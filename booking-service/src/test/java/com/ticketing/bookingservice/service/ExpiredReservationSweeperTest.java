@@ -0,0 +1,152 @@
+package com.ticketing.bookingservice.service;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs sweeps against PostgreSQL: the claim is a single UPDATE ... RETURNING with FOR UPDATE SKIP
+ * LOCKED, wrapped in a CTE that writes the releases, none of which an in-memory database runs.
+ * The schema comes from the entities; sweeps run outside a test transaction, on their own threads.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExpiredReservationSweeperTest {
+
+    private static final EmbeddedPostgres postgres = start();
+
+    private static final int TICKETS = 6;
+    private static final int EXPIRED_PER_TICKET = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ReservationLedger ledger = mock(ReservationLedger.class);
+    private final TicketReleaseOutbox outbox = mock(TicketReleaseOutbox.class);
+
+    private final Map<Long, Integer> expiredSeatsByTicket = new HashMap<>();
+    private long nextId;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM ticket_releases");
+        LocalDateTime now = LocalDateTime.now();
+        for (long ticketId = 1; ticketId <= TICKETS; ticketId++) {
+            for (int i = 1; i <= EXPIRED_PER_TICKET; i++) {
+                insert(ticketId, "RESERVED", i, now.minusMinutes(i));
+                expiredSeatsByTicket.merge(ticketId, i, Integer::sum);
+            }
+            insert(ticketId, "RESERVED", 1, now.plusMinutes(10));
+            insert(ticketId, "CONFIRMED", 1, now.minusMinutes(1));
+            insert(ticketId, "CANCELLED", 1, now.minusMinutes(1));
+        }
+    }
+
+    @Test
+    void claimsOnlyExpiredReservations() {
+        int expired = sweeper(4, 3).sweep();
+
+        assertEquals(TICKETS * EXPIRED_PER_TICKET, expired);
+        assertEquals(TICKETS * EXPIRED_PER_TICKET, count("EXPIRED"));
+        assertEquals(TICKETS, count("RESERVED"));
+        assertEquals(TICKETS, count("CONFIRMED"));
+        assertEquals(TICKETS, count("CANCELLED"));
+        assertEquals(0, sweeper(4, 3).sweep());
+    }
+
+    @Test
+    void concurrentSweepsClaimEachReservationOnce() {
+        ExpiredReservationSweeper first = sweeper(4, 2);
+        ExpiredReservationSweeper second = sweeper(4, 2);
+
+        CompletableFuture<Integer> a = CompletableFuture.supplyAsync(first::sweep);
+        CompletableFuture<Integer> b = CompletableFuture.supplyAsync(second::sweep);
+
+        assertEquals(TICKETS * EXPIRED_PER_TICKET, a.join() + b.join());
+        verify(ledger, times(TICKETS * EXPIRED_PER_TICKET)).release(anyLong(), anyLong(), anyInt(), anyBoolean());
+        assertEquals(expiredSeatsByTicket, releasedSeatsByTicket());
+    }
+
+    @Test
+    void writesOneReleasePerClaimedBookingWithSinglePages() {
+        sweeper(2, 1).sweep();
+
+        assertEquals(TICKETS * EXPIRED_PER_TICKET,
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ticket_releases", Integer.class));
+        assertEquals(expiredSeatsByTicket, releasedSeatsByTicket());
+    }
+
+    private ExpiredReservationSweeper sweeper(int partitions, int pageSize) {
+        return new ExpiredReservationSweeper(jdbcTemplate, outbox, ledger, mock(BookingWriteBehind.class),
+                partitions, pageSize, false);
+    }
+
+    private void insert(long ticketId, String status, int quantity, LocalDateTime expiryDate) {
+        long id = ++nextId;
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO bookings (id, user_id, ticket_id, quantity, total_amount, status, "
+                        + "booking_date, expiry_date, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                id, id, ticketId, quantity, quantity * 10, status, now, expiryDate, now, now);
+    }
+
+    private int count(String status) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE status = ?", Integer.class, status);
+    }
+
+    private Map<Long, Integer> releasedSeatsByTicket() {
+        Map<Long, Integer> released = new HashMap<>();
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT ticket_id, SUM(quantity) AS quantity FROM ticket_releases GROUP BY ticket_id");
+        for (Map<String, Object> row : rows) {
+            released.put(((Number) row.get("ticket_id")).longValue(), ((Number) row.get("quantity")).intValue());
+        }
+        return released;
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded PostgreSQL", e);
+        }
+    }
+}
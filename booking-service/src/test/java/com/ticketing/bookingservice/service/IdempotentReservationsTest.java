@@ -0,0 +1,164 @@
+package com.ticketing.bookingservice.service;
+
+import com.ticketing.bookingservice.config.CacheConfiguration;
+import com.ticketing.bookingservice.dto.BookingCreateDTO;
+import com.ticketing.bookingservice.dto.BookingDTO;
+import com.ticketing.bookingservice.model.IdempotencyRecord;
+import com.ticketing.bookingservice.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotentReservationsTest {
+
+    private final BookingService bookingService = mock(BookingService.class);
+    private final IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+    private final IdempotentReservations reservations = new IdempotentReservations(bookingService, repository,
+            new ConcurrentMapCacheManager(CacheConfiguration.IDEMPOTENT_RESERVATIONS),
+            Duration.ofHours(24), Duration.ofMinutes(2));
+
+    @Test
+    void concurrentDuplicatesShareOneReservation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BookingDTO booking = booking(42L);
+        when(repository.claim(anyString(), anyString(), any(LocalDateTime.class))).thenReturn(1);
+        when(bookingService.reserveBooking(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return booking;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<BookingDTO>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> reservations.reserve("retry-1", 7L, request(2))));
+        }
+        Thread.sleep(200);
+        release.countDown();
+        for (Future<BookingDTO> result : results) {
+            assertSame(booking, result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // Later retries are answered from memory
+        assertSame(booking, reservations.reserve("retry-1", 7L, request(2)));
+        verify(bookingService, times(1)).reserveBooking(any());
+        verify(repository).complete("7:retry-1", 42L);
+    }
+
+    @Test
+    void replaysBookingClaimedByAnotherInstance() {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setIdempotencyKey("7:retry-2");
+        record.setRequestFingerprint("3:2");
+        record.setBookingId(42L);
+        when(repository.claim(eq("7:retry-2"), anyString(), any(LocalDateTime.class))).thenReturn(0);
+        when(repository.findById("7:retry-2")).thenReturn(Optional.of(record));
+        when(bookingService.getBookingById(42L)).thenReturn(Optional.of(booking(42L)));
+
+        assertEquals(42L, reservations.reserve("retry-2", 7L, request(2)).getId());
+        assertThrows(IllegalArgumentException.class, () -> reservations.reserve("retry-2", 7L, request(5)));
+
+        record.setBookingId(null);
+        when(repository.findById("7:retry-3")).thenReturn(Optional.of(record));
+        record.setIdempotencyKey("7:retry-3");
+        assertThrows(IllegalStateException.class, () -> reservations.reserve("retry-3", 7L, request(2)));
+        verify(bookingService, never()).reserveBooking(any());
+    }
+
+    @Test
+    void failedReservationReleasesItsKey() {
+        when(repository.claim(anyString(), anyString(), any(LocalDateTime.class))).thenReturn(1);
+        when(bookingService.reserveBooking(any())).thenThrow(new IllegalArgumentException("Not enough tickets available"));
+
+        assertThrows(IllegalArgumentException.class, () -> reservations.reserve("retry-4", 7L, request(2)));
+        verify(repository).releaseClaim("7:retry-4");
+    }
+
+    @Test
+    void scopesKeysToTheAuthenticatedUserNotTheRequestBody() {
+        when(repository.claim(anyString(), anyString(), any(LocalDateTime.class))).thenReturn(1);
+        when(bookingService.reserveBooking(any())).thenReturn(booking(42L), booking(43L));
+
+        assertEquals(42L, reservations.reserve("retry-5", 7L, request(2)).getId());
+        // Same key and body, but sent by another user
+        assertEquals(43L, reservations.reserve("retry-5", 8L, request(2)).getId());
+
+        verify(repository).complete("7:retry-5", 42L);
+        verify(repository).complete("8:retry-5", 43L);
+        assertThrows(IllegalArgumentException.class, () -> reservations.reserve("retry-5", null, request(2)));
+    }
+
+    @Test
+    void reactiveReservationOutlivesCancelledCallersAndIsReplayed() {
+        Sinks.One<BookingDTO> reserved = Sinks.one();
+        AtomicInteger reservationsMade = new AtomicInteger();
+        when(repository.claim(anyString(), anyString(), any(LocalDateTime.class))).thenReturn(1);
+
+        Disposable caller = reservations.reserveReactive("retry-6", 7L, request(2), dto -> {
+            reservationsMade.incrementAndGet();
+            return reserved.asMono();
+        }).subscribe();
+        verify(repository, timeout(5000)).claim(eq("7:retry-6"), anyString(), any(LocalDateTime.class));
+        await(reservationsMade);
+        caller.dispose();
+        reserved.tryEmitValue(booking(42L));
+
+        verify(repository, timeout(5000)).complete("7:retry-6", 42L);
+        BookingDTO retried = reservations.reserveReactive("retry-6", 7L, request(2), dto -> {
+            reservationsMade.incrementAndGet();
+            return Mono.just(booking(43L));
+        }).block(Duration.ofSeconds(5));
+        assertEquals(42L, retried.getId());
+        assertEquals(1, reservationsMade.get());
+        verify(repository, never()).releaseClaim(anyString());
+    }
+
+    private static void await(AtomicInteger reservationsMade) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (reservationsMade.get() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, reservationsMade.get());
+    }
+
+    private static BookingCreateDTO request(int quantity) {
+        BookingCreateDTO createDTO = new BookingCreateDTO();
+        createDTO.setUserId(7L);
+        createDTO.setTicketId(3L);
+        createDTO.setQuantity(quantity);
+        return createDTO;
+    }
+
+    private static BookingDTO booking(Long id) {
+        BookingDTO booking = new BookingDTO();
+        booking.setId(id);
+        return booking;
+    }
+}
@@ -0,0 +1,129 @@
+package com.ticketing.bookingservice.service;
+
+import com.ticketing.bookingservice.client.ReactiveAuthServiceClient;
+import com.ticketing.bookingservice.client.ReactiveTicketServiceClient;
+import com.ticketing.bookingservice.client.TicketServiceClient;
+import com.ticketing.bookingservice.dto.BookingCreateDTO;
+import com.ticketing.bookingservice.dto.BookingDTO;
+import com.ticketing.bookingservice.mapper.BookingMapper;
+import com.ticketing.bookingservice.model.Booking;
+import com.ticketing.bookingservice.repository.ReactiveBookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveReservationServiceTest {
+
+    private static final TicketServiceClient.TicketDTO TICKET = new TicketServiceClient.TicketDTO(
+            3L, 1L, "Concert", "Arena", new BigDecimal("25.00"), true, 100, 100, null);
+
+    private final ReactiveBookingRepository repository = mock(ReactiveBookingRepository.class);
+    private final ReactiveAuthServiceClient authClient = mock(ReactiveAuthServiceClient.class);
+    private final ReactiveTicketServiceClient ticketClient = mock(ReactiveTicketServiceClient.class);
+    private final ReservationLedger ledger = mock(ReservationLedger.class);
+    private final ReservationExpiryScheduler scheduler = mock(ReservationExpiryScheduler.class);
+    private final ReactiveReservationService service = new ReactiveReservationService(
+            repository, authClient, ticketClient, ledger, scheduler, mock(TicketReleaseOutbox.class), new BookingMapper());
+
+    @BeforeEach
+    void setUp() {
+        when(authClient.validateUser(7L)).thenReturn(Mono.just(true));
+        when(authClient.getUserName(7L)).thenReturn(Mono.just("Alice"));
+        when(ticketClient.getTicketById(3L)).thenReturn(Mono.just(TICKET));
+        when(ticketClient.getCachedTicketById(3L)).thenReturn(Mono.just(TICKET));
+        when(ticketClient.reserveTickets(3L, 2)).thenReturn(Mono.empty());
+        when(ticketClient.releaseTickets(3L, 2)).thenReturn(Mono.empty());
+        when(ledger.isLoaded(3L)).thenReturn(true);
+        when(ledger.tryReserve(3L, 7L, 2, 100)).thenReturn(ReservationLedger.Admission.ADMITTED);
+    }
+
+    @Test
+    void reservesAndReturnsEnrichedBooking() {
+        when(repository.insert(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(42L);
+            return Mono.just(booking);
+        });
+
+        BookingDTO booking = service.reserveBooking(request(2)).block();
+
+        assertEquals(42L, booking.getId());
+        assertEquals("RESERVED", booking.getStatus());
+        assertEquals(new BigDecimal("50.00"), booking.getTotalAmount());
+        assertEquals("Alice", booking.getUserName());
+        assertEquals("Concert - Arena", booking.getTicketName());
+        assertEquals(new BigDecimal("25.00"), booking.getUnitPrice());
+        verify(scheduler).schedule(any(), any());
+    }
+
+    @Test
+    void failedInsertReturnsSeatsAndTickets() {
+        when(repository.insert(any(Booking.class))).thenReturn(Mono.error(new IllegalStateException("database down")));
+
+        assertThrows(IllegalStateException.class, () -> service.reserveBooking(request(2)).block());
+
+        verify(ledger).release(3L, 7L, 2, true);
+        verify(ticketClient).releaseTickets(3L, 2);
+        verify(scheduler, never()).schedule(any(), any());
+    }
+
+    @Test
+    void reservationCancelledAfterHoldingSeatsIsExpiredOnceMade() {
+        Sinks.Empty<Void> reserved = Sinks.empty();
+        when(ticketClient.reserveTickets(3L, 2)).thenReturn(reserved.asMono());
+        when(repository.insert(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(42L);
+            when(repository.findById(42L)).thenReturn(Mono.just(booking));
+            return Mono.just(booking);
+        });
+        when(repository.expire(42L)).thenReturn(Mono.just(true));
+
+        Disposable caller = service.reserveBooking(request(2)).subscribe();
+        caller.dispose();
+        reserved.tryEmitEmpty();
+
+        verify(scheduler).schedule(any(), any());
+        verify(repository).expire(42L);
+        verify(ticketClient).releaseTickets(3L, 2);
+        verify(ledger).release(3L, 7L, 2, true);
+    }
+
+    @Test
+    void rejectsConfirmationOfBookingExpiredMeanwhile() {
+        Booking booking = new Booking();
+        booking.setId(42L);
+        booking.setUserId(7L);
+        booking.setTicketId(3L);
+        booking.setQuantity(2);
+        booking.setStatus("RESERVED");
+        booking.setExpiryDate(LocalDateTime.now().plusMinutes(5));
+        when(repository.findById(42L)).thenReturn(Mono.just(booking));
+        when(repository.confirm(anyLong(), any())).thenReturn(Mono.just(false));
+
+        assertThrows(IllegalArgumentException.class, () -> service.confirmBooking(42L).block());
+        verify(ledger, never()).confirm(any(), any());
+    }
+
+    private static BookingCreateDTO request(int quantity) {
+        BookingCreateDTO request = new BookingCreateDTO();
+        request.setUserId(7L);
+        request.setTicketId(3L);
+        request.setQuantity(quantity);
+        return request;
+    }
+}
@@ -0,0 +1,97 @@
+package com.ticketing.bookingservice.service;
+
+import com.ticketing.bookingservice.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReservationLedgerTest {
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final ReservationLedger ledger = new ReservationLedger(bookingRepository, Duration.ZERO);
+
+    @Test
+    void loadsTicketFromDatabaseOnFirstUse() {
+        when(bookingRepository.sumQuantityByTicketIdAndActiveStatus(1L)).thenReturn(8L);
+        when(bookingRepository.findReservedUserIdsByTicketId(1L)).thenReturn(List.of(7L));
+
+        assertEquals(ReservationLedger.Admission.DUPLICATE_HOLD, ledger.tryReserve(1L, 7L, 1, 10));
+        assertEquals(ReservationLedger.Admission.SOLD_OUT, ledger.tryReserve(1L, 8L, 3, 10));
+        assertEquals(ReservationLedger.Admission.ADMITTED, ledger.tryReserve(1L, 8L, 2, 10));
+    }
+
+    @Test
+    void releasedSeatsAndHoldsCanBeReservedAgain() {
+        assertEquals(ReservationLedger.Admission.ADMITTED, ledger.tryReserve(1L, 7L, 2, 2));
+        assertEquals(ReservationLedger.Admission.SOLD_OUT, ledger.tryReserve(1L, 8L, 1, 2));
+
+        ledger.release(1L, 7L, 2, true);
+
+        assertEquals(ReservationLedger.Admission.ADMITTED, ledger.tryReserve(1L, 7L, 2, 2));
+    }
+
+    @Test
+    void reconcilesTicketsWithTheDatabaseInPlace() {
+        assertEquals(ReservationLedger.Admission.ADMITTED, ledger.tryReserve(1L, 7L, 2, 2));
+        List<Object[]> active = List.<Object[]>of(new Object[]{1L, 1L});
+        when(bookingRepository.sumActiveQuantityGroupedByTicketId()).thenReturn(active);
+        List<Object[]> holders = List.<Object[]>of(new Object[]{1L, 9L});
+        when(bookingRepository.findReservedTicketHolders()).thenReturn(holders);
+
+        ledger.rebuild();
+
+        // Another instance's booking of one seat replaced this instance's stale hold of two
+        assertEquals(ReservationLedger.Admission.ADMITTED, ledger.tryReserve(1L, 7L, 1, 2));
+        assertEquals(ReservationLedger.Admission.DUPLICATE_HOLD, ledger.tryReserve(1L, 9L, 1, 2));
+    }
+
+    @Test
+    void keepsChangesMadeWhileTheDatabaseIsRead() {
+        assertEquals(ReservationLedger.Admission.ADMITTED, ledger.tryReserve(1L, 7L, 1, 2));
+        // The reservation lands between the query and the reconcile, so the query cannot see it
+        doAnswer(invocation -> {
+            ledger.tryReserve(1L, 8L, 1, 2);
+            return List.of();
+        }).when(bookingRepository).sumActiveQuantityGroupedByTicketId();
+
+        ledger.rebuild();
+
+        assertEquals(ReservationLedger.Admission.SOLD_OUT, ledger.tryReserve(1L, 9L, 1, 2));
+        assertEquals(ReservationLedger.Admission.DUPLICATE_HOLD, ledger.tryReserve(1L, 8L, 1, 2));
+    }
+
+    @Test
+    void untrackedCapacityOnlyRefusesDuplicateHolds() {
+        assertEquals(ReservationLedger.Admission.ADMITTED, ledger.tryReserve(1L, 7L, 500, null));
+        assertEquals(ReservationLedger.Admission.ADMITTED, ledger.tryReserve(1L, 8L, 500, null));
+        assertEquals(ReservationLedger.Admission.DUPLICATE_HOLD, ledger.tryReserve(1L, 7L, 1, null));
+    }
+
+    @Test
+    void neverAdmitsMoreThanCapacityUnderContention() throws InterruptedException {
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        for (long userId = 0; userId < 1000; userId++) {
+            long user = userId;
+            executor.execute(() -> {
+                if (ledger.tryReserve(1L, user, 1, 100) == ReservationLedger.Admission.ADMITTED) {
+                    admitted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(100, admitted.get());
+    }
+}
@@ -0,0 +1,96 @@
+package com.ticketing.bookingservice.service;
+
+import com.ticketing.bookingservice.client.TicketReservationClient;
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TicketReleaseOutboxTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TicketReservationClient ticketReservationClient = mock(TicketReservationClient.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final TicketReleaseOutbox outbox = new TicketReleaseOutbox(jdbcTemplate, ticketReservationClient,
+            transactionManager, 10_000, 100);
+
+    @Test
+    void recordsReleasesTicketServiceCouldNotTake() {
+        doThrow(new RuntimeException("Connection refused")).when(ticketReservationClient).releaseTickets(3L, 2);
+
+        outbox.release(3L, 2);
+
+        verify(jdbcTemplate).update(startsWith("INSERT INTO ticket_releases"), eq(3L), eq(2), any(), any());
+    }
+
+    @Test
+    void recordsReleasesAfterARollbackInANewTransaction() {
+        doThrow(new RuntimeException("Connection refused")).when(ticketReservationClient).releaseTickets(3L, 2);
+
+        outbox.releaseAfterRollback(3L, 2);
+
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO ticket_releases"), eq(3L), eq(2), any(), any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void dropsReleasesTicketServiceRefuses() {
+        Request request = Request.create(Request.HttpMethod.PUT, "/internal/tickets/3/release", new HashMap<>(),
+                null, StandardCharsets.UTF_8, null);
+        doThrow(new FeignException.Conflict("Conflict", request, null, null)).when(ticketReservationClient).releaseTickets(3L, 2);
+
+        outbox.release(3L, 2);
+
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deletesDeliveredReleasesAndKeepsFailedOnes() throws Exception {
+        ResultSet first = row(1L, 3L, 2, 1);
+        ResultSet second = row(2L, 4L, 1, 3);
+        when(jdbcTemplate.query(startsWith("UPDATE ticket_releases"), any(RowMapper.class), any(), any(), eq(100)))
+                .thenAnswer(invocation -> {
+                    RowMapper<Object> mapper = invocation.getArgument(1);
+                    return List.of(mapper.mapRow(first, 0), mapper.mapRow(second, 1));
+                })
+                .thenReturn(List.of());
+        doThrow(new RuntimeException("Read timed out")).when(ticketReservationClient).releaseTickets(4L, 1);
+
+        assertEquals(1, outbox.deliver());
+
+        verify(jdbcTemplate).update("DELETE FROM ticket_releases WHERE id = ?", 1L);
+        verify(jdbcTemplate, never()).update("DELETE FROM ticket_releases WHERE id = ?", 2L);
+    }
+
+    private static ResultSet row(long id, long ticketId, int quantity, int attempts) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong("id")).thenReturn(id);
+        when(resultSet.getLong("ticket_id")).thenReturn(ticketId);
+        when(resultSet.getInt("quantity")).thenReturn(quantity);
+        when(resultSet.getInt("attempts")).thenReturn(attempts);
+        return resultSet;
+    }
+}
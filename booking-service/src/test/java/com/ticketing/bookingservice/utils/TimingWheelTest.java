@@ -0,0 +1,39 @@
+package com.ticketing.bookingservice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    @Test
+    void firesEntriesOnlyOnceTheirDeadlineHasPassed() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 4, 2, 0);
+        wheel.schedule("soon", 25);
+        wheel.schedule("later", 95);
+
+        assertTrue(wheel.advance(20).isEmpty());
+        assertEquals(List.of("soon"), wheel.advance(30));
+        assertTrue(wheel.advance(90).isEmpty());
+        assertEquals(List.of("later"), wheel.advance(100));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cascadesHigherLevelsAndReparksEntriesBeyondTheHorizon() {
+        // 4 buckets x 2 levels of 10ms ticks span 160ms
+        TimingWheel<String> wheel = new TimingWheel<>(10, 4, 2, 0);
+        wheel.schedule("past", -5);
+        wheel.schedule("mid", 130);
+        wheel.schedule("far", 500);
+
+        assertEquals(List.of("past"), wheel.advance(0));
+        assertTrue(wheel.advance(120).isEmpty());
+        assertEquals(List.of("mid"), wheel.advance(130));
+        assertTrue(wheel.advance(490).isEmpty());
+        assertEquals(List.of("far"), wheel.advance(505));
+    }
+}
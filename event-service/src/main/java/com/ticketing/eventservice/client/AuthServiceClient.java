@@ -1,20 +0,0 @@
-package com.ticketing.eventservice.client;
-
-import com.ticketing.eventservice.dto.UserDTO;
-import org.springframework.cloud.openfeign.FeignClient;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestHeader;
-
-@FeignClient(name = "auth-service")
-public interface AuthServiceClient {
-
-    @GetMapping("/api/auth/validate-user/{userId}")
-    Boolean validateUser(@PathVariable("userId") Long userId);
-
-    @GetMapping("/api/auth/user/{userId}/name")
-    String getUserName(@PathVariable("userId") Long userId);
-
-    @GetMapping("/api/auth/validate-token")
-    UserDTO validateToken(@RequestHeader("Authorization") String token);
-}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.ticketing.eventservice.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ticketing.common.auth.AuthServiceCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfiguration {
+
+    public static final String USER_NAMES = AuthServiceCache.USER_NAMES;
+    public static final String VALID_USERS = AuthServiceCache.VALID_USERS;
+    public static final String UPCOMING_PAGES = "upcomingPages";
+    // Last successful answers from auth-service, served while it is unavailable
+    public static final String LAST_KNOWN_USER_NAMES = AuthServiceCache.LAST_KNOWN_USER_NAMES;
+    public static final String LAST_KNOWN_VALID_USERS = AuthServiceCache.LAST_KNOWN_VALID_USERS;
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.user-names.spec}") String userNamesSpec,
+                                     @Value("${cache.valid-users.spec}") String validUsersSpec,
+                                     @Value("${cache.upcoming-pages.spec}") String upcomingPagesSpec,
+                                     @Value("${cache.last-known.spec}") String lastKnownSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(USER_NAMES, Caffeine.from(userNamesSpec).recordStats().build());
+        cacheManager.registerCustomCache(VALID_USERS, Caffeine.from(validUsersSpec).recordStats().build());
+        cacheManager.registerCustomCache(UPCOMING_PAGES, Caffeine.from(upcomingPagesSpec).recordStats().build());
+        cacheManager.registerCustomCache(LAST_KNOWN_USER_NAMES, Caffeine.from(lastKnownSpec).recordStats().build());
+        cacheManager.registerCustomCache(LAST_KNOWN_VALID_USERS, Caffeine.from(lastKnownSpec).recordStats().build());
+        return cacheManager;
+    }
+}
@@ -1,17 +1,27 @@
 package com.ticketing.eventservice.controller;
 
+import com.ticketing.common.http.ConditionalResponses;
+import com.ticketing.common.pagination.KeysetResponses;
 import com.ticketing.eventservice.dto.EventCreateDTO;
 import com.ticketing.eventservice.dto.EventDTO;
+import com.ticketing.eventservice.dto.EventSearchResultDTO;
 import com.ticketing.eventservice.service.EventService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/events")
@@ -20,6 +30,11 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final KeysetResponses keysetResponses;
+    private final ConditionalResponses conditionalResponses;
+
+    @Value("${pagination.max-page-size:500}")
+    private int maxUpcomingPageSize;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -37,24 +52,41 @@ public class EventController {
     }
 
     @GetMapping
-    public ResponseEntity<List<EventDTO>> getAllEvents() {
+    public ResponseEntity<List<EventDTO>> getAllEvents(@RequestParam(required = false) Long after,
+                                                       @RequestParam(required = false) Integer limit) {
         log.info("Received request to get all events");
         try {
+            if (limit != null) {
+                return keysetResponses.page(eventService::getEventsPage, after, limit, EventDTO::getId);
+            }
             List<EventDTO> events = eventService.getAllEvents();
             return ResponseEntity.ok(events);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid events page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Failed to fetch events", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    @GetMapping(produces = KeysetResponses.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEvents() {
+        log.info("Received request to export all events");
+        return keysetResponses.stream(eventService::getEventsPage, EventDTO::getId);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<EventDTO> getEventById(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getEventById(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Received request to get event with ID: {}", id);
         try {
-            return eventService.getEventById(id)
-                    .map(ResponseEntity::ok)
-                    .orElse(ResponseEntity.notFound().build());
+            Optional<LocalDateTime> updatedAt = eventService.getEventVersion(id);
+            if (updatedAt.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            String etag = "\"e" + id + "-" + updatedAt.get().toInstant(ZoneOffset.UTC).toEpochMilli() + "\"";
+            return conditionalResponses.respond(ifNoneMatch, etag, () -> eventService.getEventById(id).orElse(null));
         } catch (Exception e) {
             log.error("Failed to fetch event with ID: {}", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -106,11 +138,18 @@ public class EventController {
     }
 
     @GetMapping("/upcoming")
-    public ResponseEntity<List<EventDTO>> getUpcomingEvents() {
+    public ResponseEntity<byte[]> getUpcomingEvents(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "${upcoming.page-size:50}") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Received request to get upcoming events");
+        if (page < 0 || size < 1 || size > maxUpcomingPageSize) {
+            return ResponseEntity.badRequest().build();
+        }
         try {
-            List<EventDTO> events = eventService.getUpcomingEvents();
-            return ResponseEntity.ok(events);
+            return conditionalResponses.respond(ifNoneMatch, eventService.getUpcomingEventsJson(from, to, page, size));
         } catch (Exception e) {
             log.error("Failed to fetch upcoming events", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -129,6 +168,25 @@ public class EventController {
         }
     }
 
+    @GetMapping(value = "/search", params = "q")
+    public ResponseEntity<EventSearchResultDTO> searchEvents(
+            @RequestParam String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.info("Received request to search events: {}", q);
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(eventService.searchEvents(q, status, from, to, limit));
+        } catch (Exception e) {
+            log.error("Failed to search events: {}", q, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping("/search")
     public ResponseEntity<List<EventDTO>> searchEventsByVenue(@RequestParam String venue) {
         log.info("Received request to search events by venue: {}", venue);
@@ -0,0 +1,13 @@
+package com.ticketing.eventservice.dto;
+
+import lombok.Data;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class EventSearchResultDTO {
+    private List<EventDTO> events;
+    private Integer total; // All matches, not just the returned page
+    private Map<String, Integer> statusCounts;
+    private Map<String, Integer> monthCounts; // Keyed by yyyy-MM
+}
@@ -22,6 +22,23 @@ public class EventMapper {
         return dto;
     }
 
+    /**
+     * Detached copy of an event, for in-memory indexes that must not share the managed entity.
+     */
+    public Event copy(Event event) {
+        Event copy = new Event();
+        copy.setId(event.getId());
+        copy.setName(event.getName());
+        copy.setVenue(event.getVenue());
+        copy.setDateTime(event.getDateTime());
+        copy.setDescription(event.getDescription());
+        copy.setOrganizerId(event.getOrganizerId());
+        copy.setStatus(event.getStatus());
+        copy.setCreatedAt(event.getCreatedAt());
+        copy.setUpdatedAt(event.getUpdatedAt());
+        return copy;
+    }
+
     public Event toEntity(EventCreateDTO createDTO) {
         Event event = new Event();
         event.setName(createDTO.getName());
@@ -1,6 +1,7 @@
 package com.ticketing.eventservice.repository;
 
 import com.ticketing.eventservice.model.Event;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -8,10 +9,13 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
 
+    List<Event> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
     List<Event> findByOrganizerId(Long organizerId);
 
     List<Event> findByStatus(String status);
@@ -24,4 +28,7 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     List<Event> findUpcomingEvents(@Param("currentDate") LocalDateTime currentDate);
 
     List<Event> findByVenueContainingIgnoreCase(String venue);
+
+    @Query("SELECT e.updatedAt FROM Event e WHERE e.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.ticketing.eventservice.service;
+
+import com.ticketing.eventservice.model.Event;
+
+/**
+ * Published by {@link EventService} when an event is saved or deleted. The in-memory indexes apply
+ * it once the transaction has committed, so they never show a change that was rolled back.
+ *
+ * @param event the saved event, or {@code null} when it was deleted
+ */
+public record EventChange(Long eventId, Event event) {
+
+    static EventChange saved(Event event) {
+        return new EventChange(event.getId(), event);
+    }
+
+    static EventChange deleted(Long eventId) {
+        return new EventChange(eventId, null);
+    }
+
+    public boolean isDeletion() {
+        return event == null;
+    }
+}
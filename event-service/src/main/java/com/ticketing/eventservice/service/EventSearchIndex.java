@@ -0,0 +1,270 @@
+package com.ticketing.eventservice.service;
+
+import com.ticketing.eventservice.mapper.EventMapper;
+import com.ticketing.eventservice.model.Event;
+import com.ticketing.eventservice.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over event name, venue and description. Terms are kept sorted, so
+ * every query term matches as a prefix with a single range lookup, and all terms must match.
+ * Results can be narrowed by status and date range and come with facet counts per status and per
+ * month.
+ *
+ * <p>Kept current by the {@link EventChange}s of this instance, applied once they commit, and
+ * rebuilt from the database at startup and periodically to pick up changes made by other
+ * event-service instances. A rebuild reads into a new index and swaps it in, replaying the
+ * changes applied while it was reading, so searches are never answered from a partial index.
+ */
+@Slf4j
+@Component
+public class EventSearchIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final EventRepository eventRepository;
+    private final EventMapper eventMapper;
+    private final int rebuildPageSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Generation current = new Generation();
+    // Changes applied while a rebuild reads the database, by event ID (null once removed); null when not rebuilding
+    private Map<Long, IndexedEvent> changedDuringRebuild;
+
+    public EventSearchIndex(EventRepository eventRepository,
+                            EventMapper eventMapper,
+                            @Value("${search.rebuild-page-size:500}") int rebuildPageSize) {
+        this.eventRepository = eventRepository;
+        this.eventMapper = eventMapper;
+        this.rebuildPageSize = rebuildPageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${search.resync-interval:300000}",
+            fixedDelayString = "${search.resync-interval:300000}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                return;
+            }
+            changedDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Generation rebuilt = new Generation();
+        boolean complete = false;
+        try {
+            long afterId = 0;
+            while (true) {
+                List<Event> page = eventRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(rebuildPageSize));
+                page.forEach(event -> rebuilt.put(document(event)));
+                if (page.size() < rebuildPageSize) {
+                    break;
+                }
+                afterId = page.get(page.size() - 1).getId();
+            }
+            complete = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (complete) {
+                    changedDuringRebuild.forEach((id, document) -> {
+                        rebuilt.remove(id);
+                        if (document != null) {
+                            rebuilt.put(document);
+                        }
+                    });
+                    current = rebuilt;
+                }
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Indexed {} events for search", rebuilt.documents.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        if (change.isDeletion()) {
+            remove(change.eventId());
+        } else {
+            index(change.event());
+        }
+    }
+
+    public void index(Event event) {
+        IndexedEvent document = document(event);
+        lock.writeLock().lock();
+        try {
+            current.remove(event.getId());
+            current.put(document);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(event.getId(), document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            current.remove(eventId);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(eventId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param query  free text; every word must prefix-match a word of the event. Blank matches all events
+     * @param status optional status filter
+     * @param from   optional inclusive lower bound on the event date
+     * @param to     optional inclusive upper bound on the event date
+     * @param limit  maximum number of events returned; facets and total always cover every match
+     */
+    public SearchResult search(String query, String status, LocalDateTime from, LocalDateTime to, int limit) {
+        Set<String> queryTerms = tokenize(query);
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = queryTerms.isEmpty() ? current.documents.keySet() : matchAll(queryTerms);
+
+            List<Event> matches = new ArrayList<>();
+            Map<String, Integer> statusCounts = new TreeMap<>();
+            Map<String, Integer> monthCounts = new TreeMap<>();
+            for (Long id : candidates) {
+                Event event = current.documents.get(id).event();
+                if ((status != null && !status.equalsIgnoreCase(event.getStatus()))
+                        || (from != null && event.getDateTime().isBefore(from))
+                        || (to != null && event.getDateTime().isAfter(to))) {
+                    continue;
+                }
+                matches.add(event);
+                statusCounts.merge(event.getStatus(), 1, Integer::sum);
+                monthCounts.merge(event.getDateTime().format(MONTH), 1, Integer::sum);
+            }
+
+            matches.sort(Comparator.comparing(Event::getDateTime).thenComparing(Event::getId));
+            List<Event> page = matches.subList(0, Math.min(limit, matches.size()));
+            return new SearchResult(new ArrayList<>(page), matches.size(), statusCounts, monthCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return current.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> matchAll(Set<String> queryTerms) {
+        Set<Long> result = null;
+        for (String term : queryTerms) {
+            Set<Long> termMatches = new HashSet<>();
+            for (Set<Long> ids : current.postings.subMap(term, true, term + Character.MAX_VALUE, true).values()) {
+                termMatches.addAll(ids);
+            }
+            if (result == null) {
+                result = termMatches;
+            } else {
+                result.retainAll(termMatches);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private IndexedEvent document(Event event) {
+        Set<String> eventTerms = tokenize(event.getName());
+        eventTerms.addAll(tokenize(event.getVenue()));
+        eventTerms.addAll(tokenize(event.getDescription()));
+        return new IndexedEvent(eventMapper.copy(event), eventTerms);
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        for (String token : NON_WORD.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    public record SearchResult(List<Event> events, int total,
+                               Map<String, Integer> statusCounts, Map<String, Integer> monthCounts) {}
+
+    private record IndexedEvent(Event event, Set<String> terms) {}
+
+    /**
+     * The postings and documents of one index generation; guarded by the index lock once published.
+     */
+    private static final class Generation {
+
+        private final TreeMap<String, Set<Long>> postings = new TreeMap<>();
+        private final Map<Long, IndexedEvent> documents = new HashMap<>();
+
+        void put(IndexedEvent document) {
+            Long id = document.event().getId();
+            documents.put(id, document);
+            for (String term : document.terms()) {
+                postings.computeIfAbsent(term, t -> new HashSet<>()).add(id);
+            }
+        }
+
+        void remove(Long eventId) {
+            IndexedEvent previous = documents.remove(eventId);
+            if (previous == null) {
+                return;
+            }
+            for (String term : previous.terms()) {
+                Set<Long> ids = postings.get(term);
+                if (ids != null && ids.remove(eventId) && ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
@@ -1,19 +1,29 @@
 package com.ticketing.eventservice.service;
 
-import com.ticketing.eventservice.client.AuthServiceClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketing.common.auth.AuthServiceCache;
+import com.ticketing.eventservice.config.CacheConfiguration;
 import com.ticketing.eventservice.dto.EventCreateDTO;
 import com.ticketing.eventservice.dto.EventDTO;
+import com.ticketing.eventservice.dto.EventSearchResultDTO;
 import com.ticketing.eventservice.mapper.EventMapper;
 import com.ticketing.eventservice.model.Event;
 import com.ticketing.eventservice.repository.EventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,12 +34,17 @@ public class EventService {
 
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
-    private final AuthServiceClient authServiceClient;
+    private final AuthServiceCache authServiceCache;
+    private final EventSearchIndex eventSearchIndex;
+    private final UpcomingEventsIndex upcomingEventsIndex;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     public EventDTO createEvent(EventCreateDTO createDTO) {
         log.info("Creating new event: {}", createDTO.getName());
 
-        Boolean userExists = authServiceClient.validateUser(createDTO.getOrganizerId());
+        Boolean userExists = authServiceCache.validateUser(createDTO.getOrganizerId());
         if (!userExists) {
             throw new IllegalArgumentException("Organizer with ID " + createDTO.getOrganizerId() + " does not exist");
         }
@@ -41,6 +56,7 @@ public class EventService {
 
         Event event = eventMapper.toEntity(createDTO);
         Event savedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(EventChange.saved(savedEvent));
 
         log.info("Event created successfully with ID: {}", savedEvent.getId());
         return eventMapper.toDTO(savedEvent);
@@ -49,9 +65,17 @@ public class EventService {
     @Transactional(readOnly = true)
     public List<EventDTO> getAllEvents() {
         log.info("Fetching all events");
-        return eventRepository.findAll().stream()
-                .map(this::enrichEventWithOrganizerName)
-                .collect(Collectors.toList());
+        return enrichEventsWithOrganizerNames(eventRepository.findAll());
+    }
+
+    /**
+     * @param afterId ID of the last event of the previous page, or {@code null} for the first page
+     */
+    @Transactional(readOnly = true)
+    public List<EventDTO> getEventsPage(Long afterId, int limit) {
+        log.debug("Fetching {} events after ID: {}", limit, afterId);
+        return enrichEventsWithOrganizerNames(
+                eventRepository.findByIdGreaterThanOrderByIdAsc(afterId != null ? afterId : 0L, Limit.of(limit)));
     }
 
     @Transactional(readOnly = true)
@@ -61,6 +85,14 @@ public class EventService {
                 .map(this::enrichEventWithOrganizerName);
     }
 
+    /**
+     * @return when the event was last modified, without loading it
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getEventVersion(Long id) {
+        return eventRepository.findUpdatedAtById(id);
+    }
+
     public EventDTO updateEvent(Long id, EventCreateDTO updateDTO) {
         log.info("Updating event with ID: {}", id);
 
@@ -69,7 +101,7 @@ public class EventService {
 
         // Validate organizer exists if changed
         if (!event.getOrganizerId().equals(updateDTO.getOrganizerId())) {
-            Boolean userExists = authServiceClient.validateUser(updateDTO.getOrganizerId());
+            Boolean userExists = authServiceCache.validateUser(updateDTO.getOrganizerId());
             if (!userExists) {
                 throw new IllegalArgumentException("Organizer with ID " + updateDTO.getOrganizerId() + " does not exist");
             }
@@ -82,6 +114,7 @@ public class EventService {
 
         eventMapper.updateEntityFromDTO(event, updateDTO);
         Event updatedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(EventChange.saved(updatedEvent));
 
         log.info("Event updated successfully with ID: {}", updatedEvent.getId());
         return eventMapper.toDTO(updatedEvent);
@@ -95,46 +128,62 @@ public class EventService {
         }
 
         eventRepository.deleteById(id);
+        eventPublisher.publishEvent(EventChange.deleted(id));
         log.info("Event deleted successfully with ID: {}", id);
     }
 
     @Transactional(readOnly = true)
     public List<EventDTO> getEventsByOrganizer(Long organizerId) {
         log.info("Fetching events for organizer ID: {}", organizerId);
-        return eventRepository.findByOrganizerId(organizerId).stream()
-                .map(this::enrichEventWithOrganizerName)
-                .collect(Collectors.toList());
+        return enrichEventsWithOrganizerNames(eventRepository.findByOrganizerId(organizerId));
     }
 
-    @Transactional(readOnly = true)
-    public List<EventDTO> getUpcomingEvents() {
-        log.info("Fetching upcoming events");
-        LocalDateTime now = LocalDateTime.now();
-        return eventRepository.findUpcomingEvents(now).stream()
-                .map(this::enrichEventWithOrganizerName)
-                .collect(Collectors.toList());
+    /**
+     * Upcoming active events as a ready-to-send JSON array, served from the in-memory index. Each
+     * rendering is cached until the index changes or the cache entry expires.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public byte[] getUpcomingEventsJson(LocalDateTime from, LocalDateTime to, int page, int size) {
+        log.info("Fetching upcoming events page {} of size {}", page, size);
+        String key = upcomingEventsIndex.version() + ":" + from + ":" + to + ":" + page + ":" + size;
+        return cacheManager.getCache(CacheConfiguration.UPCOMING_PAGES).get(key, () ->
+                objectMapper.writeValueAsBytes(enrichEventsWithOrganizerNames(
+                        upcomingEventsIndex.between(from, to, page * size, size))));
     }
 
     @Transactional(readOnly = true)
     public List<EventDTO> getEventsByStatus(String status) {
         log.info("Fetching events with status: {}", status);
-        return eventRepository.findByStatus(status).stream()
-                .map(this::enrichEventWithOrganizerName)
-                .collect(Collectors.toList());
+        return enrichEventsWithOrganizerNames(eventRepository.findByStatus(status));
     }
 
     @Transactional(readOnly = true)
     public List<EventDTO> searchEventsByVenue(String venue) {
         log.info("Searching events by venue: {}", venue);
-        return eventRepository.findByVenueContainingIgnoreCase(venue).stream()
-                .map(this::enrichEventWithOrganizerName)
-                .collect(Collectors.toList());
+        return enrichEventsWithOrganizerNames(eventRepository.findByVenueContainingIgnoreCase(venue));
+    }
+
+    /**
+     * Answers from the in-memory search index without a database transaction; only organizer names
+     * are looked up.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EventSearchResultDTO searchEvents(String query, String status, LocalDateTime from, LocalDateTime to, int limit) {
+        log.info("Searching events for: {}", query);
+        EventSearchIndex.SearchResult result = eventSearchIndex.search(query, status, from, to, limit);
+
+        EventSearchResultDTO dto = new EventSearchResultDTO();
+        dto.setEvents(enrichEventsWithOrganizerNames(result.events()));
+        dto.setTotal(result.total());
+        dto.setStatusCounts(result.statusCounts());
+        dto.setMonthCounts(result.monthCounts());
+        return dto;
     }
 
     private EventDTO enrichEventWithOrganizerName(Event event) {
         EventDTO dto = eventMapper.toDTO(event);
         try {
-            String organizerName = authServiceClient.getUserName(event.getOrganizerId());
+            String organizerName = authServiceCache.getUserName(event.getOrganizerId());
             dto.setOrganizerName(organizerName);
         } catch (Exception e) {
             log.warn("Failed to fetch organizer name for user ID: {}", event.getOrganizerId(), e);
@@ -142,4 +191,31 @@ public class EventService {
         }
         return dto;
     }
+
+    /**
+     * Resolves organizer names for a list of events with a single bulk lookup for the distinct
+     * organizer IDs, instead of one remote call per event.
+     */
+    private List<EventDTO> enrichEventsWithOrganizerNames(List<Event> events) {
+        if (events.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Long> organizerIds = events.stream().map(Event::getOrganizerId).collect(Collectors.toSet());
+        Map<Long, String> organizerNames = null;
+        try {
+            organizerNames = authServiceCache.getUserNames(organizerIds);
+        } catch (Exception e) {
+            log.warn("Failed to fetch organizer names for {} users", organizerIds.size(), e);
+        }
+
+        List<EventDTO> dtos = new ArrayList<>(events.size());
+        for (Event event : events) {
+            EventDTO dto = eventMapper.toDTO(event);
+            String organizerName = organizerNames != null ? organizerNames.get(event.getOrganizerId()) : null;
+            dto.setOrganizerName(organizerName != null ? organizerName : "Unknown Organizer");
+            dtos.add(dto);
+        }
+        return dtos;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,187 @@
+package com.ticketing.eventservice.service;
+
+import com.ticketing.eventservice.mapper.EventMapper;
+import com.ticketing.eventservice.model.Event;
+import com.ticketing.eventservice.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Upcoming ACTIVE events ordered by date, so the storefront's upcoming and date-range listings are
+ * answered from memory. Events that have started are evicted as time passes. Every change bumps
+ * {@link #version()}, which callers use to key cached renderings of these listings.
+ *
+ * <p>Kept current by the {@link EventChange}s of this instance, applied once they commit, and
+ * rebuilt at startup and periodically to pick up changes made by other event-service instances.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UpcomingEventsIndex {
+
+    private static final String ACTIVE = "ACTIVE";
+
+    private final EventRepository eventRepository;
+    private final EventMapper eventMapper;
+
+    // Serializes writers; a lock rather than a monitor since rebuild() holds it across a query
+    private final Lock writeLock = new ReentrantLock();
+    private final AtomicLong version = new AtomicLong();
+    private volatile ConcurrentSkipListMap<EventKey, Event> events = new ConcurrentSkipListMap<>();
+    private volatile Map<Long, EventKey> keysById = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${upcoming.resync-interval:300000}",
+            fixedDelayString = "${upcoming.resync-interval:300000}")
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            ConcurrentSkipListMap<EventKey, Event> rebuilt = new ConcurrentSkipListMap<>();
+            Map<Long, EventKey> rebuiltKeys = new ConcurrentHashMap<>();
+            for (Event event : eventRepository.findUpcomingEvents(LocalDateTime.now())) {
+                if (ACTIVE.equals(event.getStatus())) {
+                    EventKey key = EventKey.of(event);
+                    rebuilt.put(key, event);
+                    rebuiltKeys.put(event.getId(), key);
+                }
+            }
+            events = rebuilt;
+            keysById = rebuiltKeys;
+            version.incrementAndGet();
+            log.debug("Rebuilt upcoming events index with {} events", rebuilt.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        if (change.isDeletion()) {
+            remove(change.eventId());
+        } else {
+            upsert(change.event());
+        }
+    }
+
+    public void upsert(Event event) {
+        writeLock.lock();
+        try {
+            removeEntry(event.getId());
+            if (ACTIVE.equals(event.getStatus()) && !event.getDateTime().isBefore(LocalDateTime.now())) {
+                EventKey key = EventKey.of(event);
+                events.put(key, eventMapper.copy(event));
+                keysById.put(event.getId(), key);
+            }
+            version.incrementAndGet();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(Long eventId) {
+        writeLock.lock();
+        try {
+            if (removeEntry(eventId)) {
+                version.incrementAndGet();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${upcoming.evict-interval:60000}")
+    public void evictPast() {
+        writeLock.lock();
+        try {
+            NavigableMap<EventKey, Event> past = events.headMap(EventKey.first(LocalDateTime.now()), false);
+            if (past.isEmpty()) {
+                return;
+            }
+            past.keySet().forEach(key -> keysById.remove(key.id()));
+            past.clear();
+            version.incrementAndGet();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Events from now on, ordered by date.
+     *
+     * @param from optional inclusive lower bound; earlier than now means now
+     * @param to   optional inclusive upper bound
+     */
+    public List<Event> between(LocalDateTime from, LocalDateTime to, int offset, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = from == null || from.isBefore(now) ? now : from;
+        if (to != null && to.isBefore(start)) {
+            return List.of();
+        }
+        NavigableMap<EventKey, Event> range = to == null
+                ? events.tailMap(EventKey.first(start), true)
+                : events.subMap(EventKey.first(start), true, EventKey.last(to), true);
+
+        List<Event> page = new ArrayList<>();
+        int skipped = 0;
+        for (Event event : range.values()) {
+            if (skipped++ < offset) {
+                continue;
+            }
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(event);
+        }
+        return page;
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    private boolean removeEntry(Long eventId) {
+        EventKey key = keysById.remove(eventId);
+        return key != null && events.remove(key) != null;
+    }
+
+    private record EventKey(LocalDateTime dateTime, long id) implements Comparable<EventKey> {
+
+        private static final Comparator<EventKey> ORDER =
+                Comparator.comparing(EventKey::dateTime).thenComparingLong(EventKey::id);
+
+        static EventKey of(Event event) {
+            return new EventKey(event.getDateTime(), event.getId());
+        }
+
+        static EventKey first(LocalDateTime dateTime) {
+            return new EventKey(dateTime, Long.MIN_VALUE);
+        }
+
+        static EventKey last(LocalDateTime dateTime) {
+            return new EventKey(dateTime, Long.MAX_VALUE);
+        }
+
+        @Override
+        public int compareTo(EventKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.ticketing.eventservice.service;
+
+import com.ticketing.eventservice.mapper.EventMapper;
+import com.ticketing.eventservice.model.Event;
+import com.ticketing.eventservice.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+class EventSearchIndexTest {
+
+    private final EventRepository eventRepository = Mockito.mock(EventRepository.class);
+    private final EventSearchIndex index = new EventSearchIndex(eventRepository, new EventMapper(), 500);
+
+    @Test
+    void matchesEveryQueryTermAsPrefixAcrossFields() {
+        index.index(event(1L, "Jazz Night", "Café Olympia", "Live quartet", "ACTIVE", LocalDateTime.of(2026, 11, 5, 20, 0)));
+        index.index(event(2L, "Rock Festival", "Olympia Arena", null, "ACTIVE", LocalDateTime.of(2026, 12, 1, 18, 0)));
+        index.index(event(3L, "Jazz Brunch", "Riverside Hall", "Quartet and brunch", "CANCELLED", LocalDateTime.of(2026, 11, 9, 11, 0)));
+
+        EventSearchIndex.SearchResult result = index.search("olymp", null, null, null, 10);
+        assertEquals(List.of(1L, 2L), ids(result));
+
+        result = index.search("JAZZ quart", null, null, null, 10);
+        assertEquals(List.of(1L, 3L), ids(result));
+        assertEquals(Map.of("ACTIVE", 1, "CANCELLED", 1), result.statusCounts());
+        assertEquals(Map.of("2026-11", 2), result.monthCounts());
+
+        assertEquals(List.of(1L), ids(index.search("cafe", null, null, null, 10)));
+        assertEquals(List.of(3L), ids(index.search("jazz", "cancelled", null, null, 10)));
+        assertEquals(List.of(2L), ids(index.search("", null, LocalDateTime.of(2026, 11, 30, 0, 0), null, 10)));
+    }
+
+    @Test
+    void reindexingAndRemovalUpdateTheTerms() {
+        index.index(event(1L, "Jazz Night", "Blue Room", null, "ACTIVE", LocalDateTime.of(2026, 11, 5, 20, 0)));
+        index.index(event(1L, "Blues Night", "Blue Room", null, "ACTIVE", LocalDateTime.of(2026, 11, 5, 20, 0)));
+
+        assertTrue(index.search("jazz", null, null, null, 10).events().isEmpty());
+        assertEquals(List.of(1L), ids(index.search("blues", null, null, null, 10)));
+
+        index.remove(1L);
+        assertEquals(0, index.size());
+        assertEquals(0, index.search("blue", null, null, null, 10).total());
+    }
+
+    @Test
+    void rebuildReplacesTheIndexWithTheDatabase() {
+        index.index(event(1L, "Jazz Night", "Blue Room", null, "ACTIVE", LocalDateTime.of(2026, 11, 5, 20, 0)));
+        when(eventRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenReturn(
+                List.of(event(2L, "Jazz Brunch", "Riverside Hall", null, "ACTIVE", LocalDateTime.of(2026, 11, 9, 11, 0))));
+
+        index.rebuild();
+
+        assertEquals(List.of(2L), ids(index.search("jazz", null, null, null, 10)));
+    }
+
+    @Test
+    void rebuildKeepsChangesMadeWhileTheDatabaseIsRead() {
+        index.index(event(1L, "Jazz Night", "Blue Room", null, "ACTIVE", LocalDateTime.of(2026, 11, 5, 20, 0)));
+        when(eventRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            index.onEventChange(EventChange.saved(
+                    event(3L, "Jazz Picnic", "City Park", null, "ACTIVE", LocalDateTime.of(2026, 11, 12, 12, 0))));
+            index.onEventChange(EventChange.deleted(1L));
+            return List.of(event(1L, "Jazz Night", "Blue Room", null, "ACTIVE", LocalDateTime.of(2026, 11, 5, 20, 0)));
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of(3L), ids(index.search("jazz", null, null, null, 10)));
+    }
+
+    private static List<Long> ids(EventSearchIndex.SearchResult result) {
+        return result.events().stream().map(Event::getId).toList();
+    }
+
+    private static Event event(Long id, String name, String venue, String description, String status, LocalDateTime dateTime) {
+        Event event = new Event();
+        event.setId(id);
+        event.setName(name);
+        event.setVenue(venue);
+        event.setDescription(description);
+        event.setStatus(status);
+        event.setDateTime(dateTime);
+        event.setOrganizerId(7L);
+        return event;
+    }
+}
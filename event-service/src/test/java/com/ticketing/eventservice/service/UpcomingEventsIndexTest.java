@@ -0,0 +1,63 @@
+package com.ticketing.eventservice.service;
+
+import com.ticketing.eventservice.mapper.EventMapper;
+import com.ticketing.eventservice.model.Event;
+import com.ticketing.eventservice.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpcomingEventsIndexTest {
+
+    private final UpcomingEventsIndex index = new UpcomingEventsIndex(Mockito.mock(EventRepository.class), new EventMapper());
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Test
+    void keepsUpcomingActiveEventsInDateOrder() {
+        index.upsert(event(1L, now.plusDays(3), "ACTIVE"));
+        index.upsert(event(2L, now.plusDays(1), "ACTIVE"));
+        index.upsert(event(3L, now.plusDays(2), "CANCELLED"));
+        index.upsert(event(4L, now.minusDays(1), "ACTIVE"));
+        index.upsert(event(5L, now.plusDays(5), "ACTIVE"));
+
+        assertEquals(List.of(2L, 1L, 5L), ids(index.between(null, null, 0, 10)));
+        assertEquals(List.of(1L), ids(index.between(now.plusDays(2), now.plusDays(4), 0, 10)));
+        assertEquals(List.of(1L), ids(index.between(null, null, 1, 1)));
+        assertTrue(index.between(now.plusDays(4), now.plusDays(2), 0, 10).isEmpty());
+    }
+
+    @Test
+    void changesMoveOrDropEventsAndBumpTheVersion() {
+        index.upsert(event(1L, now.plusDays(1), "ACTIVE"));
+        index.upsert(event(2L, now.plusDays(2), "ACTIVE"));
+        long version = index.version();
+
+        index.upsert(event(1L, now.plusDays(3), "ACTIVE"));
+        assertEquals(List.of(2L, 1L), ids(index.between(null, null, 0, 10)));
+
+        index.upsert(event(2L, now.plusDays(2), "CANCELLED"));
+        index.remove(1L);
+        assertTrue(index.between(null, null, 0, 10).isEmpty());
+        assertTrue(index.version() > version);
+    }
+
+    private static List<Long> ids(List<Event> events) {
+        return events.stream().map(Event::getId).toList();
+    }
+
+    private static Event event(Long id, LocalDateTime dateTime, String status) {
+        Event event = new Event();
+        event.setId(id);
+        event.setName("Event " + id);
+        event.setVenue("Main Hall");
+        event.setDateTime(dateTime);
+        event.setOrganizerId(7L);
+        event.setStatus(status);
+        return event;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ticketing.ticketservice.client;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Tells every booking-service instance to drop its cached copy of a ticket. The call is sent to
+ * each registered instance directly, since a load-balanced call would only reach one of them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingCacheInvalidator {
+
+    private static final String BOOKING_SERVICE = "booking-service";
+
+    private final DiscoveryClient discoveryClient;
+    private final RestClient restClient = RestClient.create();
+
+    @Async
+    public void ticketChanged(Long ticketId) {
+        for (ServiceInstance instance : discoveryClient.getInstances(BOOKING_SERVICE)) {
+            try {
+                restClient.delete()
+                        .uri(instance.getUri() + "/internal/cache/tickets/{ticketId}", ticketId)
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (Exception e) {
+                log.warn("Failed to evict ticket {} from booking-service instance {}",
+                        ticketId, instance.getInstanceId(), e);
+            }
+        }
+    }
+}
@@ -1,22 +1,21 @@
 package com.ticketing.ticketservice.config;
 
-import com.ticketing.ticketservice.client.AuthServiceClient;
-import com.ticketing.ticketservice.dto.UserDTO;
-
-import org.springframework.lang.NonNull;
+import com.ticketing.common.identity.GatewayIdentity;
+import com.ticketing.common.identity.GatewayIdentityVerifier;
+import com.ticketing.common.identity.TokenVerifier;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-
+import org.springframework.lang.NonNull;
 import java.io.IOException;
 import java.util.List;
 
@@ -25,34 +24,42 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final AuthServiceClient authServiceClient;
+    private final TokenVerifier tokenVerifier;
+    private final GatewayIdentityVerifier gatewayIdentityVerifier;
+
+    @Value("${jwt.trust-gateway-headers:false}")
+    private boolean trustGatewayHeaders;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
-        String authHeader = request.getHeader("Authorization");
+        GatewayIdentity identity = null;
 
+        String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            // A bearer token is always verified; the identity header cannot stand in for a bad one
             String token = authHeader.substring(7);
 
             try {
-                UserDTO userDTO = authServiceClient.validateToken("Bearer " + token);
-
-                if (userDTO != null) {
-                    String username = userDTO.getUsername();
-                    String role = userDTO.getRole();
-
-                    var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-                    var authentication =
-                            new UsernamePasswordAuthenticationToken(username, null, authorities);
-
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    log.debug("Authenticated user {} with role {}", username, role);
-                }
+                identity = tokenVerifier.verify(token);
             } catch (Exception e) {
                 log.error("JWT validation failed", e);
             }
+        } else if (trustGatewayHeaders) {
+            identity = gatewayIdentityVerifier.verify(request.getHeader(GatewayIdentityVerifier.HEADER));
+        }
+
+        if (identity != null) {
+            String username = identity.username();
+            String role = identity.role();
+
+            var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+            var authentication =
+                    new UsernamePasswordAuthenticationToken(username, null, authorities);
+
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            log.debug("Authenticated user {} with role {}", username, role);
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,46 @@
+package com.ticketing.ticketservice.controller;
+
+import com.ticketing.ticketservice.service.TicketService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Inventory changes called by booking-service when it creates, confirms or drops a booking. They
+ * live outside {@code /api} so the gateway, which only routes {@code /api/**}, never exposes them:
+ * an end user could otherwise take seats without a booking, or return seats nobody held.
+ */
+@RestController
+@RequestMapping("/internal/tickets")
+@RequiredArgsConstructor
+public class InternalTicketController {
+
+    private final TicketService ticketService;
+
+    @PutMapping("/{id}/reserve")
+    public ResponseEntity<Void> reserveTickets(@PathVariable Long id, @RequestParam Integer quantity) {
+        if (quantity == null || quantity < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!ticketService.reserveTickets(id, quantity)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/{id}/release")
+    public ResponseEntity<Void> releaseTickets(@PathVariable Long id, @RequestParam Integer quantity) {
+        if (quantity == null || quantity < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!ticketService.releaseTickets(id, quantity)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,10 +1,14 @@
 package com.ticketing.ticketservice.controller;
 
+import com.ticketing.common.pagination.KeysetResponses;
+import com.ticketing.ticketservice.dto.OrderDTO;
 import com.ticketing.ticketservice.model.Order;
 import com.ticketing.ticketservice.service.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,12 +19,31 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
     
+    @Autowired
+    private KeysetResponses keysetResponses;
+    
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     public List<Order> getAllOrders() {
         return orderService.getAllOrders();
     }
     
+    @GetMapping(params = "limit")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<OrderDTO>> getOrdersPage(@RequestParam(required = false) Long after,
+                                                        @RequestParam Integer limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return keysetResponses.page(orderService::getOrdersPage, after, limit, OrderDTO::getId);
+    }
+    
+    @GetMapping(produces = KeysetResponses.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        return keysetResponses.stream(orderService::getOrdersPage, OrderDTO::getId);
+    }
+    
     @GetMapping("/{id}")
     public Order getOrderById(@PathVariable Long id) {
         return orderService.getOrderById(id).orElse(null);
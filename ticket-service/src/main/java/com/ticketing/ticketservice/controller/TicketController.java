@@ -1,12 +1,19 @@
 package com.ticketing.ticketservice.controller;
 
+import com.ticketing.common.http.ConditionalResponses;
+import com.ticketing.common.pagination.KeysetResponses;
 import com.ticketing.ticketservice.model.Ticket;
 import com.ticketing.ticketservice.service.TicketService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tickets")
@@ -15,14 +22,46 @@ public class TicketController {
     @Autowired
     private TicketService ticketService;
     
+    @Autowired
+    private KeysetResponses keysetResponses;
+    
+    @Autowired
+    private ConditionalResponses conditionalResponses;
+    
     @GetMapping
     public List<Ticket> getAllTickets() {
         return ticketService.getAllTickets();
     }
     
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<Ticket>> getTicketsPage(@RequestParam(required = false) Long after,
+                                                       @RequestParam Integer limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return keysetResponses.page(ticketService::getTicketsPage, after, limit, Ticket::getId);
+    }
+    
+    @GetMapping(produces = KeysetResponses.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTickets() {
+        return keysetResponses.stream(ticketService::getTicketsPage, Ticket::getId);
+    }
+    
     @GetMapping("/{id}")
-    public Ticket getTicketById(@PathVariable Long id) {
-        return ticketService.getTicketById(id).orElse(null);
+    public ResponseEntity<byte[]> getTicketById(@PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<Long> version = ticketService.getTicketVersion(id);
+        if (version.isEmpty()) {
+            // Unknown tickets keep answering 200 with an empty body, as callers expect
+            return ResponseEntity.ok().build();
+        }
+        String etag = "\"t" + id + "-" + version.get() + "\"";
+        return conditionalResponses.respond(ifNoneMatch, etag, () -> ticketService.getTicketById(id).orElse(null));
+    }
+    
+    @PostMapping("/batch")
+    public List<Ticket> getTicketsByIds(@RequestBody Set<Long> ids) {
+        return ticketService.getTicketsByIds(ids);
     }
     
     @PostMapping
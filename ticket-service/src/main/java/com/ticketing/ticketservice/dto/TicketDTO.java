@@ -11,5 +11,7 @@ public class TicketDTO {
     private String venue;
     private BigDecimal price;
     private Boolean available;
+    private Integer capacity;
+    private Integer remaining;
     private Long userId;
 }
\ No newline at end of file
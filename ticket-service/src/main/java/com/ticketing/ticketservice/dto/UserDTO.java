@@ -1,35 +0,0 @@
-package com.ticketing.ticketservice.dto;
-
-public class UserDTO {
-    private Long id;
-    private String username;
-    private String email;
-    private String fullName;
-    private String role;
-
-    public UserDTO() {}
-
-    public UserDTO(Long id, String username, String email, String fullName, String role) {
-        this.id = id;
-        this.username = username;
-        this.email = email;
-        this.fullName = fullName;
-        this.role = role;
-    }
-
-    // Getters and setters
-    public Long getId() { return id; }
-    public void setId(Long id) { this.id = id; }
-
-    public String getUsername() { return username; }
-    public void setUsername(String username) { this.username = username; }
-
-    public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
-
-    public String getFullName() { return fullName; }
-    public void setFullName(String fullName) { this.fullName = fullName; }
-
-    public String getRole() { return role; }
-    public void setRole(String role) { this.role = role; }
-}
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.ticketing.ticketservice.mapper;
 
 import com.ticketing.ticketservice.dto.OrderDTO;
+import com.ticketing.ticketservice.dto.OrderItemDTO;
 import com.ticketing.ticketservice.model.Order;
+import com.ticketing.ticketservice.model.OrderItem;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -15,6 +17,19 @@ public class OrderMapper {
         dto.setStatus(order.getStatus());
         dto.setCreatedAt(order.getCreatedAt());
         dto.setUpdatedAt(order.getUpdatedAt());
+        if (order.getOrderItems() != null) {
+            dto.setOrderItems(order.getOrderItems().stream().map(this::toDTO).toList());
+        }
+        return dto;
+    }
+    
+    public OrderItemDTO toDTO(OrderItem item) {
+        OrderItemDTO dto = new OrderItemDTO();
+        dto.setId(item.getId());
+        dto.setOrderId(item.getOrder() != null ? item.getOrder().getId() : null);
+        dto.setTicketId(item.getTicketId());
+        dto.setQuantity(item.getQuantity());
+        dto.setPrice(item.getPrice());
         return dto;
     }
     
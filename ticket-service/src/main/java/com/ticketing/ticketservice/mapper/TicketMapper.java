@@ -15,6 +15,8 @@ public class TicketMapper {
         dto.setVenue(ticket.getVenue());
         dto.setPrice(ticket.getPrice());
         dto.setAvailable(ticket.getAvailable());
+        dto.setCapacity(ticket.getCapacity());
+        dto.setRemaining(ticket.getRemaining());
         dto.setUserId(ticket.getUserId());
         return dto;
     }
@@ -27,6 +29,8 @@ public class TicketMapper {
         ticket.setVenue(dto.getVenue());
         ticket.setPrice(dto.getPrice());
         ticket.setAvailable(dto.getAvailable());
+        ticket.setCapacity(dto.getCapacity());
+        ticket.setRemaining(dto.getRemaining());
         ticket.setUserId(dto.getUserId());
         return ticket;
     }
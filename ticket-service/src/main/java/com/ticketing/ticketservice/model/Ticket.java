@@ -21,7 +21,21 @@ public class Ticket {
     
     private BigDecimal price;
     
+    // Inventory counters, and whether the ticket is on sale, are only changed through the
+    // conditional updates in TicketRepository, never by flushing a loaded entity, so concurrent
+    // reservations cannot be overwritten. Tracked tickets are on sale exactly while seats remain
+    @Column(updatable = false)
     private Boolean available;
     
+    @Column(updatable = false)
+    private Integer capacity;
+    
+    @Column(updatable = false)
+    private Integer remaining;
+    
+    // Bumped by every change to the ticket (see TicketRepository); backs the HTTP ETag
+    @Column(updatable = false)
+    private Long version;
+    
     private Long userId;
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.ticketing.ticketservice.repository;
 
 import com.ticketing.ticketservice.model.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -8,4 +9,5 @@ import java.util.List;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserId(Long userId);
+    List<Order> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
\ No newline at end of file
@@ -1,13 +1,57 @@
 package com.ticketing.ticketservice.repository;
 
 import com.ticketing.ticketservice.model.Ticket;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
+    List<Ticket> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
     List<Ticket> findByEventId(Long eventId);
     List<Ticket> findByUserId(Long userId);
     List<Ticket> findByAvailableTrue();
-}
\ No newline at end of file
+    
+    // Single conditional UPDATE: the row lock is held only for this statement and the
+    // WHERE clause guarantees remaining never goes below zero. Tickets created before inventory
+    // was tracked have no capacity or remaining; they are sold while available, and their
+    // remaining stays NULL until a capacity is set (see resize)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.remaining = t.remaining - :quantity, " +
+           "t.available = CASE WHEN t.remaining IS NULL OR t.remaining - :quantity > 0 THEN true ELSE false END, " +
+           "t.version = COALESCE(t.version, 0) + 1 " +
+           "WHERE t.id = :id AND t.available = true AND (t.remaining IS NULL OR t.remaining >= :quantity)")
+    int reserve(@Param("id") Long id, @Param("quantity") int quantity);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.remaining = t.remaining + :quantity, " +
+           "t.available = CASE WHEN t.remaining = 0 THEN true ELSE t.available END, " +
+           "t.version = COALESCE(t.version, 0) + 1 " +
+           "WHERE t.id = :id AND (t.remaining IS NULL OR t.capacity IS NULL OR t.remaining + :quantity <= t.capacity)")
+    int release(@Param("id") Long id, @Param("quantity") int quantity);
+    
+    // Refused when more seats are already sold than the new capacity holds
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.remaining = COALESCE(t.remaining, 0) + (:capacity - COALESCE(t.capacity, 0)), " +
+           "t.available = CASE WHEN COALESCE(t.remaining, 0) + (:capacity - COALESCE(t.capacity, 0)) > 0 THEN true ELSE false END, " +
+           "t.capacity = :capacity, t.version = COALESCE(t.version, 0) + 1 " +
+           "WHERE t.id = :id AND COALESCE(t.remaining, 0) + (:capacity - COALESCE(t.capacity, 0)) >= 0")
+    int resize(@Param("id") Long id, @Param("capacity") int capacity);
+    
+    // Only untracked tickets are put on or off sale by hand; tracked ones follow their remaining seats
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.available = :available WHERE t.id = :id AND t.remaining IS NULL")
+    int setAvailableIfUntracked(@Param("id") Long id, @Param("available") boolean available);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.version = COALESCE(t.version, 0) + 1 WHERE t.id = :id")
+    int bumpVersion(@Param("id") Long id);
+    
+    @Query("SELECT COALESCE(t.version, 0) FROM Ticket t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
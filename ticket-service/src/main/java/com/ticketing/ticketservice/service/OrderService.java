@@ -1,9 +1,13 @@
 package com.ticketing.ticketservice.service;
 
+import com.ticketing.ticketservice.dto.OrderDTO;
+import com.ticketing.ticketservice.mapper.OrderMapper;
 import com.ticketing.ticketservice.model.Order;
 import com.ticketing.ticketservice.repository.OrderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,11 +17,23 @@ public class OrderService {
     @Autowired
     private OrderRepository orderRepository;
     
+    @Autowired
+    private OrderMapper orderMapper;
+    
     
     public List<Order> getAllOrders() {
         return orderRepository.findAll();
     }
     
+    // Mapped inside the transaction so the order items are loaded before the session closes
+    @Transactional(readOnly = true)
+    public List<OrderDTO> getOrdersPage(Long afterId, int limit) {
+        return orderRepository.findByIdGreaterThanOrderByIdAsc(afterId != null ? afterId : 0L, Limit.of(limit))
+                .stream()
+                .map(orderMapper::toDTO)
+                .toList();
+    }
+    
     public Optional<Order> getOrderById(Long id) {
         return orderRepository.findById(id);
     }
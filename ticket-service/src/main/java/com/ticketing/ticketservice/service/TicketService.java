@@ -1,9 +1,13 @@
 package com.ticketing.ticketservice.service;
 
+import com.ticketing.ticketservice.client.BookingCacheInvalidator;
 import com.ticketing.ticketservice.model.Ticket;
 import com.ticketing.ticketservice.repository.TicketRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,19 +17,50 @@ public class TicketService {
     @Autowired
     private TicketRepository ticketRepository;
     
+    @Autowired
+    private BookingCacheInvalidator bookingCacheInvalidator;
+    
     
     public List<Ticket> getAllTickets() {
         return ticketRepository.findAll();
     }
     
+    public List<Ticket> getTicketsPage(Long afterId, int limit) {
+        return ticketRepository.findByIdGreaterThanOrderByIdAsc(afterId != null ? afterId : 0L, Limit.of(limit));
+    }
+    
     public Optional<Ticket> getTicketById(Long id) {
         return ticketRepository.findById(id);
     }
     
+    public Optional<Long> getTicketVersion(Long id) {
+        return ticketRepository.findVersionById(id);
+    }
+    
+    public List<Ticket> getTicketsByIds(Collection<Long> ids) {
+        return ticketRepository.findAllById(ids);
+    }
+    
+    /**
+     * Creates a ticket with all of its capacity remaining. Without a capacity the ticket is
+     * untracked: it is sold while {@code available}, which defaults to on sale.
+     */
     public Ticket createTicket(Ticket ticket) {
+        ticket.setRemaining(ticket.getCapacity());
+        ticket.setVersion(0L);
+        if (ticket.getCapacity() != null) {
+            ticket.setAvailable(ticket.getCapacity() > 0);
+        } else if (ticket.getAvailable() == null) {
+            ticket.setAvailable(true);
+        }
         return ticketRepository.save(ticket);
     }
     
+    /**
+     * Updates the ticket's details and, if given, its capacity. Whether a tracked ticket is on sale
+     * follows its remaining seats; {@code available} is only taken for untracked tickets.
+     */
+    @Transactional
     public Ticket updateTicket(Long id, Ticket ticketDetails) {
         Optional<Ticket> optionalTicket = ticketRepository.findById(id);
         if (optionalTicket.isPresent()) {
@@ -33,15 +68,48 @@ public class TicketService {
             ticket.setEventName(ticketDetails.getEventName());
             ticket.setVenue(ticketDetails.getVenue());
             ticket.setPrice(ticketDetails.getPrice());
-            ticket.setAvailable(ticketDetails.getAvailable());
             ticket.setUserId(ticketDetails.getUserId());
-            return ticketRepository.save(ticket);
+            ticketRepository.save(ticket);
+            if (ticketDetails.getCapacity() != null && !ticketDetails.getCapacity().equals(ticket.getCapacity())) {
+                if (ticketRepository.resize(id, ticketDetails.getCapacity()) == 0) {
+                    throw new IllegalArgumentException("Capacity cannot be lower than the number of tickets already sold");
+                }
+            } else {
+                ticketRepository.bumpVersion(id);
+            }
+            if (ticketDetails.getAvailable() != null) {
+                ticketRepository.setAvailableIfUntracked(id, ticketDetails.getAvailable());
+            }
+            bookingCacheInvalidator.ticketChanged(id);
+            // The updates above cleared the persistence context, so this reads the stored counters
+            return ticketRepository.findById(id).orElse(null);
         }
         return null;
     }
     
     public void deleteTicket(Long id) {
         ticketRepository.deleteById(id);
+        bookingCacheInvalidator.ticketChanged(id);
+    }
+    
+    /**
+     * Atomically takes {@code quantity} seats from the ticket's remaining inventory.
+     *
+     * @return {@code false} if the ticket does not exist, is not on sale or has too few seats left
+     */
+    @Transactional
+    public boolean reserveTickets(Long id, int quantity) {
+        return ticketRepository.reserve(id, quantity) == 1;
+    }
+    
+    /**
+     * Atomically returns {@code quantity} seats to the ticket's remaining inventory.
+     *
+     * @return {@code false} if the ticket does not exist or the release would exceed its capacity
+     */
+    @Transactional
+    public boolean releaseTickets(Long id, int quantity) {
+        return ticketRepository.release(id, quantity) == 1;
     }
     
     public List<Ticket> getAvailableTickets() {
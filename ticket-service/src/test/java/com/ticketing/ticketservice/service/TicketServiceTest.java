@@ -0,0 +1,166 @@
+package com.ticketing.ticketservice.service;
+
+import com.ticketing.ticketservice.client.BookingCacheInvalidator;
+import com.ticketing.ticketservice.model.Ticket;
+import com.ticketing.ticketservice.repository.TicketRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the inventory updates against PostgreSQL, which they are written for, rather than an
+ * in-memory database with different NULL and CASE handling.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TicketService.class)
+class TicketServiceTest {
+
+    private static final EmbeddedPostgres postgres = start();
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @MockBean
+    private BookingCacheInvalidator bookingCacheInvalidator;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void reservesUntilSoldOutAndReleasesBack() {
+        Long id = create(3).getId();
+
+        assertTrue(ticketService.reserveTickets(id, 2));
+        assertFalse(ticketService.reserveTickets(id, 2));
+        assertTrue(ticketService.reserveTickets(id, 1));
+        assertTicket(id, 0, false);
+
+        assertTrue(ticketService.releaseTickets(id, 1));
+        assertTicket(id, 1, true);
+    }
+
+    @Test
+    void refusesToReleaseBeyondCapacity() {
+        Long id = create(3).getId();
+        assertTrue(ticketService.reserveTickets(id, 1));
+
+        assertFalse(ticketService.releaseTickets(id, 2));
+        assertTicket(id, 2, true);
+    }
+
+    @Test
+    void sellsUntrackedTicketsWhileAvailable() {
+        Ticket ticket = create(null);
+        Long id = ticket.getId();
+        assertNull(ticket.getCapacity());
+        assertNull(ticket.getRemaining());
+        assertTrue(ticket.getAvailable());
+
+        assertTrue(ticketService.reserveTickets(id, 5));
+        assertTrue(ticketService.releaseTickets(id, 5));
+        assertTicket(id, null, true);
+
+        ticketService.updateTicket(id, details(null, false));
+        assertFalse(ticketService.reserveTickets(id, 1));
+    }
+
+    @Test
+    void resizesAroundTheSeatsAlreadySold() {
+        Long id = create(5).getId();
+        assertTrue(ticketService.reserveTickets(id, 3));
+
+        Ticket resized = ticketService.updateTicket(id, details(4, null));
+        assertEquals(4, resized.getCapacity());
+        assertEquals(1, resized.getRemaining());
+
+        assertEquals(0, ticketService.updateTicket(id, details(3, null)).getRemaining());
+        assertTicket(id, 0, false);
+
+        assertThrows(IllegalArgumentException.class, () -> ticketService.updateTicket(id, details(2, null)));
+    }
+
+    @Test
+    void startsTrackingAnUntrackedTicketOnResize() {
+        Long id = create(null).getId();
+
+        Ticket resized = ticketService.updateTicket(id, details(2, null));
+
+        assertEquals(2, resized.getCapacity());
+        assertEquals(2, resized.getRemaining());
+        assertTrue(resized.getAvailable());
+    }
+
+    @Test
+    void derivesAvailabilityOfTrackedTicketsFromRemainingSeats() {
+        Long id = create(2).getId();
+
+        assertTrue(ticketService.updateTicket(id, details(null, false)).getAvailable());
+
+        assertTrue(ticketService.reserveTickets(id, 2));
+        assertFalse(ticketService.updateTicket(id, details(null, true)).getAvailable());
+    }
+
+    private Ticket create(Integer capacity) {
+        Ticket ticket = new Ticket();
+        ticket.setEventId(1L);
+        ticket.setEventName("Concert");
+        ticket.setVenue("Arena");
+        ticket.setPrice(BigDecimal.TEN);
+        ticket.setCapacity(capacity);
+        return ticketService.createTicket(ticket);
+    }
+
+    private static Ticket details(Integer capacity, Boolean available) {
+        Ticket details = new Ticket();
+        details.setEventName("Concert");
+        details.setVenue("Arena");
+        details.setPrice(BigDecimal.TEN);
+        details.setCapacity(capacity);
+        details.setAvailable(available);
+        return details;
+    }
+
+    private void assertTicket(Long id, Integer remaining, boolean available) {
+        Ticket ticket = ticketRepository.findById(id).orElseThrow();
+        assertEquals(remaining, ticket.getRemaining());
+        assertEquals(available, ticket.getAvailable());
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded PostgreSQL", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ticketing.common.auth;
+
+import com.ticketing.common.identity.RemoteTokenValidator;
+import feign.Feign;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * The services' client for auth-service: the Feign {@link AuthServiceClient} with its
+ * {@link AuthServiceFallbackFactory}, the {@link RemoteTokenValidator} the token checks use
+ * without a {@code jwt.secret}, and, in the services that configure the user caches
+ * ({@code cache.user-names.spec}), the {@link AuthServiceCache} in front of it.
+ */
+@AutoConfiguration
+@ConditionalOnClass({Feign.class, EnableFeignClients.class})
+@EnableFeignClients(clients = AuthServiceClient.class)
+public class AuthServiceAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthServiceFallbackFactory authServiceFallbackFactory(ObjectProvider<CacheManager> cacheManager) {
+        return new AuthServiceFallbackFactory(cacheManager.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(RemoteTokenValidator.class)
+    public AuthServiceTokenValidator authServiceTokenValidator(AuthServiceClient authServiceClient) {
+        return new AuthServiceTokenValidator(authServiceClient);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty("cache.user-names.spec")
+    public AuthServiceCache authServiceCache(AuthServiceClient authServiceClient, CacheManager cacheManager) {
+        return new AuthServiceCache(authServiceClient, cacheManager);
+    }
+}
@@ -0,0 +1,110 @@
+package com.ticketing.common.auth;
+
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Near-cache in front of {@link AuthServiceClient} for user data that rarely changes. Fetched values
+ * are also kept as last known values for {@link AuthServiceFallbackFactory}. The service's
+ * {@link CacheManager} provides the caches named here, with the sizes and TTLs it configures.
+ */
+@Slf4j
+public class AuthServiceCache {
+
+    public static final String USER_NAMES = "userNames";
+    public static final String VALID_USERS = "validUsers";
+    // Last successful answers from auth-service, served while it is unavailable
+    public static final String LAST_KNOWN_USER_NAMES = "lastKnownUserNames";
+    public static final String LAST_KNOWN_VALID_USERS = "lastKnownValidUsers";
+
+    private final AuthServiceClient authServiceClient;
+    private final Cache userNames;
+    private final Cache validUsers;
+    private final Cache lastKnownUserNames;
+    private final Cache lastKnownValidUsers;
+
+    // Cleared on the first 404/405 from an auth-service without the bulk endpoint
+    private volatile boolean bulkLookupSupported = true;
+
+    public AuthServiceCache(AuthServiceClient authServiceClient, CacheManager cacheManager) {
+        this.authServiceClient = authServiceClient;
+        this.userNames = cacheManager.getCache(USER_NAMES);
+        this.validUsers = cacheManager.getCache(VALID_USERS);
+        this.lastKnownUserNames = cacheManager.getCache(LAST_KNOWN_USER_NAMES);
+        this.lastKnownValidUsers = cacheManager.getCache(LAST_KNOWN_VALID_USERS);
+    }
+
+    public Boolean validateUser(Long userId) {
+        if (validUsers.get(userId) != null) {
+            return true;
+        }
+        Boolean exists = authServiceClient.validateUser(userId);
+        // Only positive answers are cached so newly registered users are seen immediately
+        if (Boolean.TRUE.equals(exists)) {
+            validUsers.put(userId, true);
+            lastKnownValidUsers.put(userId, true);
+        }
+        return exists;
+    }
+
+    public String getUserName(Long userId) {
+        return userNames.get(userId, () -> fetchUserName(userId));
+    }
+
+    /**
+     * Returns cached names and fetches only the missing IDs in one bulk call. Against an auth-service
+     * that does not serve {@code POST /api/auth/users/names} yet, the missing IDs are looked up one by
+     * one instead. IDs auth-service has no name for are left out of the result.
+     */
+    public Map<Long, String> getUserNames(Set<Long> userIds) {
+        Map<Long, String> names = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        for (Long userId : userIds) {
+            Cache.ValueWrapper cached = userNames.get(userId);
+            if (cached != null) {
+                names.put(userId, (String) cached.get());
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return names;
+        }
+        if (bulkLookupSupported) {
+            try {
+                Map<Long, String> fetched = authServiceClient.getUserNames(missing);
+                fetched.forEach(userNames::put);
+                fetched.forEach(lastKnownUserNames::put);
+                names.putAll(fetched);
+                return names;
+            } catch (FeignException.NotFound | FeignException.MethodNotAllowed e) {
+                bulkLookupSupported = false;
+                log.warn("auth-service has no bulk user name lookup, falling back to one call per user");
+            }
+        }
+        for (Long userId : missing) {
+            try {
+                String name = fetchUserName(userId);
+                userNames.put(userId, name);
+                names.put(userId, name);
+            } catch (FeignException.NotFound e) {
+                log.debug("auth-service has no name for user {}", userId);
+            }
+        }
+        return names;
+    }
+
+    private String fetchUserName(Long userId) {
+        String name = authServiceClient.getUserName(userId);
+        lastKnownUserNames.put(userId, name);
+        return name;
+    }
+}
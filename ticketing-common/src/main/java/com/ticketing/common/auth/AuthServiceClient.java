@@ -1,12 +1,16 @@
-package com.ticketing.bookingservice.client;
+package com.ticketing.common.auth;
 
-import com.ticketing.bookingservice.dto.UserDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 
-@FeignClient(name = "auth-service")
+import java.util.Map;
+import java.util.Set;
+
+@FeignClient(name = "auth-service", fallbackFactory = AuthServiceFallbackFactory.class)
 public interface AuthServiceClient {
 
     @GetMapping("/api/auth/validate-user/{userId}")
@@ -15,6 +19,9 @@ public interface AuthServiceClient {
     @GetMapping("/api/auth/user/{userId}/name")
     String getUserName(@PathVariable("userId") Long userId);
 
+    @PostMapping("/api/auth/users/names")
+    Map<Long, String> getUserNames(@RequestBody Set<Long> userIds);
+
     @GetMapping("/api/auth/validate-token")
     UserDTO validateToken(@RequestHeader("Authorization") String token);
 }
\ No newline at end of file
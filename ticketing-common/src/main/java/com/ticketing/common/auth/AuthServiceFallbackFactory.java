@@ -0,0 +1,89 @@
+package com.ticketing.common.auth;
+
+import com.ticketing.common.resilience.Fallbacks;
+import com.ticketing.common.resilience.LastKnownValues;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cloud.openfeign.FallbackFactory;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers {@link AuthServiceClient} calls from the last known user data while auth-service is
+ * unavailable, in the services whose {@link CacheManager} keeps it (see {@link AuthServiceCache});
+ * elsewhere user lookups fail with the original error. A token auth-service could not validate is
+ * rejected, whether auth-service refused it or could not be reached: it is never accepted from
+ * stale data, and rejecting it answers 401 instead of failing the request.
+ */
+@Slf4j
+public class AuthServiceFallbackFactory implements FallbackFactory<AuthServiceClient> {
+
+    private final LastKnownValues<Long, String> lastKnownUserNames;
+    private final LastKnownValues<Long, Boolean> lastKnownValidUsers;
+
+    /**
+     * @param cacheManager the service's cache manager, or {@code null} if it has none
+     */
+    public AuthServiceFallbackFactory(CacheManager cacheManager) {
+        this.lastKnownUserNames = lastKnownValues(cacheManager, AuthServiceCache.LAST_KNOWN_USER_NAMES,
+                String.class, "user name");
+        this.lastKnownValidUsers = lastKnownValues(cacheManager, AuthServiceCache.LAST_KNOWN_VALID_USERS,
+                Boolean.class, "user validation");
+    }
+
+    @Override
+    public AuthServiceClient create(Throwable cause) {
+        return new AuthServiceClient() {
+
+            @Override
+            public Boolean validateUser(Long userId) {
+                if (lastKnownValidUsers == null) {
+                    throw Fallbacks.propagate(cause);
+                }
+                return lastKnownValidUsers.get(cause, userId);
+            }
+
+            @Override
+            public String getUserName(Long userId) {
+                if (lastKnownUserNames == null) {
+                    throw Fallbacks.propagate(cause);
+                }
+                return lastKnownUserNames.get(cause, userId);
+            }
+
+            @Override
+            public Map<Long, String> getUserNames(Set<Long> userIds) {
+                if (lastKnownUserNames == null) {
+                    throw Fallbacks.propagate(cause);
+                }
+                return lastKnownUserNames.getAll(cause, userIds);
+            }
+
+            @Override
+            public UserDTO validateToken(String token) {
+                if (Fallbacks.isUnavailable(cause)) {
+                    log.warn("auth-service unavailable ({}), rejecting token that needs remote validation",
+                            cause.toString());
+                } else {
+                    log.debug("auth-service rejected token: {}", cause.toString());
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Only looks up caches the service registered, so a cache manager that creates caches on
+     * demand does not grow an unbounded one for a service that keeps no user data.
+     */
+    private static <V> LastKnownValues<Long, V> lastKnownValues(CacheManager cacheManager, String name,
+                                                             Class<V> type, String description) {
+        if (cacheManager == null || !cacheManager.getCacheNames().contains(name)) {
+            return null;
+        }
+        Cache cache = cacheManager.getCache(name);
+        return new LastKnownValues<>(cache, type, "auth-service", description);
+    }
+}
@@ -0,0 +1,25 @@
+package com.ticketing.common.auth;
+
+import com.ticketing.common.identity.GatewayIdentity;
+import com.ticketing.common.identity.RemoteTokenValidator;
+
+/**
+ * Validates bearer tokens with auth-service for the {@code TokenVerifier}, when no
+ * {@code jwt.secret} is configured to verify them in-process.
+ */
+public class AuthServiceTokenValidator implements RemoteTokenValidator {
+
+    private final AuthServiceClient authServiceClient;
+
+    public AuthServiceTokenValidator(AuthServiceClient authServiceClient) {
+        this.authServiceClient = authServiceClient;
+    }
+
+    @Override
+    public GatewayIdentity validate(String token) {
+        UserDTO user = authServiceClient.validateToken("Bearer " + token);
+        return user != null
+                ? new GatewayIdentity(user.getId(), user.getUsername(), user.getEmail(), user.getFullName(), user.getRole())
+                : null;
+    }
+}
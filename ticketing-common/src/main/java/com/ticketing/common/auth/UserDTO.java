@@ -1,4 +1,4 @@
-package com.ticketing.eventservice.dto;
+package com.ticketing.common.auth;
 
 public class UserDTO {
     private Long id;
@@ -0,0 +1,43 @@
+package com.ticketing.common.discovery;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.discovery.EurekaClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.cache.LoadBalancerCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Eureka client support for the gateway and the services: a {@link RegistryRefreshListener}
+ * keeping the load balancer and the {@link RegistrySnapshot} in step with the registry, and a
+ * {@link RegistrationGate} for the instances that register as {@code STARTING}
+ * ({@code eureka.instance.initial-status}), which would otherwise never turn {@code UP}. The
+ * snapshot itself is configured earlier, by {@link DiscoveryDefaultsEnvironmentPostProcessor}.
+ */
+@AutoConfiguration
+@ConditionalOnClass(EurekaClient.class)
+public class DiscoveryAutoConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "eureka.instance.initial-status", havingValue = "STARTING")
+    public RegistrationGate registrationGate(ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+                                             ObjectProvider<DataSource> dataSource) {
+        return new RegistrationGate(applicationInfoManager, dataSource);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(LoadBalancerCacheManager.class)
+    static class RegistryRefreshConfiguration {
+
+        @Bean
+        public RegistryRefreshListener registryRefreshListener(
+                ObjectProvider<LoadBalancerCacheManager> loadBalancerCacheManager) {
+            return new RegistryRefreshListener(loadBalancerCacheManager);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.ticketing.common.discovery;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Adds the Eureka client settings the gateway and the services share
+ * ({@code discovery-defaults.properties} next to this class): fast registry fetches and
+ * heartbeats, a bounded back-off while discovery-service fails, and the {@link RegistrySnapshot}
+ * as backup registry. They are the last property source, so a service's own configuration
+ * overrides any of them.
+ *
+ * <p>Also configures the {@link RegistrySnapshot} from {@code discovery.registry-snapshot.file}
+ * and {@code max-age}. Eureka instantiates it by name and reads it during the client's first
+ * fetch, while the context is still creating beans, so it is set here, once the environment is
+ * complete and before any bean exists.
+ */
+public class DiscoveryDefaultsEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    static final String PROPERTY_SOURCE_NAME = "ticketingDiscoveryDefaults";
+
+    private static final String DEFAULTS = "com/ticketing/common/discovery/discovery-defaults.properties";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!ClassUtils.isPresent("com.netflix.discovery.EurekaClient", getClass().getClassLoader())) {
+            return;
+        }
+        if (!environment.getPropertySources().contains(PROPERTY_SOURCE_NAME)) {
+            try {
+                environment.getPropertySources().addLast(
+                        new ResourcePropertySource(PROPERTY_SOURCE_NAME, new ClassPathResource(DEFAULTS)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load " + DEFAULTS, e);
+            }
+        }
+        String file = environment.getProperty("discovery.registry-snapshot.file", "");
+        RegistrySnapshot.configure(StringUtils.hasText(file) ? Path.of(file) : null,
+                DurationStyle.detectAndParse(environment.getProperty("discovery.registry-snapshot.max-age", "1h")));
+    }
+
+    @Override
+    public int getOrder() {
+        return ConfigDataEnvironmentPostProcessor.ORDER + 1;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ticketing.common.discovery;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the instance back from traffic until it is warm. It registers with Eureka as
+ * {@code STARTING} ({@code eureka.instance.initial-status}), which clients do not route to, and
+ * only turns {@code UP} once the application is ready, i.e. every {@code ApplicationReadyEvent}
+ * listener has built its in-memory state, and the connection pool holds its minimum idle
+ * connections, if it has a Hikari pool. Turning {@code UP} is sent to discovery-service at once, not
+ * on the next heartbeat.
+ */
+@Slf4j
+public class RegistrationGate {
+
+    private static final boolean HIKARI_PRESENT = ClassUtils.isPresent(
+            "com.zaxxer.hikari.HikariDataSource", RegistrationGate.class.getClassLoader());
+
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+    private final ObjectProvider<DataSource> dataSource;
+
+    public RegistrationGate(ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+                            ObjectProvider<DataSource> dataSource) {
+        this.applicationInfoManager = applicationInfoManager;
+        this.dataSource = dataSource;
+    }
+
+    @EventListener
+    public void onReadinessChanged(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            return;
+        }
+        long start = System.nanoTime();
+        int connections = warmConnectionPool();
+        applicationInfoManager.ifAvailable(manager -> {
+            // Leave an instance taken out of service by hand where it is
+            if (manager.getInfo().getStatus() == InstanceStatus.STARTING) {
+                manager.setInstanceStatus(InstanceStatus.UP);
+            }
+        });
+        log.info("Warmed {} database connections in {}ms, registered as UP",
+                connections, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Opens the pool's minimum idle connections now rather than under the first requests; an
+     * unreachable database is logged and left to the pool, it does not keep the instance out.
+     */
+    private int warmConnectionPool() {
+        if (!HIKARI_PRESENT || !(dataSource.getIfAvailable() instanceof HikariDataSource hikari) || hikari.isClosed()) {
+            return 0;
+        }
+        int target = Math.min(hikari.getMinimumIdle(), hikari.getMaximumPoolSize());
+        List<Connection> borrowed = new ArrayList<>(target);
+        try {
+            while (borrowed.size() < target) {
+                borrowed.add(hikari.getConnection());
+            }
+        } catch (SQLException e) {
+            log.warn("Could not warm the connection pool past {} connections: {}", borrowed.size(), e.getMessage());
+        } finally {
+            for (Connection connection : borrowed) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Failed to return a connection to the pool", e);
+                }
+            }
+        }
+        return borrowed.size();
+    }
+}
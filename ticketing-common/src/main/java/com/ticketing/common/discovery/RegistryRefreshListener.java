@@ -0,0 +1,78 @@
+package com.ticketing.common.discovery;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.EurekaClient;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.loadbalancer.cache.LoadBalancerCacheManager;
+import org.springframework.cloud.loadbalancer.core.CachingServiceInstanceListSupplier;
+import org.springframework.context.event.EventListener;
+
+import java.util.Objects;
+
+/**
+ * Acts on every Eureka registry refresh that changed something: drops the load balancer's cached
+ * instance lists, which would otherwise lag the registry by up to their TTL, and saves the
+ * registry as the {@link RegistrySnapshot} for the next start. Refreshes that changed nothing
+ * cost one pass over the instances.
+ */
+@Slf4j
+public class RegistryRefreshListener {
+
+    private final ObjectProvider<LoadBalancerCacheManager> loadBalancerCacheManager;
+
+    private volatile long lastFingerprint;
+
+    public RegistryRefreshListener(ObjectProvider<LoadBalancerCacheManager> loadBalancerCacheManager) {
+        this.loadBalancerCacheManager = loadBalancerCacheManager;
+    }
+
+    @EventListener
+    public void onRegistryRefresh(HeartbeatEvent event) {
+        if (!(event.getSource() instanceof EurekaClient eurekaClient)) {
+            return;
+        }
+        Applications applications = eurekaClient.getApplications();
+        long fingerprint = fingerprint(applications);
+        if (fingerprint == lastFingerprint) {
+            return;
+        }
+        lastFingerprint = fingerprint;
+        log.debug("Registry changed: {}", applications.getReconcileHashCode());
+
+        loadBalancerCacheManager.ifAvailable(cacheManager -> {
+            Cache instances = cacheManager.getCache(CachingServiceInstanceListSupplier.SERVICE_INSTANCE_CACHE_NAME);
+            if (instances != null) {
+                instances.clear();
+            }
+        });
+
+        // An empty registry is never worth restoring over the previous snapshot
+        if (RegistrySnapshot.isEnabled() && applications.size() > 0) {
+            try {
+                RegistrySnapshot.save(applications);
+            } catch (RuntimeException e) {
+                log.warn("Failed to save registry snapshot", e);
+            }
+        }
+    }
+
+    /**
+     * Order-independent hash of every instance's address and status. Eureka's own hash code only
+     * counts instances per status, so it misses an instance being replaced by another.
+     */
+    private static long fingerprint(Applications applications) {
+        long fingerprint = 1;
+        for (Application application : applications.getRegisteredApplications()) {
+            for (InstanceInfo instance : application.getInstancesAsIsFromEureka()) {
+                fingerprint += Objects.hash(instance.getInstanceId(), instance.getIPAddr(), instance.getPort(),
+                        instance.getStatus(), instance.getLastDirtyTimestamp());
+            }
+        }
+        return fingerprint;
+    }
+}
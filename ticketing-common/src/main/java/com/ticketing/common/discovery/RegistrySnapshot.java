@@ -0,0 +1,94 @@
+package com.ticketing.common.discovery;
+
+import com.netflix.discovery.BackupRegistry;
+import com.netflix.discovery.converters.EurekaJacksonCodec;
+import com.netflix.discovery.shared.Applications;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The last Eureka registry this instance fetched, kept as JSON in a local file. Eureka falls back
+ * to it ({@code eureka.client.backup-registry-impl}) when the initial fetch fails, so an instance
+ * starting while discovery-service is down or restarting still knows where to send its calls;
+ * the regular fetches replace it as soon as discovery-service answers.
+ *
+ * <p>Eureka creates this class itself, by name, so the file is set through {@link #configure}
+ * rather than injected. {@link DiscoveryDefaultsEnvironmentPostProcessor} does so from
+ * {@code discovery.registry-snapshot.*} before any bean exists, so the configuration is in place
+ * by the time the Eureka client makes its first fetch.
+ */
+@Slf4j
+public class RegistrySnapshot implements BackupRegistry {
+
+    private static volatile Path file;
+    private static volatile Duration maxAge = Duration.ofHours(1);
+
+    static void configure(Path snapshotFile, Duration snapshotMaxAge) {
+        file = snapshotFile;
+        maxAge = snapshotMaxAge;
+    }
+
+    static boolean isEnabled() {
+        return file != null;
+    }
+
+    @Override
+    public Applications fetchRegistry() {
+        Path snapshotFile = file;
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return null;
+        }
+        try {
+            Instant savedAt = Files.getLastModifiedTime(snapshotFile).toInstant();
+            if (savedAt.plus(maxAge).isBefore(Instant.now())) {
+                log.info("Ignoring registry snapshot {} saved at {}", snapshotFile, savedAt);
+                return null;
+            }
+            Applications applications;
+            try (InputStream in = Files.newInputStream(snapshotFile)) {
+                applications = EurekaJacksonCodec.getInstance().readValue(Applications.class, in);
+            }
+            log.info("Loaded {} instances from registry snapshot saved at {}", applications.size(), savedAt);
+            return applications;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable registry snapshot {}: {}", snapshotFile, e.toString());
+            return null;
+        }
+    }
+
+    @Override
+    public Applications fetchRegistry(String[] includeRemoteRegions) {
+        return fetchRegistry();
+    }
+
+    /**
+     * Replaces the snapshot; written to a temporary file and moved over the previous one, so a
+     * crash mid-write leaves the last complete snapshot.
+     */
+    static void save(Applications applications) {
+        Path snapshotFile = file;
+        if (snapshotFile == null) {
+            return;
+        }
+        try {
+            Path directory = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                EurekaJacksonCodec.getInstance().writeTo(applications, out);
+            }
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write registry snapshot " + snapshotFile, e);
+        }
+    }
+}
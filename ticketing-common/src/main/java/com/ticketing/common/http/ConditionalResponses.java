@@ -0,0 +1,108 @@
+package com.ticketing.common.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET support for versioned resources. The caller derives a strong ETag from the
+ * resource's version without loading it; a matching {@code If-None-Match} is answered with 304,
+ * and otherwise the serialized body is served from a cache keyed by that ETag, so each version is
+ * loaded and serialized once. The body cache is sized and expired by {@code http-cache.body-cache.spec}
+ * (a Caffeine spec); an expiry bounds the staleness of anything in the body that the ETag does not
+ * cover, such as names looked up from other services.
+ *
+ * <p>Registered by {@link HttpCacheAutoConfiguration} in every servlet service.
+ */
+public class ConditionalResponses {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, byte[]> bodies;
+    private final CacheControl cacheControl;
+
+    public ConditionalResponses(ObjectMapper objectMapper,
+                                @Value("${http-cache.body-cache.spec:maximumSize=10000}") String bodyCacheSpec,
+                                @Value("${http-cache.max-age:0s}") Duration maxAge) {
+        this.objectMapper = objectMapper;
+        this.bodies = Caffeine.from(bodyCacheSpec).build();
+        this.cacheControl = maxAge.isZero()
+                ? CacheControl.noCache().cachePublic()
+                : CacheControl.maxAge(maxAge).mustRevalidate().cachePublic();
+    }
+
+    public ResponseEntity<byte[]> respond(String ifNoneMatch, String etag, Supplier<Object> loader) {
+        if (matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+
+        byte[] body = bodies.get(etag, key -> serialize(loader.get()));
+        if (body == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ok(etag, body);
+    }
+
+    /**
+     * For bodies that are already serialized; the ETag is derived from their content.
+     */
+    public ResponseEntity<byte[]> respond(String ifNoneMatch, byte[] body) {
+        String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        if (matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        return ok(etag, body);
+    }
+
+    private ResponseEntity<byte[]> ok(String etag, byte[] body) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private ResponseEntity<byte[]> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    private byte[] serialize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response body", e);
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // If-None-Match uses weak comparison
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
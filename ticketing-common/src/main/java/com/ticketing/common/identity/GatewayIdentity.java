@@ -0,0 +1,14 @@
+package com.ticketing.common.identity;
+
+/**
+ * The caller of a request, as the api-gateway vouches for it in its signed identity header or as
+ * {@link TokenVerifier} reads it from a bearer token.
+ */
+public record GatewayIdentity(
+        Long userId,
+        String username,
+        String email,
+        String fullName,
+        String role
+) {
+}
@@ -0,0 +1,51 @@
+package com.ticketing.common.identity;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ticketing.common.revocation.RevocationAutoConfiguration;
+import com.ticketing.common.revocation.RevocationList;
+import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Provides what the servlet services' authentication filters identify callers with: the
+ * {@link TokenVerifier} for bearer tokens, keyed by {@code jwt.secret} and falling back to a
+ * {@link RemoteTokenValidator} bean without one, and the {@link GatewayIdentityVerifier} for the
+ * gateway's identity header, keyed by {@code jwt.gateway-identity-secret}.
+ */
+@AutoConfiguration(after = RevocationAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class GatewayIdentityAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public GatewayIdentityVerifier gatewayIdentityVerifier(
+            @Value("${jwt.gateway-identity-secret:${jwt.secret:}}") String secret,
+            RevocationList revocationList) {
+        return new GatewayIdentityVerifier(secret, revocationList);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({Jwts.class, Caffeine.class})
+    static class TokenVerifierConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public TokenVerifier tokenVerifier(@Value("${jwt.secret:}") String secret,
+                                           ObjectProvider<RemoteTokenValidator> remoteValidator,
+                                           RevocationList revocationList,
+                                           @Value("${jwt.cache.max-size:10000}") long maxCacheSize,
+                                           @Value("${jwt.cache.ttl:5m}") Duration cacheTtl) {
+            return new TokenVerifier(secret, remoteValidator.getIfAvailable(), revocationList,
+                    maxCacheSize, cacheTtl);
+        }
+    }
+}
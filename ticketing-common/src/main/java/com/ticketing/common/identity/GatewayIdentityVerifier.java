@@ -0,0 +1,97 @@
+package com.ticketing.common.identity;
+
+import com.ticketing.common.revocation.RevocationList;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Reads the identity the api-gateway signed into {@value #HEADER}:
+ * {@code v2.<base64url payload>.<base64url mac>}, the payload being userId, username, email,
+ * fullName, role, expiry (epoch seconds) and token ID separated by {@code \u001F}, and the mac the
+ * first 16 bytes of its HMAC-SHA256 under {@code jwt.gateway-identity-secret}. Checking it costs one
+ * HMAC over a few dozen bytes instead of parsing and verifying the JWT, plus a revocation lookup of
+ * the token ID.
+ */
+@Slf4j
+public class GatewayIdentityVerifier {
+
+    public static final String HEADER = "X-User-Identity";
+
+    private static final String VERSION = "v2.";
+    private static final int MAC_LENGTH = 16;
+
+    private final Mac prototype;
+    private final RevocationList revocationList;
+
+    /**
+     * @param secret the gateway's {@code gateway.identity-header.secret}; blank rejects every header
+     */
+    public GatewayIdentityVerifier(String secret, RevocationList revocationList) {
+        this.revocationList = revocationList;
+        if (secret.isBlank()) {
+            this.prototype = null;
+            return;
+        }
+        try {
+            this.prototype = Mac.getInstance("HmacSHA256");
+            prototype.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    /**
+     * @return the user the gateway vouches for, or {@code null} if the header is missing, forged,
+     *         malformed, expired or for a revoked token
+     */
+    public GatewayIdentity verify(String header) {
+        if (prototype == null || header == null || !header.startsWith(VERSION)) {
+            return null;
+        }
+        int dot = header.indexOf('.', VERSION.length());
+        if (dot < 0) {
+            return null;
+        }
+        String payload = header.substring(VERSION.length(), dot);
+
+        try {
+            byte[] mac = Base64.getUrlDecoder().decode(header.substring(dot + 1));
+            byte[] expected = Arrays.copyOf(((Mac) prototype.clone())
+                    .doFinal(payload.getBytes(StandardCharsets.US_ASCII)), MAC_LENGTH);
+            if (!MessageDigest.isEqual(expected, mac)) {
+                log.warn("Ignoring gateway identity header with an invalid signature");
+                return null;
+            }
+
+            String[] fields = new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8)
+                    .split("\u001F", -1);
+            if (fields.length != 7 || fields[4].isEmpty()) {
+                return null;
+            }
+            if (!fields[5].isEmpty() && Instant.ofEpochSecond(Long.parseLong(fields[5])).isBefore(Instant.now())) {
+                return null;
+            }
+            if (revocationList.isRevoked(fields[6])) {
+                log.debug("Ignoring gateway identity header of revoked token {}", fields[6]);
+                return null;
+            }
+            return new GatewayIdentity(Long.valueOf(fields[0]), fields[1], emptyToNull(fields[2]), emptyToNull(fields[3]), fields[4]);
+        } catch (IllegalArgumentException | CloneNotSupportedException e) {
+            // Bad base64 or a non-numeric field
+            log.warn("Ignoring malformed gateway identity header: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
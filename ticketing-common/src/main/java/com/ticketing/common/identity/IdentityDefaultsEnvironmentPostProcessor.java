@@ -0,0 +1,47 @@
+package com.ticketing.common.identity;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Adds the caller identity settings the servlet services share
+ * ({@code identity-defaults.properties} next to this class): whether the gateway's identity
+ * header is trusted and the secret it is signed with, the {@link TokenVerifier} cache, and the
+ * revocation sync switch. They are the last property source, so a service's own configuration
+ * overrides any of them; each service still sets its own {@code jwt.secret}.
+ */
+public class IdentityDefaultsEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    static final String PROPERTY_SOURCE_NAME = "ticketingIdentityDefaults";
+
+    private static final String DEFAULTS = "com/ticketing/common/identity/identity-defaults.properties";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        // The reactive gateway configures its own side of the identity header
+        if (!ClassUtils.isPresent("org.springframework.web.servlet.DispatcherServlet", getClass().getClassLoader())
+                || environment.getPropertySources().contains(PROPERTY_SOURCE_NAME)) {
+            return;
+        }
+        try {
+            environment.getPropertySources().addLast(
+                    new ResourcePropertySource(PROPERTY_SOURCE_NAME, new ClassPathResource(DEFAULTS)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load " + DEFAULTS, e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ConfigDataEnvironmentPostProcessor.ORDER + 1;
+    }
+}
@@ -0,0 +1,15 @@
+package com.ticketing.common.identity;
+
+/**
+ * Validates a bearer token with auth-service, for {@link TokenVerifier} when the service has no
+ * {@code jwt.secret} to verify it with itself.
+ */
+@FunctionalInterface
+public interface RemoteTokenValidator {
+
+    /**
+     * @param token the compact token, without the {@code Bearer } prefix
+     * @return the token's user, or {@code null} if auth-service rejected the token
+     */
+    GatewayIdentity validate(String token);
+}
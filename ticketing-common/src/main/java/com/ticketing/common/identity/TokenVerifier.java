@@ -0,0 +1,117 @@
+package com.ticketing.common.identity;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ticketing.common.revocation.RevocationList;
+import com.ticketing.common.revocation.TokenIds;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Resolves a bearer token to the user it was issued for. Tokens are verified in-process with the
+ * shared {@code jwt.secret}; the {@link RemoteTokenValidator} (auth-service) is only called when no
+ * secret is configured. Results are cached by token hash so repeat requests skip both the signature
+ * check and the remote call. Revocation is checked on every call, cached or not, against the
+ * token's {@code jti}, or its hash when it has none (see {@link TokenIds}).
+ */
+@Slf4j
+public class TokenVerifier {
+
+    private final RemoteTokenValidator remoteValidator;
+    private final RevocationList revocationList;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedUser> verifiedTokens;
+
+    /**
+     * @param secret          the {@code jwt.secret} tokens are signed with; blank validates every
+     *                        token through {@code remoteValidator}
+     * @param remoteValidator asked when there is no secret; {@code null} rejects every token then
+     */
+    public TokenVerifier(String secret,
+                         RemoteTokenValidator remoteValidator,
+                         RevocationList revocationList,
+                         long maxCacheSize,
+                         Duration cacheTtl) {
+        this.remoteValidator = remoteValidator;
+        this.revocationList = revocationList;
+        this.parser = secret.isBlank() ? null : Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxCacheSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    /**
+     * @return the token's user, or {@code null} if the token is invalid, expired or revoked
+     */
+    public GatewayIdentity verify(String token) {
+        String key = TokenIds.hash(token);
+        VerifiedUser cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            if (!cached.isExpired(Instant.now())) {
+                return notRevoked(cached);
+            }
+            verifiedTokens.invalidate(key);
+        }
+
+        VerifiedUser verified = parser != null ? verifyLocally(token, key) : verifyRemotely(token, key);
+        if (verified == null) {
+            return null;
+        }
+        verifiedTokens.put(key, verified);
+        return notRevoked(verified);
+    }
+
+    private GatewayIdentity notRevoked(VerifiedUser verified) {
+        if (revocationList.isRevoked(verified.tokenId())) {
+            log.debug("Rejected revoked JWT {}", verified.tokenId());
+            return null;
+        }
+        return verified.user();
+    }
+
+    private VerifiedUser verifyLocally(String token, String key) {
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            GatewayIdentity user = new GatewayIdentity(
+                    claims.get("userId", Long.class),
+                    claims.getSubject(),
+                    claims.get("email", String.class),
+                    claims.get("fullName", String.class),
+                    claims.get("role", String.class));
+            Date expiration = claims.getExpiration();
+            return new VerifiedUser(user, expiration != null ? expiration.toInstant() : null,
+                    claims.getId() != null ? claims.getId() : key);
+        } catch (JwtException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private VerifiedUser verifyRemotely(String token, String key) {
+        if (remoteValidator == null) {
+            return null;
+        }
+        GatewayIdentity user = remoteValidator.validate(token);
+        // Without the secret the jti cannot be read, so only revocations by token hash apply
+        return user != null ? new VerifiedUser(user, null, key) : null;
+    }
+
+    private record VerifiedUser(GatewayIdentity user, Instant expiresAt, String tokenId) {
+
+        boolean isExpired(Instant now) {
+            return expiresAt != null && expiresAt.isBefore(now);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.ticketing.common.loadbalancer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Picks the less loaded of two random instances (power of two choices), load being the instance's
+ * peak-EWMA latency times its requests in flight. Compared with round robin, a slow or saturated
+ * instance quickly gets less traffic instead of an equal share.
+ *
+ * <p>It also sees every call it balanced (as a {@link LoadBalancerLifecycle}), which is where the
+ * latency and in-flight counts come from:
+ * <ul>
+ *     <li>An instance failing {@code consecutive-failures} calls in a row (errors and 5xx) is
+ *     ejected for {@code base-ejection-time} times the number of times it has been ejected, as
+ *     long as no more than {@code max-ejection-percent} of the instances are ejected.</li>
+ *     <li>New and returning instances ramp up over {@code slow-start-window}, so they warm up
+ *     before taking a full share.</li>
+ * </ul>
+ */
+@Slf4j
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private static final double MIN_WEIGHT = 0.1;
+    // Cancelled calls are never reported complete; an instance with nothing completing for this
+    // long has its in-flight count ignored, and reset on its next call, so such leaks cannot keep
+    // it unpopular for good
+    private static final long STALE_IN_FLIGHT_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final String serviceId;
+    private final Settings settings;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+    // Ejections are decided one at a time, so concurrent failures cannot eject past max-ejection-percent
+    private final ReentrantLock ejectionLock = new ReentrantLock();
+    private volatile List<ServiceInstance> lastInstances = List.of();
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                    String serviceId, Settings settings) {
+        this(supplierProvider, serviceId, settings, System::nanoTime);
+    }
+
+    LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                             String serviceId, Settings settings, LongSupplier nanoClock) {
+        this.supplierProvider = supplierProvider;
+        this.serviceId = serviceId;
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            log.warn("No instances available for {}", serviceId);
+            return new EmptyResponse();
+        }
+        if (instances != lastInstances) {
+            forgetRemoved(instances);
+        }
+
+        long now = nanoClock.getAsLong();
+        List<ServiceInstance> candidates = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (!statsFor(instance).isEjected(now)) {
+                candidates.add(instance);
+            }
+        }
+        if (candidates.isEmpty()) {
+            // Everything is ejected; better to try than to fail outright
+            candidates = instances;
+        }
+        if (candidates.size() == 1) {
+            return new DefaultResponse(candidates.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return new DefaultResponse(statsFor(a).cost(now) <= statsFor(b).cost(now) ? a : b);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (request.getContext() instanceof TimedRequestContext timed) {
+            timed.setRequestStartTime(nanoClock.getAsLong());
+        }
+        if (lbResponse.hasServer()) {
+            InstanceStats instanceStats = statsFor(lbResponse.getServer());
+            instanceStats.releaseStale(nanoClock.getAsLong());
+            instanceStats.inFlight.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()
+                || completionContext.status() == CompletionContext.Status.DISCARD) {
+            return;
+        }
+        InstanceStats instanceStats = stats.get(instanceKey(lbResponse.getServer()));
+        if (instanceStats == null) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        // Never below zero: a call started before a stale reset may still complete
+        instanceStats.inFlight.updateAndGet(inFlight -> inFlight > 0 ? inFlight - 1 : 0);
+        instanceStats.lastCompleted = now;
+
+        Object context = completionContext.getLoadBalancerRequest() != null
+                ? completionContext.getLoadBalancerRequest().getContext() : null;
+        if (context instanceof TimedRequestContext timed && timed.getRequestStartTime() > 0) {
+            instanceStats.observeLatency(now - timed.getRequestStartTime(), now);
+        }
+
+        boolean failed = completionContext.status() == CompletionContext.Status.FAILED
+                || completionContext.getClientResponse() instanceof ResponseData response
+                && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError();
+        if (!failed) {
+            instanceStats.consecutiveFailures.set(0);
+        } else if (instanceStats.consecutiveFailures.incrementAndGet() >= settings.consecutiveFailures()) {
+            eject(lbResponse.getServer(), instanceStats, now);
+        }
+    }
+
+    private void eject(ServiceInstance instance, InstanceStats instanceStats, long now) {
+        long until;
+        ejectionLock.lock();
+        try {
+            if (instanceStats.isEjected(now)) {
+                return;
+            }
+            long ejected = stats.values().stream().filter(s -> s.isEjected(now)).count();
+            if ((ejected + 1) * 100 > (long) settings.maxEjectionPercent() * stats.size()) {
+                return;
+            }
+            if (now - instanceStats.ejectedUntil > settings.baseEjectionTime().toNanos() * 10) {
+                // Healthy for long enough to start over from the base ejection time
+                instanceStats.ejections.set(0);
+            }
+            int ejections = Math.min(instanceStats.ejections.incrementAndGet(), 10);
+            until = now + settings.baseEjectionTime().toNanos() * ejections;
+            instanceStats.consecutiveFailures.set(0);
+            instanceStats.ejectedUntil = until;
+            // Ramp back up once it returns
+            instanceStats.warmUpFrom = until;
+        } finally {
+            ejectionLock.unlock();
+        }
+        log.warn("Ejected {} instance {} for {}s after {} consecutive failures", serviceId, instanceKey(instance),
+                Duration.ofNanos(until - now).toSeconds(), settings.consecutiveFailures());
+    }
+
+    private void forgetRemoved(List<ServiceInstance> instances) {
+        Set<String> current = new HashSet<>();
+        for (ServiceInstance instance : instances) {
+            current.add(instanceKey(instance));
+        }
+        stats.keySet().retainAll(current);
+        lastInstances = instances;
+    }
+
+    private InstanceStats statsFor(ServiceInstance instance) {
+        String key = instanceKey(instance);
+        InstanceStats instanceStats = stats.get(key);
+        if (instanceStats != null) {
+            return instanceStats;
+        }
+        // Start from the average latency, or a new instance would look fastest of all until its
+        // first response and slow start would not hold it back
+        long now = nanoClock.getAsLong();
+        double seed = stats.values().stream()
+                .mapToDouble(s -> s.decayedLatency(now))
+                .filter(latency -> latency > 0)
+                .average()
+                .orElse(0);
+        return stats.computeIfAbsent(key, k -> new InstanceStats(now, seed));
+    }
+
+    private static String instanceKey(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    /**
+     * Tuning, from {@code loadbalancer.*} (see {@link LatencyAwareLoadBalancerConfiguration}).
+     */
+    public record Settings(Duration decayWindow, Duration slowStartWindow, int consecutiveFailures,
+                           Duration baseEjectionTime, int maxEjectionPercent) {
+    }
+
+    private final class InstanceStats {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicInteger ejections = new AtomicInteger();
+        private volatile long ejectedUntil;
+        private volatile long warmUpFrom;
+        private final AtomicReference<Latency> latency;
+        private volatile long lastCompleted;
+
+        private InstanceStats(long now, double seedLatency) {
+            this.ejectedUntil = now;
+            this.warmUpFrom = now;
+            this.latency = new AtomicReference<>(new Latency(seedLatency, now));
+            this.lastCompleted = now;
+        }
+
+        boolean isEjected(long now) {
+            return ejectedUntil - now > 0;
+        }
+
+        /**
+         * Peak EWMA: a slower call takes effect at once, faster ones pull the average down
+         * gradually, and the whole value decays while the instance is idle so it is tried again.
+         */
+        void observeLatency(long latencyNanos, long now) {
+            latency.updateAndGet(current -> {
+                double weight = decay(current, now);
+                double ewmaNanos = latencyNanos > current.ewmaNanos()
+                        ? latencyNanos : current.ewmaNanos() * weight + latencyNanos * (1 - weight);
+                return new Latency(ewmaNanos, now);
+            });
+        }
+
+        /**
+         * Read-only, as it runs for every pick; stale in-flight counts are only released by
+         * {@link #releaseStale} when the instance is called.
+         */
+        double cost(long now) {
+            double weight = Math.max(MIN_WEIGHT,
+                    Math.min(1.0, (double) (now - warmUpFrom) / settings.slowStartWindow().toNanos()));
+            int active = isStale(now) ? 0 : inFlight.get();
+            return (decayedLatency(now) + 1) * (active + 1) / weight;
+        }
+
+        /**
+         * Drops a leaked in-flight count, unless a call started or completed since it was read.
+         */
+        void releaseStale(long now) {
+            int leaked = inFlight.get();
+            if (leaked > 0 && isStale(now) && inFlight.compareAndSet(leaked, 0)) {
+                lastCompleted = now;
+            }
+        }
+
+        private boolean isStale(long now) {
+            return now - lastCompleted > STALE_IN_FLIGHT_NANOS;
+        }
+
+        private double decayedLatency(long now) {
+            Latency current = latency.get();
+            return current.ewmaNanos() * decay(current, now);
+        }
+
+        private double decay(Latency current, long now) {
+            return Math.exp(-(double) Math.max(0, now - current.observedAt()) / settings.decayWindow().toNanos());
+        }
+    }
+
+    /**
+     * Peak-EWMA latency and when it was last observed, swapped as one so readers never see a
+     * latency with another observation's timestamp.
+     */
+    private record Latency(double ewmaNanos, long observedAt) {
+    }
+}
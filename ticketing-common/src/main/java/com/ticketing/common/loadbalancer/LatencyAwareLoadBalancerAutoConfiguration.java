@@ -0,0 +1,17 @@
+package com.ticketing.common.loadbalancer;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+
+/**
+ * Makes {@link LatencyAwareLoadBalancer} the default load balancer of the services that use
+ * Spring Cloud LoadBalancer, tuned by {@code loadbalancer.*} (defaults in
+ * {@link LatencyAwareLoadBalancerConfiguration}).
+ */
+@AutoConfiguration
+@ConditionalOnClass(ReactorServiceInstanceLoadBalancer.class)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LatencyAwareLoadBalancerAutoConfiguration {
+}
@@ -0,0 +1,41 @@
+package com.ticketing.common.loadbalancer;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Load balancer for every service called through Spring Cloud LoadBalancer: Feign clients,
+ * load-balanced WebClients and the gateway's {@code lb://} routes. Registered per service by
+ * {@link LatencyAwareLoadBalancerAutoConfiguration}, and deliberately not a {@code @Configuration}:
+ * it is only read into each service's child context.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+    /**
+     * Declared as the concrete type so the load balancer is also found as the service's
+     * {@code LoadBalancerLifecycle}.
+     */
+    @Bean
+    public LatencyAwareLoadBalancer latencyAwareLoadBalancer(Environment environment,
+                                                             LoadBalancerClientFactory loadBalancerClientFactory) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        LatencyAwareLoadBalancer.Settings settings = new LatencyAwareLoadBalancer.Settings(
+                duration(environment, "loadbalancer.latency-decay-window", "10s"),
+                duration(environment, "loadbalancer.slow-start-window", "30s"),
+                environment.getProperty("loadbalancer.ejection.consecutive-failures", Integer.class, 5),
+                duration(environment, "loadbalancer.ejection.base-ejection-time", "30s"),
+                environment.getProperty("loadbalancer.ejection.max-ejection-percent", Integer.class, 50));
+        return new LatencyAwareLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), serviceId, settings);
+    }
+
+    // The child context's environment has no Duration conversion
+    private static Duration duration(Environment environment, String key, String defaultValue) {
+        return DurationStyle.detectAndParse(environment.getProperty(key, defaultValue));
+    }
+}
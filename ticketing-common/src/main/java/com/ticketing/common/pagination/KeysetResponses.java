@@ -0,0 +1,97 @@
+package com.ticketing.common.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Builds keyset-paginated list responses. A page is requested with {@code limit} and an optional
+ * cursor, the key of the last item already seen: {@code after} for lists in ascending key order,
+ * {@code before} for newest-first ones. When the page is full, the cursor for the next one is
+ * returned in the {@value #NEXT_CURSOR_HEADER} header. NDJSON exports walk the same pages and write
+ * each one to the response as it is loaded, so they run in constant memory regardless of table size.
+ *
+ * <p>Registered by {@link PaginationAutoConfiguration} in every servlet service using JPA.
+ */
+public class KeysetResponses {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final int maxPageSize;
+    private final int streamPageSize;
+
+    public KeysetResponses(ObjectMapper objectMapper,
+                           EntityManager entityManager,
+                           @Value("${pagination.max-page-size:500}") int maxPageSize,
+                           @Value("${pagination.stream-page-size:500}") int streamPageSize) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.maxPageSize = maxPageSize;
+        this.streamPageSize = streamPageSize;
+    }
+
+    /**
+     * Loads one page of at most {@code limit} items (capped at the configured maximum).
+     *
+     * @throws IllegalArgumentException if {@code limit} is not positive
+     */
+    public <T> ResponseEntity<List<T>> page(PageLoader<T> loader, Long cursor, int limit, ToLongFunction<T> cursorOf) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        int pageSize = Math.min(limit, maxPageSize);
+        List<T> items = loader.load(cursor, pageSize);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (items.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(cursorOf.applyAsLong(items.get(pageSize - 1))));
+        }
+        return response.body(items);
+    }
+
+    /**
+     * Streams every item the loader yields as newline-delimited JSON, one page at a time. Each page
+     * is loaded in its own call (and transaction) and flushed before the next one is read.
+     */
+    public <T> ResponseEntity<StreamingResponseBody> stream(PageLoader<T> loader, ToLongFunction<T> cursorOf) {
+        StreamingResponseBody body = out -> {
+            Long cursor = null;
+            while (true) {
+                List<T> items = loader.load(cursor, streamPageSize);
+                for (T item : items) {
+                    out.write(objectMapper.writeValueAsBytes(item));
+                    out.write('\n');
+                }
+                out.flush();
+                // Drop the page's entities from any request-scoped persistence context
+                entityManager.clear();
+
+                if (items.size() < streamPageSize) {
+                    return;
+                }
+                cursor = cursorOf.applyAsLong(items.get(items.size() - 1));
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    @FunctionalInterface
+    public interface PageLoader<T> {
+
+        /**
+         * @param cursor the key of the last item of the previous page, or {@code null} for the first page
+         */
+        List<T> load(Long cursor, int limit);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ticketing.common.pagination;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Provides {@link KeysetResponses} to the servlet services backed by JPA.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(EntityManager.class)
+@Import(KeysetResponses.class)
+public class PaginationAutoConfiguration {
+}
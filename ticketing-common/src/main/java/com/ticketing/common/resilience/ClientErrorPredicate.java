@@ -0,0 +1,51 @@
+package com.ticketing.common.resilience;
+
+import feign.FeignException;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Predicate;
+
+/**
+ * Matches 4xx answers from Feign and WebClient calls (unknown ticket, sold out, rejected token).
+ * They are the remote service's real answer, not a failure of it: circuit breakers ignore them
+ * (see {@code resilience4j.circuitbreaker.configs.default.ignore-exception-predicate}) and they are
+ * never answered from last known values.
+ */
+public class ClientErrorPredicate implements Predicate<Throwable> {
+
+    private static final boolean WEBFLUX_PRESENT = ClassUtils.isPresent(
+            "org.springframework.web.reactive.function.client.WebClientResponseException",
+            ClientErrorPredicate.class.getClassLoader());
+
+    @Override
+    public boolean test(Throwable throwable) {
+        Throwable failure = unwrap(throwable);
+        return failure instanceof FeignException.FeignClientException
+                || (WEBFLUX_PRESENT && WebClientErrors.isClientError(failure));
+    }
+
+    /**
+     * @return the failure inside the {@link ExecutionException} or {@link CompletionException}
+     * added by the circuit breaker's bulkhead or an executor
+     */
+    public static Throwable unwrap(Throwable cause) {
+        Throwable failure = cause;
+        while ((failure instanceof ExecutionException || failure instanceof CompletionException)
+                && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        return failure;
+    }
+
+    // Only loaded in services that use WebClient
+    private static final class WebClientErrors {
+
+        static boolean isClientError(Throwable failure) {
+            return failure instanceof WebClientResponseException response
+                    && response.getStatusCode().is4xxClientError();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ticketing.common.resilience;
+
+/**
+ * Helpers for Feign and WebClient fallbacks. Only unavailability (errors, timeouts, open circuit,
+ * full bulkhead) is answered from last known values; client errors such as 404 are the service's
+ * real answer.
+ */
+public final class Fallbacks {
+
+    private static final ClientErrorPredicate CLIENT_ERROR = new ClientErrorPredicate();
+
+    private Fallbacks() {
+    }
+
+    public static boolean isUnavailable(Throwable cause) {
+        return !CLIENT_ERROR.test(cause);
+    }
+
+    /**
+     * @return the original failure, without the wrapping added by the circuit breaker's bulkhead
+     */
+    public static RuntimeException propagate(Throwable cause) {
+        Throwable failure = ClientErrorPredicate.unwrap(cause);
+        return failure instanceof RuntimeException runtimeException
+                ? runtimeException
+                : new IllegalStateException("Remote call failed", failure);
+    }
+}
@@ -0,0 +1,29 @@
+package com.ticketing.common.resilience;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cloud.openfeign.CircuitBreakerNameResolver;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Circuit breaker naming for the services' Feign clients. The shared timeouts, circuit breaker and
+ * bulkhead settings are applied by {@link ResilienceDefaultsEnvironmentPostProcessor}.
+ */
+@AutoConfiguration(before = FeignAutoConfiguration.class)
+@ConditionalOnClass(CircuitBreakerNameResolver.class)
+public class FeignResilienceAutoConfiguration {
+
+    /**
+     * Names circuit breakers and bulkheads after the Feign client instead of each client method,
+     * so a struggling service trips one breaker and shares one concurrency limit across its calls.
+     * That is the remote service's name, or the client's {@code contextId} where a service has
+     * several clients that need separate limits (e.g. ticket reservations apart from reads).
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public CircuitBreakerNameResolver circuitBreakerNameResolver() {
+        return (feignClientName, target, method) -> feignClientName;
+    }
+}
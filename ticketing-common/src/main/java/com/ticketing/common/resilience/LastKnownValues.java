@@ -0,0 +1,72 @@
+package com.ticketing.common.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The last values a remote service returned, as kept in a cache by its client, and the shared
+ * rules for answering a failed call from them in a Feign fallback: only while the service is
+ * unavailable ({@link Fallbacks#isUnavailable}), and a lookup with nothing to serve fails with the
+ * original error rather than an empty answer.
+ *
+ * @param <K> the key the client caches values by, e.g. a ticket or user id
+ * @param <V> the cached value
+ */
+@Slf4j
+public class LastKnownValues<K, V> {
+
+    private final Cache cache;
+    private final Class<V> type;
+    private final String service;
+    private final String description;
+
+    /**
+     * @param service     remote service name, for logging
+     * @param description what a value is, for logging (e.g. "ticket snapshot")
+     */
+    public LastKnownValues(Cache cache, Class<V> type, String service, String description) {
+        this.cache = cache;
+        this.type = type;
+        this.service = service;
+        this.description = description;
+    }
+
+    /**
+     * @return the last known value of {@code key}
+     * @throws RuntimeException the original failure, if it was a client error or nothing is known
+     */
+    public V get(Throwable cause, K key) {
+        V value = Fallbacks.isUnavailable(cause) ? cache.get(key, type) : null;
+        if (value == null) {
+            throw Fallbacks.propagate(cause);
+        }
+        log.warn("{} unavailable ({}), serving last known {} for {}", service, cause.toString(), description, key);
+        return value;
+    }
+
+    /**
+     * @return the last known values of those {@code keys} that have one
+     * @throws RuntimeException the original failure, if it was a client error or none is known
+     */
+    public Map<K, V> getAll(Throwable cause, Collection<K> keys) {
+        Map<K, V> values = new LinkedHashMap<>();
+        if (Fallbacks.isUnavailable(cause)) {
+            for (K key : keys) {
+                V value = cache.get(key, type);
+                if (value != null) {
+                    values.put(key, value);
+                }
+            }
+        }
+        if (values.isEmpty()) {
+            throw Fallbacks.propagate(cause);
+        }
+        log.warn("{} unavailable ({}), serving last known {} for {} of {} requested",
+                service, cause.toString(), description, values.size(), keys.size());
+        return values;
+    }
+}
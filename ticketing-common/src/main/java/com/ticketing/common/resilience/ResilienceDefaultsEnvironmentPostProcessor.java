@@ -0,0 +1,47 @@
+package com.ticketing.common.resilience;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Adds the Feign resilience settings every service shares ({@code resilience-defaults.properties}
+ * next to this class): per remote service a circuit breaker and a bulkhead capping concurrent
+ * calls, and tight timeouts instead of Feign's 60s default. They are the last property source, so
+ * a service's own {@code application.properties} overrides any of them or adds per-client
+ * settings ({@code spring.cloud.openfeign.client.config.<contextId>.*},
+ * {@code resilience4j.*.instances.<contextId>.*}).
+ */
+public class ResilienceDefaultsEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    static final String PROPERTY_SOURCE_NAME = "ticketingResilienceDefaults";
+
+    private static final String DEFAULTS = "com/ticketing/common/resilience/resilience-defaults.properties";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!ClassUtils.isPresent("feign.Feign", getClass().getClassLoader())
+                || environment.getPropertySources().contains(PROPERTY_SOURCE_NAME)) {
+            return;
+        }
+        try {
+            environment.getPropertySources().addLast(
+                    new ResourcePropertySource(PROPERTY_SOURCE_NAME, new ClassPathResource(DEFAULTS)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load " + DEFAULTS, e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ConfigDataEnvironmentPostProcessor.ORDER + 1;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ticketing.common.revocation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+/**
+ * Provides the {@link RevocationList} the token checks consult, and a {@link RevocationSync}
+ * filling it from auth-service when {@code revocation.enabled} is set. The sync is off by default:
+ * auth-service does not serve the revocations endpoint yet, and without it the list stays empty.
+ */
+@AutoConfiguration
+public class RevocationAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RevocationList revocationList(@Value("${revocation.expected-revocations:100000}") int expectedRevocations,
+                                         @Value("${revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        return new RevocationList(expectedRevocations, falsePositiveRate);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({LoadBalancerClient.class, RestClient.class, JsonNode.class})
+    @ConditionalOnProperty(name = "revocation.enabled", havingValue = "true")
+    static class RevocationSyncConfiguration {
+
+        @Bean
+        public RevocationSync revocationSync(RevocationList revocationList,
+                                             LoadBalancerClient loadBalancer,
+                                             @Value("${revocation.request-timeout:2s}") Duration requestTimeout,
+                                             @Value("${revocation.refresh-interval:2s}") Duration refreshInterval,
+                                             @Value("${revocation.max-backoff:60s}") Duration maxBackoff,
+                                             @Value("${revocation.purge-interval:60s}") Duration purgeInterval) {
+            SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+            requestFactory.setConnectTimeout(requestTimeout);
+            requestFactory.setReadTimeout(requestTimeout);
+            return new RevocationSync(revocationList, loadBalancer, RestClient.builder().requestFactory(requestFactory),
+                    refreshInterval, maxBackoff, purgeInterval);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.ticketing.common.revocation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token IDs revoked before their expiry (logout, compromise), kept until the token would have
+ * expired anyway. Lookups go through a bloom filter first, so the common case of a token that was
+ * never revoked is answered without touching the exact set; the set rules out false positives.
+ *
+ * <p>Readers are lock-free. Writers are serialized, so a rebuilt filter never misses a revocation
+ * added while it was being built. Filled and purged by {@link RevocationSync}; without it the list
+ * stays empty.
+ */
+@Slf4j
+public class RevocationList {
+
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile BloomFilter bloomFilter;
+
+    public RevocationList(int expectedRevocations, double falsePositiveRate) {
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && bloomFilter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    /**
+     * @param expiresAt when the token expires; the revocation is forgotten after that
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (expiresAt.isBefore(Instant.now())) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            // Entry first, then filter bit: a reader that sees the bit also sees the entry
+            if (revoked.put(tokenId, expiresAt) == null) {
+                if (revoked.size() > bloomFilter.capacity()) {
+                    rebuild();
+                } else {
+                    bloomFilter.put(tokenId);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole list, e.g. after a full resync.
+     */
+    public void replaceAll(Map<String, Instant> revocations) {
+        writeLock.lock();
+        try {
+            if (revocations.isEmpty() && revoked.isEmpty()) {
+                return;
+            }
+            Instant now = Instant.now();
+            revoked.keySet().retainAll(revocations.keySet());
+            revocations.forEach((tokenId, expiresAt) -> {
+                if (!expiresAt.isBefore(now)) {
+                    revoked.put(tokenId, expiresAt);
+                }
+            });
+            rebuild();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void purgeExpired() {
+        writeLock.lock();
+        try {
+            Instant now = Instant.now();
+            int before = revoked.size();
+            revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+            if (revoked.size() < before) {
+                // A bloom filter cannot forget, so drop the stale bits by starting over
+                rebuild();
+                log.debug("Purged {} expired revocations, {} left", before - revoked.size(), revoked.size());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+    }
+}
@@ -0,0 +1,155 @@
+package com.ticketing.common.revocation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the {@link RevocationList} in step with auth-service by pulling only what changed:
+ * {@code GET /api/auth/revocations?since={cursor}} answers
+ * {@code {"cursor": 42, "revocations": [{"tokenId": "...", "expiresAt": "2024-01-01T00:00:00Z"}]}}
+ * with the revocations recorded after {@code cursor}, or all unexpired ones for cursor 0 (token
+ * IDs as in {@link TokenIds}). A 410 means the cursor is too old to resume from, and starts a full
+ * resync.
+ *
+ * <p>Pulls run one at a time on a thread of their own, every {@code refreshInterval}. While
+ * auth-service cannot be reached the list keeps the revocations it has and the delay doubles per
+ * failed pull, up to {@code maxBackoff}; only the first failure is logged as a warning.
+ */
+@Slf4j
+public class RevocationSync {
+
+    static final String SERVICE = "auth-service";
+
+    private final RevocationList revocationList;
+    private final LoadBalancerClient loadBalancer;
+    private final RestClient restClient;
+    private final Duration refreshInterval;
+    private final Duration maxBackoff;
+    private final Duration purgeInterval;
+
+    private ScheduledExecutorService executor;
+    // Only touched by the pulling thread
+    private long cursor;
+    private int failures;
+
+    public RevocationSync(RevocationList revocationList,
+                          LoadBalancerClient loadBalancer,
+                          RestClient.Builder restClientBuilder,
+                          Duration refreshInterval,
+                          Duration maxBackoff,
+                          Duration purgeInterval) {
+        this.revocationList = revocationList;
+        this.loadBalancer = loadBalancer;
+        this.restClient = restClientBuilder.build();
+        this.refreshInterval = refreshInterval;
+        this.maxBackoff = maxBackoff;
+        this.purgeInterval = purgeInterval;
+    }
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "revocation-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::pullAndReschedule);
+        executor.scheduleWithFixedDelay(revocationList::purgeExpired,
+                purgeInterval.toMillis(), purgeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void pullAndReschedule() {
+        Duration delay = pull();
+        if (!executor.isShutdown()) {
+            executor.schedule(this::pullAndReschedule, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @return how long to wait before the next pull
+     */
+    Duration pull() {
+        long since = cursor;
+        try {
+            apply(since, fetch(since));
+            if (failures > 0) {
+                log.info("Pulled token revocations again after {} failed attempts", failures);
+                failures = 0;
+            }
+        } catch (HttpClientErrorException.Gone e) {
+            log.info("Revocation cursor {} is too old, resyncing", since);
+            cursor = 0;
+            failures = 0;
+        } catch (RuntimeException e) {
+            failures++;
+            if (failures == 1) {
+                log.warn("Could not pull token revocations since {}, backing off: {}", since, e.toString());
+            } else {
+                log.debug("Could not pull token revocations since {} ({} failed attempts): {}",
+                        since, failures, e.toString());
+            }
+        }
+        return nextDelay();
+    }
+
+    Duration nextDelay() {
+        if (failures == 0) {
+            return refreshInterval;
+        }
+        long backoff = refreshInterval.toMillis() << Math.min(failures, 20);
+        return Duration.ofMillis(Math.min(backoff, maxBackoff.toMillis()));
+    }
+
+    private JsonNode fetch(long since) {
+        ServiceInstance instance = loadBalancer.choose(SERVICE);
+        if (instance == null) {
+            throw new IllegalStateException("No " + SERVICE + " instance available");
+        }
+        return restClient.get()
+                .uri(UriComponentsBuilder.fromUri(instance.getUri())
+                        .path("/api/auth/revocations")
+                        .queryParam("since", since)
+                        .build()
+                        .toUri())
+                .retrieve()
+                .body(JsonNode.class);
+    }
+
+    void apply(long since, JsonNode delta) {
+        Map<String, Instant> revocations = new HashMap<>();
+        for (JsonNode revocation : delta.path("revocations")) {
+            revocations.put(revocation.get("tokenId").asText(), Instant.parse(revocation.get("expiresAt").asText()));
+        }
+        if (since == 0) {
+            revocationList.replaceAll(revocations);
+        } else {
+            revocations.forEach(revocationList::revoke);
+        }
+        cursor = delta.path("cursor").asLong(since);
+        if (!revocations.isEmpty()) {
+            log.info("Applied {} token revocations, {} active", revocations.size(), revocationList.size());
+        }
+    }
+}
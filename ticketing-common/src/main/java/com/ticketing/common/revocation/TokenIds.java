@@ -0,0 +1,31 @@
+package com.ticketing.common.revocation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * The ID a token's revocation is recorded under: its {@code jti}, or the unpadded base64 SHA-256
+ * of the compact token when it has none, as auth-service reports revocations (see
+ * {@link RevocationSync}).
+ */
+public final class TokenIds {
+
+    private TokenIds() {
+    }
+
+    /**
+     * The ID of a token without a {@code jti}; for any token also a safe key to cache its
+     * verification by.
+     */
+    public static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
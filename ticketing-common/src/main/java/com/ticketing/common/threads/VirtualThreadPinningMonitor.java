@@ -0,0 +1,69 @@
+package com.ticketing.common.threads;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Logs virtual threads that stay pinned to their carrier thread, typically by blocking inside a
+ * {@code synchronized} block or a native call, for longer than {@code threshold}. Pinned threads
+ * hold a carrier for the whole wait, so a few of them on a hot path cap request concurrency at the
+ * number of carriers. Uses the JDK's {@code jdk.VirtualThreadPinned} flight recorder event, which
+ * needs Java 21 or later.
+ *
+ * <p>Registered by {@link VirtualThreadsAutoConfiguration} when {@code threads.pinning-diagnostics.enabled=true}.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 12;
+
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    void start() {
+        if (Runtime.version().feature() < 21) {
+            log.warn("Virtual thread pinning diagnostics need Java 21 or later, running on {}", Runtime.version());
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for more than {}", threshold);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void report(RecordedEvent event) {
+        StringBuilder frames = new StringBuilder();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace != null) {
+            List<RecordedFrame> top = stackTrace.getFrames();
+            for (RecordedFrame frame : top.subList(0, Math.min(MAX_FRAMES, top.size()))) {
+                frames.append("\n\tat ").append(frame.getMethod().getType().getName())
+                        .append('.').append(frame.getMethod().getName())
+                        .append(':').append(frame.getLineNumber());
+            }
+        }
+        log.warn("Virtual thread pinned its carrier for {} ms{}", event.getDuration().toMillis(), frames);
+    }
+}
@@ -0,0 +1,36 @@
+package com.ticketing.common.threads;
+
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Lets the services' own executors follow {@code spring.threads.virtual.enabled}: with virtual
+ * threads a fixed pool only caps concurrency a second time, below what Tomcat, the connection pool
+ * and the bulkheads already allow, so tasks get a virtual thread each instead.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @param enabled the value of {@code spring.threads.virtual.enabled}
+     * @return whether it is set and the JVM has virtual threads (Java 21+); older JVMs ignore it
+     */
+    public static boolean enabled(boolean enabled) {
+        return enabled && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE);
+    }
+
+    /**
+     * An executor starting one virtual thread per task. Close it to wait for running tasks.
+     *
+     * @param concurrencyLimit the most tasks running at a time, further ones wait; or
+     *                         {@link SimpleAsyncTaskExecutor#UNBOUNDED_CONCURRENCY}
+     */
+    public static SimpleAsyncTaskExecutor executor(String threadNamePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        return executor;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ticketing.common.threads;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * Virtual thread diagnostics. The limits that change with virtual threads are applied by
+ * {@link VirtualThreadsEnvironmentPostProcessor}.
+ */
+@AutoConfiguration
+public class VirtualThreadsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "threads.pinning-diagnostics.enabled", havingValue = "true")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${threads.pinning-diagnostics.threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold);
+    }
+}
@@ -0,0 +1,89 @@
+package com.ticketing.common.threads;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Adds the thread and connection settings the servlet services share
+ * ({@code threads-defaults.properties} next to this class) as the last property source: virtual
+ * threads off unless {@code VIRTUAL_THREADS_ENABLED} is set, and the Tomcat connection and
+ * database pool limits sized for platform threads.
+ *
+ * <p>Then raises the concurrency limits sized for platform threads when the service runs on virtual
+ * threads ({@code spring.threads.virtual.enabled} on Java 21+), and only then:
+ * <ul>
+ *   <li>{@code server.tomcat.max-connections} becomes {@code threads.virtual.max-connections}
+ *       (default 8192): with no worker pool, accepted connections are what bounds requests.</li>
+ *   <li>The default Feign bulkhead takes {@code threads.virtual.bulkhead.max-concurrent-calls}
+ *       (default 200) and {@code threads.virtual.bulkhead.max-wait-duration} (default 500ms):
+ *       waiting for a permit no longer holds a scarce thread, so calls may queue briefly instead of
+ *       being shed after 20ms.</li>
+ * </ul>
+ * With platform threads the service's own settings apply unchanged.
+ */
+public class VirtualThreadsEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    static final String PROPERTY_SOURCE_NAME = "virtualThreadLimits";
+
+    static final String DEFAULTS_PROPERTY_SOURCE_NAME = "ticketingThreadsDefaults";
+
+    private static final String DEFAULTS = "com/ticketing/common/threads/threads-defaults.properties";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        addDefaults(environment);
+        if (!Threading.VIRTUAL.isActive(environment)) {
+            return;
+        }
+        Map<String, Object> limits = Map.of(
+                "server.tomcat.max-connections",
+                environment.getProperty("threads.virtual.max-connections", "8192"),
+                "resilience4j.bulkhead.configs.default.max-concurrent-calls",
+                environment.getProperty("threads.virtual.bulkhead.max-concurrent-calls", "200"),
+                "resilience4j.bulkhead.configs.default.max-wait-duration",
+                environment.getProperty("threads.virtual.bulkhead.max-wait-duration", "500ms"));
+        // Ahead of application.properties, which holds the platform thread values, but behind
+        // system properties and environment variables so a deployment can still override them
+        MutablePropertySources propertySources = environment.getPropertySources();
+        MapPropertySource source = new MapPropertySource(PROPERTY_SOURCE_NAME, limits);
+        if (propertySources.contains(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME)) {
+            propertySources.addAfter(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, source);
+        } else {
+            propertySources.addFirst(source);
+        }
+    }
+
+    private void addDefaults(ConfigurableEnvironment environment) {
+        // The reactive gateway runs on Netty event loops and keeps its own settings
+        if (!ClassUtils.isPresent("org.springframework.web.servlet.DispatcherServlet", getClass().getClassLoader())
+                || environment.getPropertySources().contains(DEFAULTS_PROPERTY_SOURCE_NAME)) {
+            return;
+        }
+        try {
+            environment.getPropertySources().addLast(
+                    new ResourcePropertySource(DEFAULTS_PROPERTY_SOURCE_NAME, new ClassPathResource(DEFAULTS)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load " + DEFAULTS, e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // After application.properties is loaded
+        return ConfigDataEnvironmentPostProcessor.ORDER + 1;
+    }
+}
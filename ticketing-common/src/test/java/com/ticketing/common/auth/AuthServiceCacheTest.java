@@ -0,0 +1,78 @@
+package com.ticketing.common.auth;
+
+import feign.FeignException;
+import feign.Request;
+import com.ticketing.common.identity.RemoteTokenValidator;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cloud.loadbalancer.config.BlockingLoadBalancerClientAutoConfiguration;
+import org.springframework.cloud.loadbalancer.config.LoadBalancerAutoConfiguration;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.cloud.openfeign.loadbalancer.FeignLoadBalancerAutoConfiguration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthServiceCacheTest {
+
+    private final AuthServiceClient client = mock(AuthServiceClient.class);
+    private final AuthServiceCache cache = new AuthServiceCache(client, new ConcurrentMapCacheManager(
+            AuthServiceCache.USER_NAMES, AuthServiceCache.VALID_USERS,
+            AuthServiceCache.LAST_KNOWN_USER_NAMES, AuthServiceCache.LAST_KNOWN_VALID_USERS));
+
+    @Test
+    void fallsBackToSingleLookupsWithoutTheBulkEndpoint() {
+        when(client.getUserNames(any())).thenThrow(notFound("/api/auth/users/names"));
+        when(client.getUserName(1L)).thenReturn("alice");
+        when(client.getUserName(2L)).thenThrow(notFound("/api/auth/user/2/name"));
+        when(client.getUserName(3L)).thenReturn("carol");
+
+        assertEquals(Map.of(1L, "alice"), cache.getUserNames(Set.of(1L, 2L)));
+        assertEquals(Map.of(1L, "alice", 3L, "carol"), cache.getUserNames(Set.of(1L, 3L)));
+
+        // The missing endpoint is only tried once
+        verify(client, times(1)).getUserNames(any());
+    }
+
+    @Test
+    void isOnlyProvidedToServicesThatConfigureTheUserCaches() {
+        ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(HttpMessageConvertersAutoConfiguration.class,
+                        LoadBalancerAutoConfiguration.class, BlockingLoadBalancerClientAutoConfiguration.class,
+                        FeignAutoConfiguration.class, FeignLoadBalancerAutoConfiguration.class,
+                        AuthServiceAutoConfiguration.class))
+                .withBean(CacheManager.class, () -> new ConcurrentMapCacheManager(
+                        AuthServiceCache.USER_NAMES, AuthServiceCache.VALID_USERS,
+                        AuthServiceCache.LAST_KNOWN_USER_NAMES, AuthServiceCache.LAST_KNOWN_VALID_USERS));
+
+        contextRunner.withPropertyValues("cache.user-names.spec=maximumSize=10").run(context -> {
+            assertNotNull(context.getBean(AuthServiceClient.class));
+            assertNotNull(context.getBean(AuthServiceCache.class));
+            assertNotNull(context.getBean(RemoteTokenValidator.class));
+        });
+        contextRunner.run(context -> {
+            assertNotNull(context.getBean(AuthServiceClient.class));
+            assertTrue(context.getBeansOfType(AuthServiceCache.class).isEmpty());
+        });
+    }
+
+    private static FeignException.NotFound notFound(String path) {
+        Request request = Request.create(Request.HttpMethod.GET, path, new HashMap<>(), null, StandardCharsets.UTF_8, null);
+        return new FeignException.NotFound("Not Found", request, null, null);
+    }
+}
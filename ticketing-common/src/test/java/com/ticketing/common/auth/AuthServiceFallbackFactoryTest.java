@@ -0,0 +1,49 @@
+package com.ticketing.common.auth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthServiceFallbackFactoryTest {
+
+    private final ExecutionException unavailable = new ExecutionException(new RuntimeException("Connection refused"));
+
+    @Test
+    void servesLastKnownUserDataWhileUnavailableButNeverValidatesTokens() {
+        CacheManager cacheManager = new ConcurrentMapCacheManager(
+                AuthServiceCache.LAST_KNOWN_USER_NAMES, AuthServiceCache.LAST_KNOWN_VALID_USERS);
+        cacheManager.getCache(AuthServiceCache.LAST_KNOWN_USER_NAMES).put(1L, "alice");
+        cacheManager.getCache(AuthServiceCache.LAST_KNOWN_VALID_USERS).put(1L, true);
+        AuthServiceClient fallback = new AuthServiceFallbackFactory(cacheManager).create(unavailable);
+
+        assertEquals("alice", fallback.getUserName(1L));
+        assertEquals(Map.of(1L, "alice"), fallback.getUserNames(Set.of(1L, 2L)));
+        assertTrue(fallback.validateUser(1L));
+        assertThrows(RuntimeException.class, () -> fallback.validateUser(2L));
+        assertNull(fallback.validateToken("Bearer token"));
+    }
+
+    @Test
+    void failsUserLookupsWhereNoUserDataIsKept() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+        AuthServiceClient fallback = new AuthServiceFallbackFactory(cacheManager).create(unavailable);
+
+        assertThrows(RuntimeException.class, () -> fallback.getUserName(1L));
+        assertThrows(RuntimeException.class, () -> fallback.validateUser(1L));
+        assertNull(fallback.validateToken("Bearer token"));
+        // No cache was created on demand for data the service does not keep
+        assertFalse(cacheManager.getCacheNames().contains(AuthServiceCache.LAST_KNOWN_USER_NAMES));
+        assertThrows(RuntimeException.class,
+                () -> new AuthServiceFallbackFactory(null).create(unavailable).getUserNames(Set.of(1L)));
+    }
+}
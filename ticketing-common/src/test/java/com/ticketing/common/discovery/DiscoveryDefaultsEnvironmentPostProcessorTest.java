@@ -0,0 +1,49 @@
+package com.ticketing.common.discovery;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DiscoveryDefaultsEnvironmentPostProcessorTest {
+
+    private final DiscoveryDefaultsEnvironmentPostProcessor postProcessor = new DiscoveryDefaultsEnvironmentPostProcessor();
+
+    @AfterEach
+    void reset() {
+        RegistrySnapshot.configure(null, Duration.ofHours(1));
+    }
+
+    @Test
+    void addsTheSharedDefaultsBehindTheServicesOwnSettingsAndConfiguresTheSnapshot() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(new MapPropertySource("application", Map.of(
+                "eureka.client.registry-fetch-interval-seconds", "30")));
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertEquals("30", environment.getProperty("eureka.client.registry-fetch-interval-seconds"));
+        assertEquals("15", environment.getProperty("eureka.instance.lease-expiration-duration-in-seconds"));
+        assertEquals(RegistrySnapshot.class.getName(), environment.getProperty("eureka.client.backup-registry-impl"));
+        assertTrue(RegistrySnapshot.isEnabled());
+    }
+
+    @Test
+    void aBlankSnapshotFileDisablesTheSnapshot() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(new MapPropertySource("application", Map.of(
+                "discovery.registry-snapshot.file", "")));
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertFalse(RegistrySnapshot.isEnabled());
+    }
+}
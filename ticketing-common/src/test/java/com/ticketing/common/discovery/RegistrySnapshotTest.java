@@ -0,0 +1,81 @@
+package com.ticketing.common.discovery;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RegistrySnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void reset() {
+        RegistrySnapshot.configure(null, Duration.ofHours(1));
+    }
+
+    @Test
+    void restoresTheSavedRegistry() {
+        RegistrySnapshot.configure(directory.resolve("registry.json"), Duration.ofHours(1));
+        RegistrySnapshot.save(registry(instance("event-service", "10.0.0.1", 8080),
+                instance("event-service", "10.0.0.2", 8080)));
+
+        Applications restored = new RegistrySnapshot().fetchRegistry();
+
+        List<InstanceInfo> instances = restored.getRegisteredApplications("EVENT-SERVICE").getInstances();
+        assertEquals(2, instances.size());
+        assertEquals(InstanceInfo.InstanceStatus.UP, instances.get(0).getStatus());
+        assertEquals(8080, instances.get(0).getPort());
+    }
+
+    @Test
+    void ignoresMissingStaleAndCorruptSnapshots() throws Exception {
+        Path file = directory.resolve("registry.json");
+        RegistrySnapshot.configure(file, Duration.ofHours(1));
+        assertNull(new RegistrySnapshot().fetchRegistry());
+
+        RegistrySnapshot.save(registry(instance("event-service", "10.0.0.1", 8080)));
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        assertNull(new RegistrySnapshot().fetchRegistry());
+
+        Files.writeString(file, "{\"applications\":");
+        assertNull(new RegistrySnapshot().fetchRegistry());
+    }
+
+    private static Applications registry(InstanceInfo... instances) {
+        Applications applications = new Applications();
+        for (InstanceInfo instance : instances) {
+            Application application = applications.getRegisteredApplications(instance.getAppName());
+            if (application == null) {
+                application = new Application(instance.getAppName());
+                applications.addApplication(application);
+            }
+            application.addInstance(instance);
+        }
+        return applications;
+    }
+
+    private static InstanceInfo instance(String app, String ip, int port) {
+        return InstanceInfo.Builder.newBuilder()
+                .setAppName(app)
+                .setInstanceId(ip + ":" + app + ":" + port)
+                .setHostName(ip)
+                .setIPAddr(ip)
+                .setPort(port)
+                .setStatus(InstanceInfo.InstanceStatus.UP)
+                .build();
+    }
+}
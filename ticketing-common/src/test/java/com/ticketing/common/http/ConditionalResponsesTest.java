@@ -0,0 +1,69 @@
+package com.ticketing.common.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConditionalResponsesTest {
+
+    private final ConditionalResponses responses = new ConditionalResponses(new ObjectMapper(), "maximumSize=100", Duration.ZERO);
+
+    @Test
+    void serializesEachVersionOnceAndAnswersMatchingTagsWith304() {
+        AtomicInteger loads = new AtomicInteger();
+        String etag = "\"t1-3\"";
+
+        ResponseEntity<byte[]> first = responses.respond(null, etag, () -> {
+            loads.incrementAndGet();
+            return Map.of("id", 1);
+        });
+        ResponseEntity<byte[]> second = responses.respond("\"t1-2\"", etag, () -> Map.of("id", 2));
+        ResponseEntity<byte[]> revalidated = responses.respond("\"t1-2\", W/\"t1-3\"", etag, () -> null);
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(etag, first.getHeaders().getETag());
+        assertEquals("no-cache, public", first.getHeaders().getCacheControl());
+        assertEquals("{\"id\":1}", new String(second.getBody()));
+        assertEquals(1, loads.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertNull(revalidated.getBody());
+    }
+
+    @Test
+    void missingResourcesAreNotFound() {
+        assertEquals(HttpStatus.NOT_FOUND, responses.respond(null, "\"t9-0\"", () -> null).getStatusCode());
+        // Not cached: the resource may be created under the same version
+        assertEquals(HttpStatus.OK, responses.respond(null, "\"t9-0\"", () -> Map.of("id", 9)).getStatusCode());
+    }
+
+    @Test
+    void serializedBodiesAreTaggedByContent() {
+        byte[] body = "[{\"id\":1}]".getBytes();
+
+        ResponseEntity<byte[]> first = responses.respond(null, body);
+        ResponseEntity<byte[]> revalidated = responses.respond(first.getHeaders().getETag(), body);
+        ResponseEntity<byte[]> changed = responses.respond(first.getHeaders().getETag(), "[]".getBytes());
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(first.getHeaders().getETag(), changed.getHeaders().getETag());
+    }
+
+    @Test
+    void maxAgeRequiresRevalidation() {
+        ConditionalResponses cached = new ConditionalResponses(new ObjectMapper(), "maximumSize=100", Duration.ofSeconds(30));
+
+        assertEquals("max-age=30, must-revalidate, public",
+                cached.respond(null, "\"t1-1\"", () -> Map.of("id", 1)).getHeaders().getCacheControl());
+    }
+}
@@ -0,0 +1,52 @@
+package com.ticketing.common.identity;
+
+import com.ticketing.common.revocation.RevocationList;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GatewayIdentityVerifierTest {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationWhichShouldBeStoredInEnvironmentVariablesInProduction";
+
+    // Signed by the api-gateway's IdentityHeaderSigner with SECRET for token ID jti-alice; expires in 2100
+    private static final String ALICE = "v2.NDIfYWxpY2UfYWxpY2VAZXhhbXBsZS5jb20fQWxpY2UgU21pdGgfVVNFUh80MTAyNDQ0ODAwH2p0aS1hbGljZQ"
+            + ".qoNVyQTpvM0bt9W5hyJQ4w";
+    // Same user without email and full name; expired in 2000
+    private static final String EXPIRED = "v2.NDIfYWxpY2UfHx9VU0VSHzk0NjY4NDgwMB9qdGktYWxpY2U.2HhpvfOmPWQy7ESX5HZruw";
+
+    private final RevocationList revocationList = new RevocationList(100, 0.01);
+    private final GatewayIdentityVerifier verifier = new GatewayIdentityVerifier(SECRET, revocationList);
+
+    @Test
+    void readsTheIdentitySignedByTheGateway() {
+        assertEquals(new GatewayIdentity(42L, "alice", "alice@example.com", "Alice Smith", "USER"),
+                verifier.verify(ALICE));
+    }
+
+    @Test
+    void rejectsForgedExpiredAndMalformedHeaders() {
+        String adminPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("42\u001Falice\u001F\u001F\u001FADMIN\u001F4102444800\u001Fjti-alice".getBytes());
+
+        assertNull(verifier.verify("v2." + adminPayload + ALICE.substring(ALICE.lastIndexOf('.'))));
+        assertNull(new GatewayIdentityVerifier(SECRET.replace('m', 'n'), revocationList).verify(ALICE));
+        assertNull(verifier.verify(EXPIRED));
+        assertNull(verifier.verify("v2.not-base64!.abc"));
+        // Headers of the previous format, without the token ID
+        assertNull(verifier.verify("v1.NDIfYWxpY2UfYWxpY2VAZXhhbXBsZS5jb20fQWxpY2UgU21pdGgfVVNFUh80MTAyNDQ0ODAw.mX1_fomVaHXK-3STcSeFYw"));
+        assertNull(verifier.verify(null));
+        assertNull(new GatewayIdentityVerifier("", revocationList).verify(ALICE));
+    }
+
+    @Test
+    void rejectsHeadersOfRevokedTokens() {
+        revocationList.revoke("jti-alice", Instant.now().plusSeconds(60));
+
+        assertNull(verifier.verify(ALICE));
+    }
+}
@@ -0,0 +1,31 @@
+package com.ticketing.common.identity;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IdentityDefaultsEnvironmentPostProcessorTest {
+
+    private final IdentityDefaultsEnvironmentPostProcessor postProcessor = new IdentityDefaultsEnvironmentPostProcessor();
+
+    @Test
+    void addsTheSharedDefaultsBehindTheServicesOwnSettings() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(new MapPropertySource("application", Map.of(
+                "jwt.secret", "service-secret",
+                "jwt.cache.ttl", "1m")));
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertEquals("1m", environment.getProperty("jwt.cache.ttl"));
+        assertEquals("10000", environment.getProperty("jwt.cache.max-size"));
+        assertEquals("false", environment.getProperty("jwt.trust-gateway-headers"));
+        assertEquals("service-secret", environment.getProperty("jwt.gateway-identity-secret"));
+        assertEquals("false", environment.getProperty("revocation.enabled"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.ticketing.common.identity;
+
+import com.ticketing.common.revocation.RevocationList;
+import com.ticketing.common.revocation.TokenIds;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TokenVerifierTest {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationWhichShouldBeStoredInEnvironmentVariablesInProduction";
+    private static final GatewayIdentity ALICE = new GatewayIdentity(42L, "alice", "alice@example.com", "Alice Smith", "USER");
+
+    private final RevocationList revocationList = new RevocationList(100, 0.01);
+    private final TokenVerifier verifier = new TokenVerifier(SECRET, null, revocationList, 100, Duration.ofMinutes(5));
+
+    @Test
+    void readsTheUserFromAValidToken() {
+        assertEquals(ALICE, verifier.verify(token(SECRET, Instant.now().plusSeconds(60)).id("jti-alice").compact()));
+    }
+
+    @Test
+    void rejectsBadSignaturesExpiredAndMalformedTokens() {
+        assertNull(verifier.verify(token(SECRET.replace('m', 'n'), Instant.now().plusSeconds(60)).compact()));
+        assertNull(verifier.verify(token(SECRET, Instant.now().minusSeconds(60)).compact()));
+        assertNull(verifier.verify("not.a.token"));
+    }
+
+    @Test
+    void rejectsRevokedTokensEvenOnceCached() {
+        String token = token(SECRET, Instant.now().plusSeconds(60)).id("jti-alice").compact();
+        assertEquals(ALICE, verifier.verify(token));
+
+        revocationList.revoke("jti-alice", Instant.now().plusSeconds(60));
+
+        assertNull(verifier.verify(token));
+    }
+
+    @Test
+    void revokesTokensWithoutAJtiByTheirHash() {
+        String token = token(SECRET, Instant.now().plusSeconds(60)).compact();
+        assertEquals(ALICE, verifier.verify(token));
+
+        revocationList.revoke(TokenIds.hash(token), Instant.now().plusSeconds(60));
+
+        assertNull(verifier.verify(token));
+    }
+
+    @Test
+    void asksTheRemoteValidatorOnceWithoutASecret() {
+        AtomicInteger calls = new AtomicInteger();
+        TokenVerifier remote = new TokenVerifier("", token -> {
+            calls.incrementAndGet();
+            return "valid".equals(token) ? ALICE : null;
+        }, revocationList, 100, Duration.ofMinutes(5));
+
+        assertEquals(ALICE, remote.verify("valid"));
+        assertEquals(ALICE, remote.verify("valid"));
+        assertNull(remote.verify("invalid"));
+        assertEquals(2, calls.get());
+
+        revocationList.revoke(TokenIds.hash("valid"), Instant.now().plusSeconds(60));
+        assertNull(remote.verify("valid"));
+        assertNull(new TokenVerifier("", null, revocationList, 100, Duration.ofMinutes(5)).verify("valid"));
+    }
+
+    private static JwtBuilder token(String secret, Instant expiresAt) {
+        return Jwts.builder()
+                .subject("alice")
+                .claim("userId", 42L)
+                .claim("email", "alice@example.com")
+                .claim("fullName", "Alice Smith")
+                .claim("role", "USER")
+                .expiration(Date.from(expiresAt))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,163 @@
+package com.ticketing.common.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.loadbalancer.config.LoadBalancerAutoConfiguration;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyAwareLoadBalancerTest {
+
+    private static final LatencyAwareLoadBalancer.Settings SETTINGS = new LatencyAwareLoadBalancer.Settings(
+            Duration.ofSeconds(10), Duration.ofSeconds(30), 5, Duration.ofSeconds(30), 50);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(
+            new StaticListableBeanFactory().getBeanProvider(ServiceInstanceListSupplier.class),
+            "ticket-service", SETTINGS, clock::get);
+
+    private final ServiceInstance fast = instance("fast");
+    private final ServiceInstance slow = instance("slow");
+    private final ServiceInstance third = instance("third");
+
+    @Test
+    void prefersTheFasterInstanceUntilItIsBusier() {
+        List<ServiceInstance> instances = List.of(fast, slow);
+        loadBalancer.choose(instances);
+        advance(Duration.ofSeconds(31));
+        call(fast, Duration.ofMillis(10), CompletionContext.Status.SUCCESS);
+        call(slow, Duration.ofMillis(200), CompletionContext.Status.SUCCESS);
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(fast, loadBalancer.choose(instances).getServer());
+        }
+
+        for (int i = 0; i < 30; i++) {
+            loadBalancer.onStartRequest(request(), new DefaultResponse(fast));
+        }
+        assertEquals(slow, loadBalancer.choose(instances).getServer());
+    }
+
+    @Test
+    void ejectsAnInstanceAfterConsecutiveFailuresButNotMostOfThem() {
+        List<ServiceInstance> instances = List.of(fast, slow, third);
+        loadBalancer.choose(instances);
+        advance(Duration.ofSeconds(31));
+
+        for (int i = 0; i < 5; i++) {
+            call(third, Duration.ofMillis(1), CompletionContext.Status.FAILED);
+            call(slow, Duration.ofMillis(1), CompletionContext.Status.FAILED);
+        }
+
+        // third went first; ejecting slow too would take out more than half
+        for (int i = 0; i < 100; i++) {
+            assertNotEquals(third, loadBalancer.choose(instances).getServer());
+        }
+        // Back after the ejection, then ramped up over the slow start window
+        advance(Duration.ofSeconds(61));
+        boolean returned = false;
+        for (int i = 0; i < 100 && !returned; i++) {
+            returned = third.equals(loadBalancer.choose(instances).getServer());
+        }
+        assertTrue(returned);
+    }
+
+    @Test
+    void rampsUpNewInstancesOverTheSlowStartWindow() {
+        loadBalancer.choose(List.of(fast));
+        advance(Duration.ofSeconds(31));
+        call(fast, Duration.ofMillis(10), CompletionContext.Status.SUCCESS);
+
+        // The newcomer starts at the average latency and a tenth of the weight
+        List<ServiceInstance> instances = List.of(fast, slow);
+        assertEquals(fast, loadBalancer.choose(instances).getServer());
+        for (int i = 0; i < 5; i++) {
+            loadBalancer.onStartRequest(request(), new DefaultResponse(fast));
+        }
+        assertEquals(fast, loadBalancer.choose(instances).getServer());
+
+        advance(Duration.ofSeconds(30));
+        assertEquals(slow, loadBalancer.choose(instances).getServer());
+    }
+
+    @Test
+    void ignoresCallsThatNeverCompleteWithoutLosingCountWhenTheyDo() {
+        List<ServiceInstance> instances = List.of(fast, slow);
+        loadBalancer.choose(instances);
+        advance(Duration.ofSeconds(31));
+        call(fast, Duration.ofMillis(10), CompletionContext.Status.SUCCESS);
+        call(slow, Duration.ofMillis(200), CompletionContext.Status.SUCCESS);
+
+        // Cancelled calls, never reported complete
+        List<Request<Object>> abandoned = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Request<Object> request = new DefaultRequest<>();
+            loadBalancer.onStartRequest(request, new DefaultResponse(fast));
+            abandoned.add(request);
+        }
+        assertEquals(slow, loadBalancer.choose(instances).getServer());
+
+        // Nothing completed for a minute: the count is ignored, and released by the next call
+        advance(Duration.ofSeconds(61));
+        assertEquals(fast, loadBalancer.choose(instances).getServer());
+        call(fast, Duration.ofMillis(10), CompletionContext.Status.SUCCESS);
+        call(slow, Duration.ofMillis(10), CompletionContext.Status.SUCCESS);
+
+        // Some complete after all; they must not cancel out calls in flight now
+        for (Request<Object> request : abandoned.subList(0, 5)) {
+            loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request,
+                    new DefaultResponse(fast)));
+        }
+        loadBalancer.onStartRequest(request(), new DefaultResponse(fast));
+        assertEquals(slow, loadBalancer.choose(instances).getServer());
+    }
+
+    @Test
+    void isTheDefaultLoadBalancerOfEveryService() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(LoadBalancerAutoConfiguration.class,
+                        LatencyAwareLoadBalancerAutoConfiguration.class))
+                .run(context -> {
+                    LoadBalancerClientFactory factory = context.getBean(LoadBalancerClientFactory.class);
+                    assertTrue(factory.getInstance("ticket-service") instanceof LatencyAwareLoadBalancer);
+                });
+    }
+
+    private void call(ServiceInstance instance, Duration latency, CompletionContext.Status status) {
+        Request<Object> request = request();
+        DefaultResponse response = new DefaultResponse(instance);
+        loadBalancer.onStartRequest(request, response);
+        advance(latency);
+        loadBalancer.onComplete(new CompletionContext<>(status, request, response));
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private static Request<Object> request() {
+        return new DefaultRequest<>(new RequestDataContext());
+    }
+
+    private static ServiceInstance instance(String host) {
+        return new DefaultServiceInstance(host, "ticket-service", host, 8080, false);
+    }
+}
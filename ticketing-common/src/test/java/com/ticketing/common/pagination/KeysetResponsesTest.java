@@ -0,0 +1,63 @@
+package com.ticketing.common.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class KeysetResponsesTest {
+
+    private final KeysetResponses keysetResponses = new KeysetResponses(new ObjectMapper(), mock(EntityManager.class), 3, 2);
+
+    @Test
+    void returnsTheNextCursorOnlyForFullPages() {
+        KeysetResponses.PageLoader<Long> loader = (cursor, limit) -> ids(cursor == null ? 1 : cursor + 1, 4, limit);
+
+        ResponseEntity<List<Long>> first = keysetResponses.page(loader, null, 10, Long::longValue);
+        ResponseEntity<List<Long>> last = keysetResponses.page(loader, 3L, 10, Long::longValue);
+
+        assertEquals(List.of(1L, 2L, 3L), first.getBody());
+        assertEquals("3", first.getHeaders().getFirst(KeysetResponses.NEXT_CURSOR_HEADER));
+        assertEquals(List.of(4L), last.getBody());
+        assertNull(last.getHeaders().getFirst(KeysetResponses.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void refusesNonPositiveLimits() {
+        assertThrows(IllegalArgumentException.class,
+                () -> keysetResponses.page((cursor, limit) -> List.of(), null, 0, Long::longValue));
+    }
+
+    @Test
+    void streamsEveryPageAsNdjson() throws Exception {
+        List<Long> cursors = new ArrayList<>();
+        KeysetResponses.PageLoader<Long> loader = (cursor, limit) -> {
+            cursors.add(cursor);
+            return ids(cursor == null ? 1 : cursor + 1, 5, limit);
+        };
+
+        ResponseEntity<StreamingResponseBody> response = keysetResponses.stream(loader, Long::longValue);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertEquals("1\n2\n3\n4\n5\n", out.toString());
+        assertEquals(KeysetResponses.APPLICATION_NDJSON_VALUE, response.getHeaders().getContentType().toString());
+        assertEquals(Arrays.asList(null, 2L, 4L), cursors);
+    }
+
+    private static List<Long> ids(long from, long to, int limit) {
+        return LongStream.rangeClosed(from, to).limit(limit).boxed().toList();
+    }
+}
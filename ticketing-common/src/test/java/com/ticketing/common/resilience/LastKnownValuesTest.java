@@ -0,0 +1,49 @@
+package com.ticketing.common.resilience;
+
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LastKnownValuesTest {
+
+    private final Cache cache = new ConcurrentMapCache("lastKnownUserNames");
+    private final LastKnownValues<Long, String> userNames =
+            new LastKnownValues<>(cache, String.class, "auth-service", "user name");
+
+    @Test
+    void servesLastKnownValuesWhileUnavailable() {
+        cache.put(1L, "alice");
+        RuntimeException refused = new RuntimeException("Connection refused");
+        ExecutionException cause = new ExecutionException(refused);
+
+        assertEquals("alice", userNames.get(cause, 1L));
+        assertEquals(Map.of(1L, "alice"), userNames.getAll(cause, List.of(1L, 2L)));
+        assertSame(refused, assertThrows(RuntimeException.class, () -> userNames.get(cause, 2L)));
+        assertSame(refused, assertThrows(RuntimeException.class, () -> userNames.getAll(cause, List.of(2L))));
+    }
+
+    @Test
+    void clientErrorsAreNotAnsweredFromStaleData() {
+        cache.put(1L, "alice");
+        Request request = Request.create(Request.HttpMethod.GET, "/api/auth/user/1/name", new HashMap<>(),
+                null, StandardCharsets.UTF_8, null);
+        FeignException.NotFound notFound = new FeignException.NotFound("Not Found", request, null, null);
+
+        assertSame(notFound, assertThrows(FeignException.NotFound.class,
+                () -> userNames.get(new ExecutionException(notFound), 1L)));
+        assertSame(notFound, assertThrows(FeignException.NotFound.class,
+                () -> userNames.getAll(notFound, List.of(1L))));
+    }
+}
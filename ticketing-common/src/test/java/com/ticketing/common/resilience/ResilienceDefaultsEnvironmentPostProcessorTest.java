@@ -0,0 +1,30 @@
+package com.ticketing.common.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResilienceDefaultsEnvironmentPostProcessorTest {
+
+    private final ResilienceDefaultsEnvironmentPostProcessor postProcessor = new ResilienceDefaultsEnvironmentPostProcessor();
+
+    @Test
+    void addsTheSharedDefaultsBehindTheServicesOwnSettings() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(new MapPropertySource("application", Map.of(
+                "spring.cloud.openfeign.client.config.default.read-timeout", "5000")));
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertEquals("5000", environment.getProperty("spring.cloud.openfeign.client.config.default.read-timeout"));
+        assertEquals("500", environment.getProperty("spring.cloud.openfeign.client.config.default.connect-timeout"));
+        assertEquals("50", environment.getProperty("resilience4j.bulkhead.configs.default.max-concurrent-calls"));
+        assertEquals(ClientErrorPredicate.class.getName(),
+                environment.getProperty("resilience4j.circuitbreaker.configs.default.ignore-exception-predicate"));
+    }
+}
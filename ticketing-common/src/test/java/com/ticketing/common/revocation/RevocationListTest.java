@@ -0,0 +1,68 @@
+package com.ticketing.common.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevocationListTest {
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.put("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(bloomFilter.mightContain("revoked-" + i));
+            if (bloomFilter.mightContain("valid-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void forgetsRevocationsOnceTheTokenHasExpired() throws InterruptedException {
+        RevocationList revocationList = new RevocationList(100, 0.01);
+        revocationList.revoke("a", Instant.now().plusSeconds(60));
+        revocationList.revoke("b", Instant.now().plusMillis(20));
+        revocationList.revoke("c", Instant.now().minusSeconds(1));
+
+        assertTrue(revocationList.isRevoked("a"));
+        assertTrue(revocationList.isRevoked("b"));
+        assertFalse(revocationList.isRevoked("c"));
+
+        Thread.sleep(50);
+        revocationList.purgeExpired();
+
+        assertEquals(1, revocationList.size());
+        assertTrue(revocationList.isRevoked("a"));
+        assertFalse(revocationList.isRevoked("b"));
+    }
+
+    @Test
+    void growsPastItsExpectedSizeAndReplacesOnResync() {
+        RevocationList revocationList = new RevocationList(10, 0.01);
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        for (int i = 0; i < 100; i++) {
+            revocationList.revoke("token-" + i, expiresAt);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(revocationList.isRevoked("token-" + i));
+        }
+
+        revocationList.replaceAll(Map.of("token-5", expiresAt, "token-200", expiresAt));
+
+        assertEquals(2, revocationList.size());
+        assertTrue(revocationList.isRevoked("token-5"));
+        assertTrue(revocationList.isRevoked("token-200"));
+        assertFalse(revocationList.isRevoked("token-6"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.ticketing.common.revocation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class RevocationSyncTest {
+
+    private static final String REVOCATIONS = "http://auth:8081/api/auth/revocations";
+
+    private final RevocationList revocationList = new RevocationList(100, 0.01);
+    private final LoadBalancerClient loadBalancer = mock(LoadBalancerClient.class);
+    private final RestClient.Builder restClientBuilder = RestClient.builder();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restClientBuilder).build();
+    private final RevocationSync sync = new RevocationSync(revocationList, loadBalancer, restClientBuilder,
+            Duration.ofSeconds(2), Duration.ofSeconds(10), Duration.ofMinutes(1));
+
+    @Test
+    void appliesDeltasFromTheLastCursor() {
+        when(loadBalancer.choose("auth-service"))
+                .thenReturn(new DefaultServiceInstance("auth-1", "auth-service", "auth", 8081, false));
+        server.expect(requestTo(REVOCATIONS + "?since=0")).andRespond(withSuccess(
+                "{\"cursor\": 7, \"revocations\": [{\"tokenId\": \"a\", \"expiresAt\": \"2100-01-01T00:00:00Z\"}]}",
+                MediaType.APPLICATION_JSON));
+        server.expect(requestTo(REVOCATIONS + "?since=7")).andRespond(withSuccess(
+                "{\"cursor\": 8, \"revocations\": [{\"tokenId\": \"b\", \"expiresAt\": \"2100-01-01T00:00:00Z\"}]}",
+                MediaType.APPLICATION_JSON));
+        server.expect(requestTo(REVOCATIONS + "?since=8")).andRespond(withStatus(HttpStatus.GONE));
+        server.expect(requestTo(REVOCATIONS + "?since=0")).andRespond(withSuccess(
+                "{\"cursor\": 9, \"revocations\": [{\"tokenId\": \"b\", \"expiresAt\": \"2100-01-01T00:00:00Z\"}]}",
+                MediaType.APPLICATION_JSON));
+
+        assertEquals(Duration.ofSeconds(2), sync.pull());
+        assertEquals(Duration.ofSeconds(2), sync.pull());
+        assertTrue(revocationList.isRevoked("a"));
+        assertTrue(revocationList.isRevoked("b"));
+
+        // A cursor auth-service no longer has starts over from a full list
+        assertEquals(Duration.ofSeconds(2), sync.pull());
+        sync.pull();
+        assertFalse(revocationList.isRevoked("a"));
+        assertTrue(revocationList.isRevoked("b"));
+        server.verify();
+    }
+
+    @Test
+    void backsOffWhileAuthServiceIsUnavailableAndKeepsWhatItHas() {
+        revocationList.revoke("a", Instant.now().plusSeconds(60));
+        when(loadBalancer.choose("auth-service"))
+                .thenReturn(null)
+                .thenReturn(new DefaultServiceInstance("auth-1", "auth-service", "auth", 8081, false));
+        server.expect(requestTo(REVOCATIONS + "?since=0")).andRespond(withServerError());
+        server.expect(requestTo(REVOCATIONS + "?since=0")).andRespond(withServerError());
+        server.expect(requestTo(REVOCATIONS + "?since=0")).andRespond(withServerError());
+        server.expect(requestTo(REVOCATIONS + "?since=0")).andRespond(withSuccess(
+                "{\"cursor\": 3, \"revocations\": [{\"tokenId\": \"a\", \"expiresAt\": \"2100-01-01T00:00:00Z\"}]}",
+                MediaType.APPLICATION_JSON));
+
+        assertEquals(Duration.ofSeconds(4), sync.pull());
+        assertEquals(Duration.ofSeconds(8), sync.pull());
+        assertEquals(Duration.ofSeconds(10), sync.pull());
+        assertEquals(Duration.ofSeconds(10), sync.pull());
+        assertTrue(revocationList.isRevoked("a"));
+
+        assertEquals(Duration.ofSeconds(2), sync.pull());
+        server.verify();
+    }
+}
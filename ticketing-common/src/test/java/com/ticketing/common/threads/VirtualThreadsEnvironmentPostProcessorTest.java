@@ -0,0 +1,64 @@
+package com.ticketing.common.threads;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsEnvironmentPostProcessorTest {
+
+    private final VirtualThreadsEnvironmentPostProcessor postProcessor = new VirtualThreadsEnvironmentPostProcessor();
+
+    @Test
+    void keepsPlatformThreadLimitsWhenVirtualThreadsAreOff() {
+        StandardEnvironment environment = environment("false");
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertEquals("1000", environment.getProperty("server.tomcat.max-connections"));
+        assertEquals("50", environment.getProperty("resilience4j.bulkhead.configs.default.max-concurrent-calls"));
+    }
+
+    @Test
+    void raisesLimitsWithVirtualThreads() {
+        assumeTrue(JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE));
+        StandardEnvironment environment = environment("true");
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertEquals("8192", environment.getProperty("server.tomcat.max-connections"));
+        assertEquals("300", environment.getProperty("resilience4j.bulkhead.configs.default.max-concurrent-calls"));
+        assertEquals("500ms", environment.getProperty("resilience4j.bulkhead.configs.default.max-wait-duration"));
+    }
+
+    @Test
+    void addsTheSharedDefaultsBehindTheServicesOwnSettings() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(new MapPropertySource("application", Map.of(
+                "spring.datasource.hikari.maximum-pool-size", "40")));
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertEquals("40", environment.getProperty("spring.datasource.hikari.maximum-pool-size"));
+        assertEquals("5000", environment.getProperty("spring.datasource.hikari.connection-timeout"));
+        assertEquals("1000", environment.getProperty("server.tomcat.max-connections"));
+        assertEquals("false", environment.getProperty("threads.pinning-diagnostics.enabled"));
+    }
+
+    private static StandardEnvironment environment(String virtualThreads) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(new MapPropertySource("application", Map.of(
+                "spring.threads.virtual.enabled", virtualThreads,
+                "server.tomcat.max-connections", "1000",
+                "resilience4j.bulkhead.configs.default.max-concurrent-calls", "50",
+                "resilience4j.bulkhead.configs.default.max-wait-duration", "20ms",
+                "threads.virtual.bulkhead.max-concurrent-calls", "300")));
+        return environment;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ticketing.common.threads;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+
+    @Test
+    void followsTheFlagOnlyWhereVirtualThreadsExist() {
+        assertFalse(VirtualThreads.enabled(false));
+        assertTrue(VirtualThreads.enabled(true) == JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE));
+    }
+
+    @Test
+    void runsEachTaskOnANamedVirtualThread() throws Exception {
+        assumeTrue(VirtualThreads.enabled(true));
+        try (SimpleAsyncTaskExecutor executor = VirtualThreads.executor("test-", SimpleAsyncTaskExecutor.UNBOUNDED_CONCURRENCY)) {
+            Future<String> name = executor.submit(() -> Thread.currentThread().getName());
+            assertTrue(name.get().startsWith("test-"));
+        }
+    }
+}